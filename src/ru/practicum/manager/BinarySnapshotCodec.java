@@ -0,0 +1,137 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.*;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+class BinarySnapshotCodec {
+    static final int MAGIC = 0x4B414E42;
+    static final int VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final byte NULL_STATUS = -1;
+    private static final byte HAS_START_TIME = 1;
+    private static final byte HAS_DURATION = 2;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+
+    static boolean isBinary(File file) throws IOException {
+        try (var in = new FileInputStream(file)) {
+            var header = in.readNBytes(Integer.BYTES);
+            return header.length == Integer.BYTES && ByteBuffer.wrap(header).getInt() == MAGIC;
+        }
+    }
+
+    static void write(OutputStream outputStream, Collection<Task> tasks, Collection<Epic> epics,
+                      Collection<Subtask> subtasks) throws IOException {
+        var out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(tasks.size() + epics.size() + subtasks.size());
+        for (var task : tasks) {
+            writeTask(out, task);
+        }
+
+        for (var epic : epics) {
+            writeTask(out, epic);
+        }
+
+        for (var subtask : subtasks) {
+            writeTask(out, subtask);
+        }
+
+        out.flush();
+    }
+
+    static void read(File file, Consumer<Task> taskConsumer) throws IOException {
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            var buffer = SnapshotFile.mapPayload(channel);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported snapshot format: " + file);
+            }
+
+            var stringBytes = new byte[256];
+            var recordsCount = buffer.getInt();
+            for (int i = 0; i < recordsCount; i++) {
+                var taskType = TASK_TYPES[buffer.get()];
+                var statusOrdinal = buffer.get();
+                var flags = buffer.get();
+                var id = buffer.getInt();
+                var epicId = buffer.getInt();
+                var startEpochSecond = buffer.getLong();
+                var startNano = buffer.getInt();
+                var durationNanos = buffer.getLong();
+                var nameLength = buffer.getInt();
+                var descriptionLength = buffer.getInt();
+
+                if (stringBytes.length < Math.max(nameLength, descriptionLength)) {
+                    stringBytes = new byte[Math.max(nameLength, descriptionLength)];
+                }
+
+                var name = readString(buffer, nameLength, stringBytes);
+                var description = readString(buffer, descriptionLength, stringBytes);
+                var status = statusOrdinal == NULL_STATUS ? null : TASK_STATUSES[statusOrdinal];
+                var startTime = (flags & HAS_START_TIME) == 0 ? null
+                        : LocalDateTime.ofEpochSecond(startEpochSecond, startNano, ZoneOffset.UTC);
+                var duration = (flags & HAS_DURATION) == 0 ? null : Duration.ofNanos(durationNanos);
+
+                taskConsumer.accept(switch (taskType) {
+                    case SUBTASK -> new Subtask(name, description, id, status, epicId, startTime, duration);
+                    case EPIC -> new Epic(name, description, id, status, startTime, duration);
+                    case TASK -> new Task(name, description, id, status, startTime, duration);
+                });
+            }
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        var startTime = task.getStartTime();
+        var duration = task.getDuration();
+        var name = encode(task.getName());
+        var description = encode(task.getDescription());
+        var flags = (startTime == null ? 0 : HAS_START_TIME) | (duration == null ? 0 : HAS_DURATION);
+
+        out.writeByte(task.getTaskType().ordinal());
+        out.writeByte(task.getStatus() == null ? NULL_STATUS : task.getStatus().ordinal());
+        out.writeByte(flags);
+        out.writeInt(task.getId());
+        out.writeInt(task instanceof Subtask subtask ? subtask.getEpicId() : 0);
+        out.writeLong(startTime == null ? 0 : startTime.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(startTime == null ? 0 : startTime.getNano());
+        out.writeLong(duration == null ? 0 : duration.toNanos());
+        out.writeInt(name == null ? NULL_LENGTH : name.length);
+        out.writeInt(description == null ? NULL_LENGTH : description.length);
+        if (name != null) {
+            out.write(name);
+        }
+
+        if (description != null) {
+            out.write(description);
+        }
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer buffer, int length, byte[] stringBytes) {
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        buffer.get(stringBytes, 0, length);
+        return new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
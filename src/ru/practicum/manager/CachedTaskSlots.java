@@ -0,0 +1,258 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskType;
+
+class CachedTaskSlots implements TaskSlots {
+    private static final int NOT_CACHED = -1;
+
+    private final TaskSlots store;
+    private final int[] entryIds;
+    private final Task[] entryTasks;
+    private final boolean[] isReferenced;
+    private final int[] tableIds;
+    private final int[] tableEntries;
+    private final int tableShift;
+    private int usedEntries;
+    private int size;
+    private int clockHand;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    CachedTaskSlots(TaskSlots store, int capacity) {
+        if (capacity <= 0 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Cache capacity should be in 1..2^29: " + capacity);
+        }
+
+        this.store = store;
+        this.entryIds = new int[capacity];
+        this.entryTasks = new Task[capacity];
+        this.isReferenced = new boolean[capacity];
+        var tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.tableIds = new int[tableSize];
+        this.tableEntries = new int[tableSize];
+        this.tableShift = Integer.SIZE - Integer.numberOfTrailingZeros(tableSize);
+    }
+
+    TaskCacheStats getStats() {
+        return new TaskCacheStats(hits, misses, evictions, size, entryIds.length);
+    }
+
+    @Override
+    public int getNextId() {
+        return store.getNextId();
+    }
+
+    @Override
+    public int allocateId() {
+        return store.allocateId();
+    }
+
+    @Override
+    public int getCount(TaskType taskType) {
+        return store.getCount(taskType);
+    }
+
+    @Override
+    public void setCount(TaskType taskType, int count) {
+        store.setCount(taskType, count);
+    }
+
+    @Override
+    public TaskType getType(int id) {
+        return store.getType(id);
+    }
+
+    @Override
+    public Task read(int id) {
+        var entry = findEntry(id);
+        if (entry != NOT_CACHED) {
+            hits++;
+            isReferenced[entry] = true;
+            return copyOf(entryTasks[entry]);
+        }
+
+        misses++;
+        var task = store.read(id);
+        entry = claimEntry();
+        entryIds[entry] = id;
+        entryTasks[entry] = task;
+        insertIntoTable(id, entry);
+        size++;
+        return copyOf(task);
+    }
+
+    @Override
+    public void write(Task task) {
+        invalidate(task.getId());
+        store.write(task);
+    }
+
+    @Override
+    public void writeText(int id, String name, String description) {
+        invalidate(id);
+        store.writeText(id, name, description);
+    }
+
+    @Override
+    public void free(int id) {
+        invalidate(id);
+        store.free(id);
+    }
+
+    @Override
+    public int getEpicId(int subtaskId) {
+        return store.getEpicId(subtaskId);
+    }
+
+    @Override
+    public int getSubtasksCount(int epicId) {
+        return store.getSubtasksCount(epicId);
+    }
+
+    @Override
+    public void setSubtasksCount(int epicId, int count) {
+        store.setSubtasksCount(epicId, count);
+    }
+
+    @Override
+    public int getNext(int id) {
+        return store.getNext(id);
+    }
+
+    @Override
+    public int getPrevious(int id) {
+        return store.getPrevious(id);
+    }
+
+    @Override
+    public void setNext(int id, int nextId) {
+        store.setNext(id, nextId);
+    }
+
+    @Override
+    public void setPrevious(int id, int previousId) {
+        store.setPrevious(id, previousId);
+    }
+
+    @Override
+    public boolean hasStartTime(int id) {
+        return store.hasStartTime(id);
+    }
+
+    @Override
+    public long getStartSecond(int id) {
+        return store.getStartSecond(id);
+    }
+
+    @Override
+    public int getStartNano(int id) {
+        return store.getStartNano(id);
+    }
+
+    @Override
+    public long getEndSecond(int id) {
+        return store.getEndSecond(id);
+    }
+
+    @Override
+    public int getEndNano(int id) {
+        return store.getEndNano(id);
+    }
+
+    private int claimEntry() {
+        if (usedEntries < entryIds.length) {
+            return usedEntries++;
+        }
+
+        while (isReferenced[clockHand]) {
+            isReferenced[clockHand] = false;
+            clockHand = clockHand + 1 == entryIds.length ? 0 : clockHand + 1;
+        }
+
+        var entry = clockHand;
+        clockHand = clockHand + 1 == entryIds.length ? 0 : clockHand + 1;
+        if (entryIds[entry] != 0) {
+            removeFromTable(entryIds[entry]);
+            size--;
+            evictions++;
+        }
+
+        return entry;
+    }
+
+    private void invalidate(int id) {
+        var entry = findEntry(id);
+        if (entry == NOT_CACHED) {
+            return;
+        }
+
+        removeFromTable(id);
+        entryIds[entry] = 0;
+        entryTasks[entry] = null;
+        isReferenced[entry] = false;
+        size--;
+    }
+
+    private int findEntry(int id) {
+        var mask = tableIds.length - 1;
+        for (int index = indexOf(id); tableIds[index] != 0; index = index + 1 & mask) {
+            if (tableIds[index] == id) {
+                return tableEntries[index];
+            }
+        }
+
+        return NOT_CACHED;
+    }
+
+    private void insertIntoTable(int id, int entry) {
+        var mask = tableIds.length - 1;
+        var index = indexOf(id);
+        while (tableIds[index] != 0) {
+            index = index + 1 & mask;
+        }
+
+        tableIds[index] = id;
+        tableEntries[index] = entry;
+    }
+
+    private void removeFromTable(int id) {
+        var mask = tableIds.length - 1;
+        var index = indexOf(id);
+        while (tableIds[index] != id) {
+            index = index + 1 & mask;
+        }
+
+        var next = index + 1 & mask;
+        while (tableIds[next] != 0) {
+            var home = indexOf(tableIds[next]);
+            if ((next - home & mask) >= (next - index & mask)) {
+                tableIds[index] = tableIds[next];
+                tableEntries[index] = tableEntries[next];
+                index = next;
+            }
+
+            next = next + 1 & mask;
+        }
+
+        tableIds[index] = 0;
+    }
+
+    private int indexOf(int id) {
+        return (id * 0x9E3779B9) >>> tableShift;
+    }
+
+    private static Task copyOf(Task task) {
+        return switch (task) {
+            case Epic epic -> new Epic(epic.getName(), epic.getDescription(), epic.getId(), epic.getStatus(), null,
+                    null);
+            case Subtask subtask -> new Subtask(subtask.getName(), subtask.getDescription(), subtask.getId(),
+                    subtask.getStatus(), subtask.getEpicId(), subtask.getStartTime(), subtask.getDuration());
+            default -> new Task(task.getName(), task.getDescription(), task.getId(), task.getStatus(),
+                    task.getStartTime(), task.getDuration());
+        };
+    }
+}
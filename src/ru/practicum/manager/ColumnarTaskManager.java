@@ -0,0 +1,11 @@
+package ru.practicum.manager;
+
+public class ColumnarTaskManager extends SlotTaskManager {
+    public ColumnarTaskManager() {
+        this(Managers.getDefaultHistory());
+    }
+
+    public ColumnarTaskManager(HistoryManager historyManager) {
+        super(new ColumnarTaskStore(), historyManager);
+    }
+}
@@ -0,0 +1,354 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+class ColumnarTaskStore implements TaskSlots {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+    private static final byte HAS_START_TIME = 1;
+    private static final byte HAS_DURATION = 2;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+
+    private final int[] counts;
+    private int nextId;
+    private byte[] types;
+    private byte[] statuses;
+    private byte[] flags;
+    private long[] startSeconds;
+    private int[] startNanos;
+    private long[] durationSeconds;
+    private int[] durationNanos;
+    private int[] epicIds;
+    private int[] nextIds;
+    private int[] previousIds;
+    private long[] names;
+    private long[] descriptions;
+    private TextArena texts;
+
+    ColumnarTaskStore() {
+        this.counts = new int[TASK_TYPES.length];
+        this.nextId = 1;
+        this.types = new byte[INITIAL_CAPACITY];
+        this.statuses = new byte[INITIAL_CAPACITY];
+        this.flags = new byte[INITIAL_CAPACITY];
+        this.startSeconds = new long[INITIAL_CAPACITY];
+        this.startNanos = new int[INITIAL_CAPACITY];
+        this.durationSeconds = new long[INITIAL_CAPACITY];
+        this.durationNanos = new int[INITIAL_CAPACITY];
+        this.epicIds = new int[INITIAL_CAPACITY];
+        this.nextIds = new int[INITIAL_CAPACITY];
+        this.previousIds = new int[INITIAL_CAPACITY];
+        this.names = new long[INITIAL_CAPACITY];
+        this.descriptions = new long[INITIAL_CAPACITY];
+        this.texts = new TextArena();
+    }
+
+    @Override
+    public int getNextId() {
+        return nextId;
+    }
+
+    @Override
+    public int allocateId() {
+        if (nextId == types.length) {
+            grow();
+        }
+
+        return nextId++;
+    }
+
+    @Override
+    public int getCount(TaskType taskType) {
+        return counts[taskType.ordinal()];
+    }
+
+    @Override
+    public void setCount(TaskType taskType, int count) {
+        counts[taskType.ordinal()] = count;
+    }
+
+    @Override
+    public TaskType getType(int id) {
+        if (id <= 0 || id >= nextId) {
+            return null;
+        }
+
+        var code = types[id];
+        return code == 0 ? null : TASK_TYPES[code - 1];
+    }
+
+    @Override
+    public Task read(int id) {
+        var type = TASK_TYPES[types[id] - 1];
+        var name = texts.read(names[id]);
+        var description = texts.read(descriptions[id]);
+        var status = statuses[id] == 0 ? null : TASK_STATUSES[statuses[id] - 1];
+        if (type == TaskType.EPIC) {
+            return new Epic(name, description, id, status, null, null);
+        }
+
+        var startTime = (flags[id] & HAS_START_TIME) == 0 ? null
+                : LocalDateTime.ofEpochSecond(startSeconds[id], startNanos[id], ZoneOffset.UTC);
+        var duration = (flags[id] & HAS_DURATION) == 0 ? null
+                : Duration.ofSeconds(durationSeconds[id], durationNanos[id]);
+        if (type == TaskType.SUBTASK) {
+            return new Subtask(name, description, id, status, epicIds[id], startTime, duration);
+        }
+
+        return new Task(name, description, id, status, startTime, duration);
+    }
+
+    @Override
+    public void write(Task task) {
+        var id = task.getId();
+        var type = task.getTaskType();
+        types[id] = (byte) (type.ordinal() + 1);
+        statuses[id] = (byte) (task.getStatus() == null ? 0 : task.getStatus().ordinal() + 1);
+        writeText(id, task.getName(), task.getDescription());
+        if (type == TaskType.EPIC) {
+            return;
+        }
+
+        byte taskFlags = 0;
+        var startTime = task.getStartTime();
+        if (startTime != null) {
+            taskFlags |= HAS_START_TIME;
+            startSeconds[id] = startTime.toEpochSecond(ZoneOffset.UTC);
+            startNanos[id] = startTime.getNano();
+        }
+
+        var duration = task.getDuration();
+        if (duration != null) {
+            taskFlags |= HAS_DURATION;
+            durationSeconds[id] = duration.getSeconds();
+            durationNanos[id] = duration.getNano();
+        }
+
+        flags[id] = taskFlags;
+        if (task instanceof Subtask subtask) {
+            epicIds[id] = subtask.getEpicId();
+        }
+    }
+
+    @Override
+    public void writeText(int id, String name, String description) {
+        names[id] = texts.write(names[id], name);
+        descriptions[id] = texts.write(descriptions[id], description);
+        if (texts.isMostlyGarbage()) {
+            compactTexts();
+        }
+    }
+
+    @Override
+    public void free(int id) {
+        texts.release(names[id]);
+        texts.release(descriptions[id]);
+        types[id] = 0;
+        statuses[id] = 0;
+        flags[id] = 0;
+        startSeconds[id] = 0;
+        startNanos[id] = 0;
+        durationSeconds[id] = 0;
+        durationNanos[id] = 0;
+        epicIds[id] = 0;
+        nextIds[id] = 0;
+        previousIds[id] = 0;
+        names[id] = 0;
+        descriptions[id] = 0;
+    }
+
+    @Override
+    public int getEpicId(int subtaskId) {
+        return epicIds[subtaskId];
+    }
+
+    @Override
+    public int getSubtasksCount(int epicId) {
+        return epicIds[epicId];
+    }
+
+    @Override
+    public void setSubtasksCount(int epicId, int count) {
+        epicIds[epicId] = count;
+    }
+
+    @Override
+    public int getNext(int id) {
+        return nextIds[id];
+    }
+
+    @Override
+    public int getPrevious(int id) {
+        return previousIds[id];
+    }
+
+    @Override
+    public void setNext(int id, int nextId) {
+        nextIds[id] = nextId;
+    }
+
+    @Override
+    public void setPrevious(int id, int previousId) {
+        previousIds[id] = previousId;
+    }
+
+    @Override
+    public boolean hasStartTime(int id) {
+        return (flags[id] & HAS_START_TIME) != 0;
+    }
+
+    @Override
+    public long getStartSecond(int id) {
+        return startSeconds[id];
+    }
+
+    @Override
+    public int getStartNano(int id) {
+        return startNanos[id];
+    }
+
+    @Override
+    public long getEndSecond(int id) {
+        return startSeconds[id] + durationSeconds[id] + (startNanos[id] + durationNanos[id]) / NANOS_PER_SECOND;
+    }
+
+    @Override
+    public int getEndNano(int id) {
+        return (startNanos[id] + durationNanos[id]) % NANOS_PER_SECOND;
+    }
+
+    private void grow() {
+        var capacity = types.length + (types.length >> 1);
+        types = Arrays.copyOf(types, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        startSeconds = Arrays.copyOf(startSeconds, capacity);
+        startNanos = Arrays.copyOf(startNanos, capacity);
+        durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+        durationNanos = Arrays.copyOf(durationNanos, capacity);
+        epicIds = Arrays.copyOf(epicIds, capacity);
+        nextIds = Arrays.copyOf(nextIds, capacity);
+        previousIds = Arrays.copyOf(previousIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    private void compactTexts() {
+        var compactedTexts = new TextArena();
+        for (int id = 1; id < nextId; id++) {
+            if (types[id] != 0) {
+                names[id] = compactedTexts.write(0, texts.read(names[id]));
+                descriptions[id] = compactedTexts.write(0, texts.read(descriptions[id]));
+            }
+        }
+
+        texts = compactedTexts;
+    }
+
+    private static class TextArena {
+        private static final int CHUNK_SHIFT = 20;
+        private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+        private static final int MIN_GARBAGE_TO_COMPACT = 4 * CHUNK_SIZE;
+
+        private final ArrayList<byte[]> chunks;
+        private int chunkPosition;
+        private long usedBytes;
+        private long garbageBytes;
+
+        private TextArena() {
+            this.chunks = new ArrayList<>();
+            this.chunkPosition = CHUNK_SIZE;
+        }
+
+        private String read(long reference) {
+            if (reference == 0) {
+                return null;
+            }
+
+            var chunk = chunks.get((int) ((reference - 1) >>> Integer.SIZE));
+            var offset = (int) (reference - 1);
+            return new String(chunk, offset + Integer.BYTES, readLength(chunk, offset), StandardCharsets.UTF_8);
+        }
+
+        private long write(long previousReference, String value) {
+            if (value == null) {
+                release(previousReference);
+                return 0;
+            }
+
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (previousReference != 0) {
+                var chunk = chunks.get((int) ((previousReference - 1) >>> Integer.SIZE));
+                var offset = (int) (previousReference - 1);
+                var previousLength = readLength(chunk, offset);
+                if (previousLength >= bytes.length) {
+                    writeLength(chunk, offset, bytes.length);
+                    System.arraycopy(bytes, 0, chunk, offset + Integer.BYTES, bytes.length);
+                    garbageBytes += previousLength - bytes.length;
+                    return previousReference;
+                }
+
+                release(previousReference);
+            }
+
+            var length = Integer.BYTES + bytes.length;
+            if (length > CHUNK_SIZE) {
+                chunks.add(new byte[length]);
+                chunkPosition = CHUNK_SIZE;
+                return append(chunks.size() - 1, 0, bytes);
+            }
+
+            if (chunkPosition + length > CHUNK_SIZE) {
+                chunks.add(new byte[CHUNK_SIZE]);
+                chunkPosition = 0;
+            }
+
+            var offset = chunkPosition;
+            chunkPosition += length;
+            return append(chunks.size() - 1, offset, bytes);
+        }
+
+        private void release(long reference) {
+            if (reference != 0) {
+                var chunk = chunks.get((int) ((reference - 1) >>> Integer.SIZE));
+                garbageBytes += Integer.BYTES + readLength(chunk, (int) (reference - 1));
+            }
+        }
+
+        private boolean isMostlyGarbage() {
+            return garbageBytes > MIN_GARBAGE_TO_COMPACT && garbageBytes > usedBytes / 2;
+        }
+
+        private long append(int chunkIndex, int offset, byte[] bytes) {
+            var chunk = chunks.get(chunkIndex);
+            writeLength(chunk, offset, bytes.length);
+            System.arraycopy(bytes, 0, chunk, offset + Integer.BYTES, bytes.length);
+            usedBytes += Integer.BYTES + bytes.length;
+            return ((long) chunkIndex << Integer.SIZE | offset) + 1;
+        }
+
+        private static int readLength(byte[] chunk, int offset) {
+            return (chunk[offset] & 0xFF) << 24 | (chunk[offset + 1] & 0xFF) << 16
+                    | (chunk[offset + 2] & 0xFF) << 8 | chunk[offset + 3] & 0xFF;
+        }
+
+        private static void writeLength(byte[] chunk, int offset, int length) {
+            chunk[offset] = (byte) (length >>> 24);
+            chunk[offset + 1] = (byte) (length >>> 16);
+            chunk[offset + 2] = (byte) (length >>> 8);
+            chunk[offset + 3] = (byte) length;
+        }
+    }
+}
@@ -0,0 +1,588 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ConcurrentTaskManager implements TaskManager {
+    public static final int DEFAULT_LOCK_STRIPES = 64;
+    private final AtomicInteger uniqueTaskId = new AtomicInteger(1);
+    private final ConcurrentHashMap<Integer, Task> tasks;
+    private final ConcurrentHashMap<Integer, Epic> epics;
+    private final ConcurrentHashMap<Integer, Subtask> subtasks;
+    private final Collection<Task> tasksView;
+    private final Collection<Epic> epicsView;
+    private final Collection<Subtask> subtasksView;
+    private final ConcurrentSkipListSet<Task> tasksByStartTime;
+    private final ReentrantReadWriteLock[] epicLocks;
+    private final ReentrantLock scheduleLock;
+    private final HistoryManager historyManager;
+    private final ReentrantLock historyLock;
+    private ArrayList<Task> pendingHistoryRemovals;
+
+    public ConcurrentTaskManager() {
+        this(Managers.getDefaultHistory(), DEFAULT_LOCK_STRIPES);
+    }
+
+    public ConcurrentTaskManager(HistoryManager historyManager, int lockStripes) {
+        this.tasks = new ConcurrentHashMap<>();
+        this.epics = new ConcurrentHashMap<>();
+        this.subtasks = new ConcurrentHashMap<>();
+        this.tasksView = Collections.unmodifiableCollection(tasks.values());
+        this.epicsView = Collections.unmodifiableCollection(epics.values());
+        this.subtasksView = Collections.unmodifiableCollection(subtasks.values());
+        this.tasksByStartTime = new ConcurrentSkipListSet<>(InMemoryTaskManager.START_TIME_ORDER);
+        this.epicLocks = new ReentrantReadWriteLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            epicLocks[i] = new ReentrantReadWriteLock();
+        }
+
+        this.scheduleLock = new ReentrantLock();
+        this.historyManager = historyManager;
+        this.historyLock = new ReentrantLock();
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return new ArrayList<>(tasks.values());
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return new ArrayList<>(epics.values());
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return new ArrayList<>(subtasks.values());
+    }
+
+    @Override
+    public Collection<Task> getTasksView() {
+        return tasksView;
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return epicsView;
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return subtasksView;
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        for (var task : tasks.values()) {
+            deleteTask(task.getId());
+        }
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        lockAllEpics();
+        try {
+            for (var epic : epics.values()) {
+                deleteEpicSubtasks(epic);
+                removeFromHistory(epic);
+            }
+
+            epics.clear();
+        } finally {
+            unlockAllEpics();
+        }
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        lockAllEpics();
+        try {
+            for (var epic : epics.values()) {
+                deleteEpicSubtasks(epic);
+                epic.removeAllSubtasks();
+            }
+        } finally {
+            unlockAllEpics();
+        }
+    }
+
+    @Override
+    public Task getTask(int id) {
+        var task = tasks.get(id);
+        addToHistory(task);
+        return task;
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        var epic = epics.get(id);
+        addToHistory(epic);
+        return epic;
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        var subtask = subtasks.get(id);
+        addToHistory(subtask);
+        return subtask;
+    }
+
+    @Override
+    public boolean containsTask(TaskType taskType, int id) {
+        return switch (taskType) {
+            case TASK -> tasks.containsKey(id);
+            case EPIC -> epics.containsKey(id);
+            case SUBTASK -> subtasks.containsKey(id);
+        };
+    }
+
+    @Override
+    public int createTask(Task task) {
+        if (task.getStartTime() == null) {
+            var taskId = uniqueTaskId.getAndIncrement();
+            task.setId(taskId);
+            tasks.put(taskId, task);
+            return taskId;
+        }
+
+        scheduleLock.lock();
+        try {
+            if (InMemoryTaskManager.isTaskIntersectsWithExistingTasks(tasksByStartTime, task)) {
+                return -1;
+            }
+
+            var taskId = uniqueTaskId.getAndIncrement();
+            task.setId(taskId);
+            tasks.put(taskId, task);
+            tasksByStartTime.add(task);
+            return taskId;
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        var epicId = uniqueTaskId.getAndIncrement();
+        epic.setId(epicId);
+        epic.setStatus(TaskStatus.NEW);
+        epics.put(epicId, epic);
+        return epicId;
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        var epicLock = getEpicLock(subtask.getEpicId()).writeLock();
+        epicLock.lock();
+        try {
+            var existingEpic = epics.get(subtask.getEpicId());
+            if (existingEpic == null || subtask.getId() == existingEpic.getId()) {
+                return -1;
+            }
+
+            if (subtask.getStartTime() == null) {
+                subtask.setId(uniqueTaskId.getAndIncrement());
+            } else {
+                scheduleLock.lock();
+                try {
+                    if (InMemoryTaskManager.isTaskIntersectsWithExistingTasks(tasksByStartTime, subtask)) {
+                        return -1;
+                    }
+
+                    subtask.setId(uniqueTaskId.getAndIncrement());
+                    tasksByStartTime.add(subtask);
+                } finally {
+                    scheduleLock.unlock();
+                }
+            }
+
+            subtasks.put(subtask.getId(), subtask);
+            existingEpic.addSubtask(subtask);
+            return subtask.getId();
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        applyTaskUpdate(task);
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        var epicLock = getEpicLock(epic.getId()).writeLock();
+        epicLock.lock();
+        try {
+            var existingEpic = epics.get(epic.getId());
+            if (existingEpic == null) {
+                return;
+            }
+
+            existingEpic.setName(epic.getName());
+            existingEpic.setDescription(epic.getDescription());
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        applySubtaskUpdate(subtask);
+    }
+
+    @Override
+    public void deleteTask(int identifier) {
+        scheduleLock.lock();
+        try {
+            var task = tasks.remove(identifier);
+            if (task == null) {
+                return;
+            }
+
+            InMemoryTaskManager.removeFromPrioritizedTasks(tasksByStartTime, task);
+            removeFromHistory(task);
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteEpic(int identifier) {
+        var epicLock = getEpicLock(identifier).writeLock();
+        epicLock.lock();
+        try {
+            var epic = epics.remove(identifier);
+            if (epic == null) {
+                return;
+            }
+
+            deleteEpicSubtasks(epic);
+            removeFromHistory(epic);
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteSubtask(int identifier) {
+        var subtask = subtasks.get(identifier);
+        if (subtask == null) {
+            return;
+        }
+
+        var epicLock = getEpicLock(subtask.getEpicId()).writeLock();
+        epicLock.lock();
+        try {
+            if (!subtasks.remove(identifier, subtask)) {
+                return;
+            }
+
+            unschedule(subtask);
+            removeFromHistory(subtask);
+            var epic = epics.get(subtask.getEpicId());
+            if (epic != null) {
+                epic.removeSubtask(subtask);
+            }
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByEpic(int epicId) {
+        var epicLock = getEpicLock(epicId).readLock();
+        epicLock.lock();
+        try {
+            var epic = epics.get(epicId);
+            if (epic == null) {
+                return new ArrayList<>();
+            }
+
+            return new ArrayList<>(epic.getSubtasks());
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksByEpicView(int epicId) {
+        var epicLock = getEpicLock(epicId).readLock();
+        epicLock.lock();
+        try {
+            var epic = epics.get(epicId);
+            return epic == null ? List.of() : epic.getSubtasksSnapshot();
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean applyBatch(TaskBatch batch) {
+        lockAllEpics();
+        scheduleLock.lock();
+        pendingHistoryRemovals = new ArrayList<>();
+        try {
+            var isApplied = batch.applyTo(this, new BatchRollback());
+            if (isApplied) {
+                var historyRemovals = pendingHistoryRemovals;
+                pendingHistoryRemovals = null;
+                historyRemovals.forEach(this::removeFromHistory);
+            }
+
+            return isApplied;
+        } finally {
+            pendingHistoryRemovals = null;
+            scheduleLock.unlock();
+            unlockAllEpics();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        historyLock.lock();
+        try {
+            return historyManager.getHistory();
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getHistoryView() {
+        historyLock.lock();
+        try {
+            return historyManager.getHistoryView();
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return new ArrayList<>(tasksByStartTime);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return InMemoryTaskManager.getTasksStartingBetween(tasksByStartTime, from, to);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(Task cursor, int limit) {
+        return InMemoryTaskManager.getTasksAfter(tasksByStartTime, cursor, limit);
+    }
+
+    private ReentrantReadWriteLock getEpicLock(int epicId) {
+        return epicLocks[Math.floorMod(epicId, epicLocks.length)];
+    }
+
+    private void lockAllEpics() {
+        for (var epicLock : epicLocks) {
+            epicLock.writeLock().lock();
+        }
+    }
+
+    private void unlockAllEpics() {
+        for (int i = epicLocks.length - 1; i >= 0; i--) {
+            epicLocks[i].writeLock().unlock();
+        }
+    }
+
+    private boolean reschedule(Task existingTask, Task task) {
+        if (task.getStartTime() != null
+                && InMemoryTaskManager.isTaskIntersectsWithExistingTasks(tasksByStartTime, task)) {
+            return false;
+        }
+
+        InMemoryTaskManager.removeFromPrioritizedTasks(tasksByStartTime, existingTask);
+        if (task.getStartTime() != null) {
+            tasksByStartTime.add(task);
+        }
+
+        return true;
+    }
+
+    private void unschedule(Task task) {
+        if (task.getStartTime() == null) {
+            return;
+        }
+
+        scheduleLock.lock();
+        try {
+            InMemoryTaskManager.removeFromPrioritizedTasks(tasksByStartTime, task);
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    private void deleteEpicSubtasks(Epic epic) {
+        for (var epicSubtask : epic.getSubtasks()) {
+            subtasks.remove(epicSubtask.getId());
+            unschedule(epicSubtask);
+            removeFromHistory(epicSubtask);
+        }
+    }
+
+    private void addToHistory(Task task) {
+        historyLock.lock();
+        try {
+            historyManager.add(task);
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    private void removeFromHistory(Task task) {
+        if (pendingHistoryRemovals != null) {
+            pendingHistoryRemovals.add(task);
+            return;
+        }
+
+        historyLock.lock();
+        try {
+            historyManager.remove(task);
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    private boolean applyTaskUpdate(Task task) {
+        scheduleLock.lock();
+        try {
+            var existingTask = tasks.get(task.getId());
+            if (existingTask == null || !reschedule(existingTask, task)) {
+                return false;
+            }
+
+            tasks.put(task.getId(), task);
+            return true;
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    private boolean applySubtaskUpdate(Subtask subtask) {
+        var epicLock = getEpicLock(subtask.getEpicId()).writeLock();
+        epicLock.lock();
+        try {
+            var existingSubtask = subtasks.get(subtask.getId());
+            var existingEpic = epics.get(subtask.getEpicId());
+            if (existingSubtask == null || existingEpic == null
+                    || existingSubtask.getEpicId() != subtask.getEpicId()) {
+                return false;
+            }
+
+            if (existingSubtask.getStartTime() != null || subtask.getStartTime() != null) {
+                scheduleLock.lock();
+                try {
+                    if (!reschedule(existingSubtask, subtask)) {
+                        return false;
+                    }
+                } finally {
+                    scheduleLock.unlock();
+                }
+            }
+
+            subtasks.put(subtask.getId(), subtask);
+            existingEpic.updateSubtask(subtask);
+            return true;
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    private class BatchRollback implements TaskBatch.Rollback {
+        @Override
+        public Task findTask(int id) {
+            return tasks.get(id);
+        }
+
+        @Override
+        public Epic findEpic(int id) {
+            return epics.get(id);
+        }
+
+        @Override
+        public Subtask findSubtask(int id) {
+            return subtasks.get(id);
+        }
+
+        @Override
+        public boolean applyTaskUpdate(Task task) {
+            return ConcurrentTaskManager.this.applyTaskUpdate(task);
+        }
+
+        @Override
+        public boolean applySubtaskUpdate(Subtask subtask) {
+            return ConcurrentTaskManager.this.applySubtaskUpdate(subtask);
+        }
+
+        @Override
+        public void restoreTask(int id, Task previousTask) {
+            var currentTask = tasks.remove(id);
+            if (currentTask != null) {
+                InMemoryTaskManager.removeFromPrioritizedTasks(tasksByStartTime, currentTask);
+            }
+
+            if (previousTask != null) {
+                tasks.put(id, previousTask);
+                if (previousTask.getStartTime() != null) {
+                    tasksByStartTime.add(previousTask);
+                }
+            }
+        }
+
+        @Override
+        public void restoreEpic(int id, Epic previousEpic) {
+            epics.remove(id);
+            if (previousEpic != null) {
+                epics.put(id, previousEpic);
+                for (var subtask : previousEpic.getSubtasks()) {
+                    subtasks.put(subtask.getId(), subtask);
+                    if (subtask.getStartTime() != null) {
+                        tasksByStartTime.add(subtask);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void restoreSubtask(int id, Subtask previousSubtask) {
+            var currentSubtask = subtasks.remove(id);
+            if (currentSubtask != null) {
+                InMemoryTaskManager.removeFromPrioritizedTasks(tasksByStartTime, currentSubtask);
+                var epic = epics.get(currentSubtask.getEpicId());
+                if (epic != null) {
+                    epic.removeSubtask(currentSubtask);
+                }
+            }
+
+            if (previousSubtask != null) {
+                subtasks.put(id, previousSubtask);
+                if (previousSubtask.getStartTime() != null) {
+                    tasksByStartTime.add(previousSubtask);
+                }
+
+                var epic = epics.get(previousSubtask.getEpicId());
+                if (epic != null) {
+                    epic.addSubtask(previousSubtask);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+class CsvTaskCodec {
+    private static final char SEPARATOR = ',';
+    private static final char ESCAPE = '\\';
+    private static final String NULL_VALUE = "null";
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int NANOS_DIGITS = 9;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000};
+    private char[] buffer;
+    private int length;
+
+    CsvTaskCodec() {
+        this.buffer = new char[256];
+    }
+
+    void write(Task task, Writer out) throws IOException {
+        encodeToBuffer(task);
+        out.write(buffer, 0, length);
+    }
+
+    String encode(Task task) {
+        encodeToBuffer(task);
+        return new String(buffer, 0, length);
+    }
+
+    static Task decode(String line) {
+        return decode(line, true);
+    }
+
+    static Task decodeLegacy(String line) {
+        return decode(line, false);
+    }
+
+    private static Task decode(String line, boolean isEscaped) {
+        var cursor = new int[]{0};
+        var id = readInt(line, cursor);
+        var taskType = TASK_TYPES[matchName(line, cursor, TASK_TYPES)];
+        var name = readText(line, cursor, isEscaped);
+        var statusIndex = matchName(line, cursor, TASK_STATUSES);
+        var status = statusIndex == -1 ? null : TASK_STATUSES[statusIndex];
+        var description = readText(line, cursor, isEscaped);
+        var startTime = readDateTime(line, cursor);
+        var duration = readDuration(line, cursor);
+        return switch (taskType) {
+            case SUBTASK -> new Subtask(name, description, id, status, readInt(line, cursor), startTime,
+                    duration);
+            case EPIC -> new Epic(name, description, id, status, startTime, duration);
+            case TASK -> new Task(name, description, id, status, startTime, duration);
+        };
+    }
+
+    private void encodeToBuffer(Task task) {
+        length = 0;
+        appendInt(task.getId());
+        append(SEPARATOR);
+        append(task.getTaskType().name());
+        append(SEPARATOR);
+        appendEscaped(task.getName());
+        append(SEPARATOR);
+        if (task.getStatus() != null) {
+            append(task.getStatus().name());
+        }
+
+        append(SEPARATOR);
+        appendEscaped(task.getDescription());
+        append(SEPARATOR);
+        appendDateTime(task.getStartTime());
+        append(SEPARATOR);
+        appendDuration(task.getDuration());
+        append(SEPARATOR);
+        if (task instanceof Subtask subtask) {
+            appendInt(subtask.getEpicId());
+        }
+    }
+
+    private void appendEscaped(String value) {
+        if (value == null) {
+            return;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case ESCAPE, SEPARATOR -> {
+                    append(ESCAPE);
+                    append(c);
+                }
+                case '\n' -> {
+                    append(ESCAPE);
+                    append('n');
+                }
+                case '\r' -> {
+                    append(ESCAPE);
+                    append('r');
+                }
+                default -> append(c);
+            }
+        }
+    }
+
+    private void appendDateTime(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return;
+        }
+
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            append(dateTime.toString());
+            return;
+        }
+
+        appendPadded(dateTime.getYear(), 4);
+        append('-');
+        appendPadded(dateTime.getMonthValue(), 2);
+        append('-');
+        appendPadded(dateTime.getDayOfMonth(), 2);
+        append('T');
+        appendPadded(dateTime.getHour(), 2);
+        append(':');
+        appendPadded(dateTime.getMinute(), 2);
+        var second = dateTime.getSecond();
+        var nano = dateTime.getNano();
+        if (second == 0 && nano == 0) {
+            return;
+        }
+
+        append(':');
+        appendPadded(second, 2);
+        if (nano == 0) {
+            return;
+        }
+
+        append('.');
+        if (nano % 1_000_000 == 0) {
+            appendPadded(nano / 1_000_000, 3);
+        } else if (nano % 1_000 == 0) {
+            appendPadded(nano / 1_000, 6);
+        } else {
+            appendPadded(nano, NANOS_DIGITS);
+        }
+    }
+
+    private void appendDuration(Duration duration) {
+        if (duration == null) {
+            return;
+        }
+
+        if (duration.isNegative()) {
+            append(duration.toString());
+            return;
+        }
+
+        var seconds = duration.getSeconds();
+        var nano = duration.getNano();
+        append('P');
+        append('T');
+        if (seconds == 0 && nano == 0) {
+            append('0');
+            append('S');
+            return;
+        }
+
+        var hours = seconds / SECONDS_PER_HOUR;
+        var minutes = (int) (seconds % SECONDS_PER_HOUR / SECONDS_PER_MINUTE);
+        var secondsOfMinute = (int) (seconds % SECONDS_PER_MINUTE);
+        if (hours != 0) {
+            appendLong(hours);
+            append('H');
+        }
+
+        if (minutes != 0) {
+            appendInt(minutes);
+            append('M');
+        }
+
+        if (secondsOfMinute == 0 && nano == 0) {
+            return;
+        }
+
+        appendInt(secondsOfMinute);
+        if (nano != 0) {
+            append('.');
+            var digits = NANOS_DIGITS;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+
+            appendPadded(nano, digits);
+        }
+
+        append('S');
+    }
+
+    private void appendInt(int value) {
+        appendLong(value);
+    }
+
+    private void appendLong(long value) {
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+
+        var digits = 1;
+        for (var bound = 10L; digits < 19 && value >= bound; bound *= 10) {
+            digits++;
+        }
+
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+
+        length += digits;
+    }
+
+    private void appendPadded(int value, int digits) {
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+
+        length += digits;
+    }
+
+    private void append(String value) {
+        ensureCapacity(value.length());
+        value.getChars(0, value.length(), buffer, length);
+        length += value.length();
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        buffer[length++] = c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static int nextSeparator(String line, int[] cursor) {
+        var end = cursor[0];
+        while (end < line.length() && line.charAt(end) != SEPARATOR) {
+            end++;
+        }
+
+        return end;
+    }
+
+    private static void skipSeparator(String line, int[] cursor, int end) {
+        cursor[0] = end < line.length() ? end + 1 : end;
+    }
+
+    private static int readInt(String line, int[] cursor) {
+        var start = cursor[0];
+        var end = nextSeparator(line, cursor);
+        skipSeparator(line, cursor, end);
+        return Integer.parseInt(line, start, end, 10);
+    }
+
+    private static int matchName(String line, int[] cursor, Enum<?>[] values) {
+        var start = cursor[0];
+        var end = nextSeparator(line, cursor);
+        skipSeparator(line, cursor, end);
+        if (start == end || isNull(line, start, end)) {
+            return -1;
+        }
+
+        for (var value : values) {
+            var name = value.name();
+            if (name.length() == end - start && line.regionMatches(start, name, 0, name.length())) {
+                return value.ordinal();
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown value: " + line.substring(start, end));
+    }
+
+    private static String readText(String line, int[] cursor, boolean isEscaped) {
+        var start = cursor[0];
+        if (!isEscaped) {
+            var end = nextSeparator(line, cursor);
+            skipSeparator(line, cursor, end);
+            return line.substring(start, end);
+        }
+
+        var end = start;
+        var hasEscapes = false;
+        while (end < line.length() && line.charAt(end) != SEPARATOR) {
+            if (line.charAt(end) == ESCAPE && end + 1 < line.length()) {
+                hasEscapes = true;
+                end++;
+            }
+
+            end++;
+        }
+
+        skipSeparator(line, cursor, end);
+        if (!hasEscapes) {
+            return line.substring(start, end);
+        }
+
+        var text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            var c = line.charAt(i);
+            if (c != ESCAPE || i + 1 == end) {
+                text.append(c);
+                continue;
+            }
+
+            var escaped = line.charAt(++i);
+            switch (escaped) {
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case ESCAPE, SEPARATOR -> text.append(escaped);
+                default -> text.append(ESCAPE).append(escaped);
+            }
+        }
+
+        return text.toString();
+    }
+
+    private static LocalDateTime readDateTime(String line, int[] cursor) {
+        var start = cursor[0];
+        var end = nextSeparator(line, cursor);
+        skipSeparator(line, cursor, end);
+        if (start == end || isNull(line, start, end)) {
+            return null;
+        }
+
+        var length = end - start;
+        if (length < 16 || line.charAt(start + 4) != '-' || line.charAt(start + 7) != '-'
+                || line.charAt(start + 10) != 'T' || line.charAt(start + 13) != ':') {
+            return LocalDateTime.parse(line.substring(start, end));
+        }
+
+        var second = 0;
+        var nano = 0;
+        if (length > 16) {
+            if (length < 19 || line.charAt(start + 16) != ':') {
+                return LocalDateTime.parse(line.substring(start, end));
+            }
+
+            second = parseDigits(line, start + 17, start + 19);
+            if (length > 19) {
+                var fractionDigits = length - 20;
+                if (line.charAt(start + 19) != '.' || fractionDigits < 1 || fractionDigits > NANOS_DIGITS) {
+                    return LocalDateTime.parse(line.substring(start, end));
+                }
+
+                nano = parseDigits(line, start + 20, end) * POWERS_OF_TEN[NANOS_DIGITS - fractionDigits];
+            }
+        }
+
+        return LocalDateTime.of(parseDigits(line, start, start + 4), parseDigits(line, start + 5, start + 7),
+                parseDigits(line, start + 8, start + 10), parseDigits(line, start + 11, start + 13),
+                parseDigits(line, start + 14, start + 16), second, nano);
+    }
+
+    private static Duration readDuration(String line, int[] cursor) {
+        var start = cursor[0];
+        var end = nextSeparator(line, cursor);
+        skipSeparator(line, cursor, end);
+        if (start == end || isNull(line, start, end)) {
+            return null;
+        }
+
+        if (end - start < 4 || line.charAt(start) != 'P' || line.charAt(start + 1) != 'T') {
+            return Duration.parse(line.substring(start, end));
+        }
+
+        var seconds = 0L;
+        var nano = 0;
+        var position = start + 2;
+        while (position < end) {
+            var numberStart = position;
+            while (position < end && isDigit(line.charAt(position))) {
+                position++;
+            }
+
+            if (position == numberStart || position == end || position - numberStart > 18) {
+                return Duration.parse(line.substring(start, end));
+            }
+
+            var value = Long.parseLong(line, numberStart, position, 10);
+            switch (line.charAt(position)) {
+                case 'H' -> seconds = Math.addExact(seconds, Math.multiplyExact(value, SECONDS_PER_HOUR));
+                case 'M' -> seconds = Math.addExact(seconds, Math.multiplyExact(value, SECONDS_PER_MINUTE));
+                case 'S' -> seconds = Math.addExact(seconds, value);
+                case '.' -> {
+                    var fractionStart = ++position;
+                    while (position < end && isDigit(line.charAt(position))) {
+                        position++;
+                    }
+
+                    var fractionDigits = position - fractionStart;
+                    if (fractionDigits < 1 || fractionDigits > NANOS_DIGITS || position == end
+                            || line.charAt(position) != 'S') {
+                        return Duration.parse(line.substring(start, end));
+                    }
+
+                    seconds = Math.addExact(seconds, value);
+                    nano = parseDigits(line, fractionStart, position) * POWERS_OF_TEN[NANOS_DIGITS - fractionDigits];
+                }
+                default -> {
+                    return Duration.parse(line.substring(start, end));
+                }
+            }
+
+            position++;
+        }
+
+        return Duration.ofSeconds(seconds, nano);
+    }
+
+    private static int parseDigits(String line, int start, int end) {
+        var value = 0;
+        for (int i = start; i < end; i++) {
+            var c = line.charAt(i);
+            if (!isDigit(c)) {
+                throw new NumberFormatException("Not a digit in: " + line.substring(start, end));
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNull(String line, int start, int end) {
+        return end - start == NULL_VALUE.length() && line.regionMatches(start, NULL_VALUE, 0, NULL_VALUE.length());
+    }
+}
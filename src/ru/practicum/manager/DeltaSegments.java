@@ -0,0 +1,136 @@
+package ru.practicum.manager;
+
+import ru.practicum.exception.ManagerLoadException;
+import ru.practicum.exception.ManagerSaveException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+class DeltaSegments {
+    private static final String SEGMENT_INFIX = ".delta.";
+
+    private final File snapshotFile;
+    private final File directory;
+    private final String segmentPrefix;
+    private long nextSequence;
+    private int recordsCount;
+
+    DeltaSegments(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        this.directory = snapshotFile.getAbsoluteFile().getParentFile();
+        this.segmentPrefix = snapshotFile.getName() + SEGMENT_INFIX;
+        var sequences = listSequences();
+        this.nextSequence = sequences.length == 0 ? 1 : sequences[sequences.length - 1] + 1;
+    }
+
+    boolean exists() {
+        return listSequences().length > 0;
+    }
+
+    int getRecordsCount() {
+        return recordsCount;
+    }
+
+    long write(List<String> records) {
+        long writtenBytes;
+        try {
+            writtenBytes = SnapshotFile.write(segmentFile(nextSequence), out -> {
+                var bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (var record : records) {
+                    bw.write(record);
+                    bw.newLine();
+                }
+
+                bw.flush();
+            }, true);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        nextSequence++;
+        recordsCount += records.size();
+        return writtenBytes;
+    }
+
+    void reset() {
+        deleteSegmentsBefore(Long.MAX_VALUE);
+    }
+
+    void completeMerge() {
+        deleteSegmentsBefore(nextSequence - 1);
+    }
+
+    void replay(Consumer<String[]> recordConsumer) {
+        for (var sequence : listSequences()) {
+            try (var br = new BufferedReader(new InputStreamReader(SnapshotFile.openPayload(segmentFile(sequence)),
+                    StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+
+                    recordConsumer.accept(line.split(",", 2));
+                    recordsCount++;
+                }
+            } catch (IOException e) {
+                throw new ManagerLoadException();
+            }
+        }
+    }
+
+    private void deleteSegmentsBefore(long sequenceBound) {
+        try {
+            for (var sequence : listSequences()) {
+                if (sequence < sequenceBound) {
+                    Files.deleteIfExists(segmentFile(sequence).toPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        recordsCount = 0;
+    }
+
+    private File segmentFile(long sequence) {
+        return new File(snapshotFile.getPath() + SEGMENT_INFIX + sequence);
+    }
+
+    private long[] listSequences() {
+        var names = directory.list((dir, name) -> name.startsWith(segmentPrefix)
+                && isSequence(name.substring(segmentPrefix.length())));
+        if (names == null) {
+            return new long[0];
+        }
+
+        var sequences = Arrays.stream(names)
+                .mapToLong(name -> Long.parseLong(name.substring(segmentPrefix.length())))
+                .toArray();
+        Arrays.sort(sequences);
+        return sequences;
+    }
+
+    private static boolean isSequence(String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return false;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -5,179 +5,715 @@ import ru.practicum.exception.ManagerSaveException;
 import ru.practicum.model.*;
 
 import java.io.*;
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.stream.Stream;
-
-public class FileBackedTaskManager extends InMemoryTaskManager {
-    public static final String FILE_HEADER = "id,type,name,status,description,startTime,duration,epic";
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FileBackedTaskManager extends InMemoryTaskManager implements AutoCloseable {
+    public static final String FILE_HEADER = "id,type,name,status,description,startTime,duration,epic;v2";
+    static final String LEGACY_FILE_HEADER = "id,type,name,status,description,startTime,duration,epic";
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    public static final long DEFAULT_COMMIT_WINDOW_MILLIS = 5;
+    private static final int CSV_CHUNK_LINES = 4096;
+    private static final int MAX_PARSED_CHUNKS = 2 * ForkJoinPool.getCommonPoolParallelism() + 1;
+    private static final ExecutorService compactionExecutor = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "task-journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final File file;
+    private final TaskJournal journal;
+    private final DeltaSegments deltaSegments;
+    private final int compactionThreshold;
+    private final SnapshotFormat snapshotFormat;
+    private final GroupCommitWriter groupCommitWriter;
+    private final CsvTaskCodec csvCodec;
+    private Future<?> compaction;
+    private CompletableFuture<Void> lastCommit;
+    private final AtomicReference<Throwable> firstCommitFailure;
+    private int journalRecordsCount;
+    private ArrayList<String> pendingBatchRecords;
+    private IntObjectHashMap<Boolean> dirtyIds;
+    private EnumSet<TaskType> clearedTypes;
 
     public FileBackedTaskManager(File file) {
+        this(file, StorageMode.SNAPSHOT);
+    }
+
+    public FileBackedTaskManager(File file, StorageMode storageMode) {
+        this(file, storageMode, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public FileBackedTaskManager(File file, SnapshotFormat snapshotFormat) {
+        this(file, StorageMode.SNAPSHOT, snapshotFormat, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public FileBackedTaskManager(File file, StorageMode storageMode, int compactionThreshold) {
+        this(file, storageMode, SnapshotFormat.CSV, compactionThreshold);
+    }
+
+    public FileBackedTaskManager(File file, StorageMode storageMode, SnapshotFormat snapshotFormat,
+                                 int compactionThreshold) {
+        this(file, storageMode, snapshotFormat, compactionThreshold, null, 0);
+    }
+
+    public FileBackedTaskManager(File file, StorageMode storageMode, FsyncPolicy fsyncPolicy) {
+        this(file, storageMode, SnapshotFormat.CSV, DEFAULT_COMPACTION_THRESHOLD, fsyncPolicy,
+                DEFAULT_COMMIT_WINDOW_MILLIS);
+    }
+
+    public FileBackedTaskManager(File file, StorageMode storageMode, SnapshotFormat snapshotFormat,
+                                 int compactionThreshold, FsyncPolicy fsyncPolicy, long commitWindowMillis) {
         super();
         this.file = file;
+        this.compactionThreshold = compactionThreshold;
+        this.snapshotFormat = snapshotFormat;
+        if (storageMode == StorageMode.DELTA && fsyncPolicy != null) {
+            throw new IllegalArgumentException("Group commit is not supported for delta storage");
+        }
+
+        this.journal = storageMode == StorageMode.JOURNAL || fsyncPolicy != null ? new TaskJournal(file) : null;
+        this.deltaSegments = storageMode == StorageMode.DELTA ? new DeltaSegments(file) : null;
+        this.groupCommitWriter = fsyncPolicy == null ? null
+                : new GroupCommitWriter(file, journal, fsyncPolicy, commitWindowMillis);
+        this.lastCommit = CompletableFuture.completedFuture(null);
+        this.firstCommitFailure = new AtomicReference<>();
+        this.csvCodec = new CsvTaskCodec();
+        this.dirtyIds = new IntObjectHashMap<>();
+        this.clearedTypes = EnumSet.noneOf(TaskType.class);
+        if (journal != null) {
+            journal.reset();
+            save();
+        }
+
+        if (deltaSegments != null) {
+            deltaSegments.reset();
+            save();
+        }
     }
 
-    private FileBackedTaskManager(File file, HashMap<Integer, Task> tasks, HashMap<Integer, Epic> epics,
-                                  HashMap<Integer, Subtask> subtasks) {
+    private FileBackedTaskManager(File file, TaskJournal journal, DeltaSegments deltaSegments,
+                                  SnapshotFormat snapshotFormat, FsyncPolicy fsyncPolicy) {
         super();
+        if (deltaSegments != null && fsyncPolicy != null) {
+            throw new IllegalArgumentException("Group commit is not supported for delta storage");
+        }
+
         this.file = file;
+        this.journal = journal;
+        this.deltaSegments = deltaSegments;
+        this.compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+        this.snapshotFormat = snapshotFormat;
+        this.groupCommitWriter = fsyncPolicy == null ? null
+                : new GroupCommitWriter(file, journal, fsyncPolicy, DEFAULT_COMMIT_WINDOW_MILLIS);
+        this.lastCommit = CompletableFuture.completedFuture(null);
+        this.firstCommitFailure = new AtomicReference<>();
+        this.csvCodec = new CsvTaskCodec();
+        this.dirtyIds = new IntObjectHashMap<>();
+        this.clearedTypes = EnumSet.noneOf(TaskType.class);
+        this.journalRecordsCount = journal == null ? 0 : journal.getRecordsCount();
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file) {
+        return loadFromFile(file, null, null);
+    }
 
-        this.uniqueTaskId = Stream.of(tasks.keySet(), epics.keySet(), subtasks.keySet())
-                .flatMap(Collection::stream).max(Integer::compare)
-                .map(integer -> integer + 1).orElse(1);
+    public static FileBackedTaskManager loadFromFile(File file, FsyncPolicy fsyncPolicy) {
+        return loadFromFile(file, null, fsyncPolicy);
+    }
 
-        this.tasks.putAll(tasks);
-        this.epics.putAll(epics);
-        this.subtasks.putAll(subtasks);
+    public static FileBackedTaskManager loadFromFile(File file, StorageMode storageMode) {
+        return loadFromFile(file, storageMode, null);
+    }
 
-        for (var subtask : this.subtasks.values()) {
-            var epicId = subtask.getEpicId();
-            var epic = this.epics.get(epicId);
-            if (epic != null) {
-                epic.addSubtask(subtask);
+    private static FileBackedTaskManager loadFromFile(File file, StorageMode storageMode, FsyncPolicy fsyncPolicy) {
+        var journal = new TaskJournal(file);
+        var isJournaled = journal.exists();
+        var deltaSegments = new DeltaSegments(file);
+        var hasDeltas = deltaSegments.exists();
+        if (storageMode != null && (isJournaled && storageMode != StorageMode.JOURNAL
+                || hasDeltas && storageMode != StorageMode.DELTA)) {
+            throw new IllegalArgumentException("File is stored in another storage mode: " + file);
+        }
+
+        var hasSnapshot = file.exists() || !(isJournaled || hasDeltas);
+        var snapshotFormat = hasSnapshot ? detectSnapshotFormat(file) : SnapshotFormat.CSV;
+        var usesDeltas = hasDeltas || storageMode == StorageMode.DELTA;
+        var usesJournal = isJournaled || storageMode == StorageMode.JOURNAL || fsyncPolicy != null && !usesDeltas;
+        var manager = new FileBackedTaskManager(file, usesJournal ? journal : null, usesDeltas ? deltaSegments : null,
+                snapshotFormat, fsyncPolicy);
+        try {
+            if (hasSnapshot) {
+                manager.readSnapshot();
             }
+
+            if (isJournaled) {
+                journal.replay(manager::applyJournalRecord);
+            }
+
+            if (hasDeltas) {
+                deltaSegments.replay(manager::applyJournalRecord);
+            }
+
+            manager.completeBulkLoad();
+        } catch (RuntimeException | Error e) {
+            manager.close();
+            throw e;
         }
 
-        this.tasksByStartTime.addAll(tasks.values().stream().filter(t -> t.getStartTime() != null).toList());
-        this.tasksByStartTime.addAll(subtasks.values().stream().filter(s -> s.getStartTime() != null).toList());
+        return manager;
     }
 
-    public static FileBackedTaskManager loadFromFile(File file) {
-        var tasks = new HashMap<Integer, Task>();
-        var epics = new HashMap<Integer, Epic>();
-        var subtasks = new HashMap<Integer, Subtask>();
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            var isHeader = true;
-            while ((line = br.readLine()) != null) {
-                if (isHeader) {
-                    isHeader = false;
-                    continue;
-                }
+    public static void convertSnapshot(File source, File target, SnapshotFormat targetFormat) {
+        var manager = loadFromFile(source);
+        try {
+            SnapshotFile.write(target, out -> manager.writeSnapshot(out, targetFormat), true);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+    }
 
-                var baseTask = fromString(line);
-                switch (baseTask) {
-                    case Epic epic -> epics.put(epic.getId(), epic);
-                    case Subtask subtask -> subtasks.put(subtask.getId(), subtask);
-                    case Task task -> tasks.put(task.getId(), task);
-                }
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
+
+    public void compact() {
+        if (deltaSegments != null) {
+            flushDeltas();
+            mergeDeltas();
+        } else if (journal == null) {
+            save();
+        } else {
+            compactInBackground();
+            awaitCompaction();
+        }
+
+        whenDurable().join();
+    }
+
+    public CompletableFuture<Void> whenDurable() {
+        return lastCommit.handle((ignored, exception) -> {
+            if (exception != null) {
+                recordCommitFailure(exception);
             }
-        } catch (IOException e) {
-            throw new ManagerLoadException();
+
+            var failure = firstCommitFailure.get();
+            if (failure != null) {
+                throw new CompletionException(failure);
+            }
+
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        awaitCompaction();
+        if (groupCommitWriter != null) {
+            groupCommitWriter.close();
+        }
+    }
+
+    @Override
+    public boolean applyBatch(TaskBatch batch) {
+        pendingBatchRecords = new ArrayList<>();
+        ArrayList<String> batchRecords;
+        boolean isApplied;
+        try {
+            isApplied = super.applyBatch(batch);
+        } finally {
+            batchRecords = pendingBatchRecords;
+            pendingBatchRecords = null;
         }
 
-        return new FileBackedTaskManager(file, tasks, epics, subtasks);
+        if (isApplied) {
+            if (deltaSegments != null) {
+                flushDeltas();
+            } else if (journal == null) {
+                save();
+            } else {
+                appendToJournal(batchRecords);
+            }
+        }
+
+        return isApplied;
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        super.deleteAllTasks();
+        saveCleared(TaskType.TASK, List.of());
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        super.deleteAllEpics();
+        saveCleared(TaskType.EPIC, List.of());
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        super.deleteAllSubtasks();
+        saveCleared(TaskType.SUBTASK, epics.values());
     }
 
     @Override
     public int createTask(Task task) {
         var taskId = super.createTask(task);
-        save();
+        saveUpserted(tasks.get(taskId));
         return taskId;
     }
 
     @Override
     public int createEpic(Epic epic) {
         var epicId = super.createEpic(epic);
-        save();
+        saveUpserted(epics.get(epicId));
         return epicId;
     }
 
     @Override
     public int createSubtask(Subtask subtask) {
         var subtaskId = super.createSubtask(subtask);
-        save();
+        var createdSubtask = subtasks.get(subtaskId);
+        saveUpserted(createdSubtask, getEpicOf(createdSubtask));
         return subtaskId;
     }
 
     @Override
-    public void updateTask(Task task) {
-        super.updateTask(task);
-        save();
+    protected boolean applyTaskUpdate(Task task) {
+        var isUpdated = super.applyTaskUpdate(task);
+        if (isUpdated) {
+            saveUpserted(tasks.get(task.getId()));
+        }
+
+        return isUpdated;
     }
 
     @Override
     public void updateEpic(Epic epic) {
         super.updateEpic(epic);
-        save();
+        saveUpserted(epics.get(epic.getId()));
     }
 
     @Override
-    public void updateSubtask(Subtask subtask) {
-        super.updateSubtask(subtask);
-        save();
+    protected boolean applySubtaskUpdate(Subtask subtask) {
+        var isUpdated = super.applySubtaskUpdate(subtask);
+        if (isUpdated) {
+            var updatedSubtask = subtasks.get(subtask.getId());
+            saveUpserted(updatedSubtask, getEpicOf(updatedSubtask));
+        }
+
+        return isUpdated;
     }
 
     @Override
     public void deleteTask(int identifier) {
         super.deleteTask(identifier);
-        save();
+        saveDeleted(List.of(identifier));
     }
 
     @Override
     public void deleteEpic(int identifier) {
+        var deletedIds = new ArrayList<Integer>();
+        deletedIds.add(identifier);
+        var epic = epics.get(identifier);
+        if (epic != null) {
+            epic.getSubtasks().forEach(subtask -> deletedIds.add(subtask.getId()));
+        }
+
         super.deleteEpic(identifier);
-        save();
+        saveDeleted(deletedIds);
     }
 
     @Override
     public void deleteSubtask(int identifier) {
+        var subtask = subtasks.get(identifier);
         super.deleteSubtask(identifier);
+        saveDeleted(List.of(identifier), getEpicOf(subtask));
+    }
+
+    private Epic getEpicOf(Subtask subtask) {
+        return subtask == null ? null : epics.get(subtask.getEpicId());
+    }
+
+    private void saveUpserted(Task... changedTasks) {
+        if (deltaSegments != null) {
+            markDirty(changedTasks);
+            flushDeltasUnlessBatching();
+            return;
+        }
+
+        if (journal == null) {
+            saveSnapshot();
+            return;
+        }
+
+        var records = new ArrayList<String>();
+        for (var changedTask : changedTasks) {
+            if (changedTask != null) {
+                records.add(TaskJournal.upsert(csvCodec.encode(changedTask)));
+            }
+        }
+
+        appendToJournal(records);
+    }
+
+    private void saveDeleted(Collection<Integer> deletedIds, Task... changedTasks) {
+        if (deltaSegments != null) {
+            deletedIds.forEach(deletedId -> dirtyIds.put(deletedId, Boolean.TRUE));
+            markDirty(changedTasks);
+            flushDeltasUnlessBatching();
+            return;
+        }
+
+        if (journal == null) {
+            saveSnapshot();
+            return;
+        }
+
+        var records = new ArrayList<String>();
+        for (var deletedId : deletedIds) {
+            records.add(TaskJournal.delete(deletedId));
+        }
+
+        for (var changedTask : changedTasks) {
+            if (changedTask != null) {
+                records.add(TaskJournal.upsert(csvCodec.encode(changedTask)));
+            }
+        }
+
+        appendToJournal(records);
+    }
+
+    private void saveCleared(TaskType taskType, Collection<? extends Task> changedTasks) {
+        if (deltaSegments != null) {
+            clearedTypes.add(taskType);
+            markDirty(changedTasks.toArray(Task[]::new));
+            flushDeltasUnlessBatching();
+            return;
+        }
+
+        if (journal == null) {
+            saveSnapshot();
+            return;
+        }
+
+        var records = new ArrayList<String>();
+        records.add(TaskJournal.clear(taskType.name()));
+        for (var changedTask : changedTasks) {
+            records.add(TaskJournal.upsert(csvCodec.encode(changedTask)));
+        }
+
+        appendToJournal(records);
+    }
+
+    private void markDirty(Task... changedTasks) {
+        for (var changedTask : changedTasks) {
+            if (changedTask != null) {
+                dirtyIds.put(changedTask.getId(), Boolean.TRUE);
+            }
+        }
+    }
+
+    private void flushDeltasUnlessBatching() {
+        if (pendingBatchRecords == null) {
+            flushDeltas();
+        }
+    }
+
+    private void flushDeltas() {
+        if (dirtyIds.isEmpty() && clearedTypes.isEmpty()) {
+            return;
+        }
+
+        var startNanos = System.nanoTime();
+        var records = new ArrayList<String>(clearedTypes.size() + dirtyIds.size());
+        for (var clearedType : clearedTypes) {
+            records.add(TaskJournal.clear(clearedType.name()));
+        }
+
+        dirtyIds.forEach((id, ignored) -> {
+            var task = findTask(id);
+            records.add(task == null ? TaskJournal.delete(id) : TaskJournal.upsert(csvCodec.encode(task)));
+        });
+        var writtenBytes = deltaSegments.write(records);
+        recordSave(startNanos, writtenBytes);
+        dirtyIds = new IntObjectHashMap<>();
+        clearedTypes.clear();
+        if (deltaSegments.getRecordsCount() >= compactionThreshold) {
+            mergeDeltas();
+        }
+    }
+
+    private void mergeDeltas() {
         save();
+        deltaSegments.completeMerge();
+    }
+
+    private Task findTask(int id) {
+        var task = tasks.get(id);
+        if (task != null) {
+            return task;
+        }
+
+        var epic = epics.get(id);
+        return epic != null ? epic : subtasks.get(id);
+    }
+
+    private void saveSnapshot() {
+        if (pendingBatchRecords == null) {
+            save();
+        }
+    }
+
+    private void appendToJournal(List<String> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        if (pendingBatchRecords != null) {
+            pendingBatchRecords.addAll(records);
+            return;
+        }
+
+        var startNanos = System.nanoTime();
+        if (groupCommitWriter == null) {
+            journal.append(records);
+        } else {
+            trackCommit(groupCommitWriter.appendRecords(records));
+        }
+
+        if (metrics != null) {
+            recordSave(startNanos, TaskJournal.encodedLength(records));
+        }
+
+        journalRecordsCount += records.size();
+        if (journalRecordsCount >= compactionThreshold) {
+            compactInBackground();
+        }
+    }
+
+    private void compactInBackground() {
+        awaitCompaction();
+        var snapshot = captureSnapshot();
+        journalRecordsCount = 0;
+        if (groupCommitWriter != null) {
+            trackCommit(groupCommitWriter.compact(snapshot.toByteArray()));
+            return;
+        }
+
+        journal.rotate();
+        compaction = compactionExecutor.submit(() -> {
+            try {
+                SnapshotFile.write(file, snapshot::writeTo, true);
+            } catch (IOException e) {
+                throw new ManagerSaveException();
+            }
+
+            journal.completeCompaction();
+        });
+    }
+
+    private void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException();
+        } catch (ExecutionException e) {
+            throw new ManagerSaveException();
+        } finally {
+            compaction = null;
+        }
+    }
+
+    private ByteArrayOutputStream captureSnapshot() {
+        var snapshot = new ByteArrayOutputStream();
+        try {
+            writeSnapshot(snapshot, snapshotFormat);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        return snapshot;
     }
 
     private void save() {
-        try (var bw = new BufferedWriter(new FileWriter(file, false))) {
-            bw.write(FILE_HEADER);
+        var startNanos = System.nanoTime();
+        if (groupCommitWriter != null) {
+            var snapshot = captureSnapshot().toByteArray();
+            trackCommit(groupCommitWriter.writeSnapshot(snapshot));
+            recordSave(startNanos, snapshot.length);
+            return;
+        }
+
+        long writtenBytes;
+        try {
+            writtenBytes = SnapshotFile.write(file, out -> writeSnapshot(out, snapshotFormat), true);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        recordSave(startNanos, writtenBytes);
+    }
+
+    private void trackCommit(CompletableFuture<Void> commit) {
+        commit.whenComplete((ignored, exception) -> {
+            if (exception != null) {
+                recordCommitFailure(exception);
+            }
+        });
+        lastCommit = commit;
+    }
+
+    private void recordCommitFailure(Throwable exception) {
+        firstCommitFailure.compareAndSet(null,
+                exception instanceof CompletionException ? exception.getCause() : exception);
+    }
+
+    private void recordSave(long startNanos, long writtenBytes) {
+        if (metrics != null) {
+            metrics.recordSave(startNanos, writtenBytes);
+        }
+    }
+
+    private void writeSnapshot(OutputStream out, SnapshotFormat format) throws IOException {
+        if (format == SnapshotFormat.BINARY) {
+            BinarySnapshotCodec.write(out, tasks.values(), epics.values(), subtasks.values());
+            return;
+        }
+
+        var bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        bw.write(FILE_HEADER);
+        bw.newLine();
+        for (var task : tasks.values()) {
+            csvCodec.write(task, bw);
+            bw.newLine();
+        }
+
+        for (var epic : epics.values()) {
+            csvCodec.write(epic, bw);
             bw.newLine();
-            for (var task : tasks.values()) {
-                bw.write(toString(task));
-                bw.newLine();
+        }
+
+        for (var subtask : subtasks.values()) {
+            csvCodec.write(subtask, bw);
+            bw.newLine();
+        }
+
+        bw.flush();
+    }
+
+    private static SnapshotFormat detectSnapshotFormat(File file) {
+        try {
+            return BinarySnapshotCodec.isBinary(file) ? SnapshotFormat.BINARY : SnapshotFormat.CSV;
+        } catch (IOException e) {
+            throw new ManagerLoadException();
+        }
+    }
+
+    private void readSnapshot() {
+        try {
+            if (snapshotFormat == SnapshotFormat.BINARY) {
+                BinarySnapshotCodec.read(file, this::putTask);
+            } else {
+                readCsvSnapshot();
             }
+        } catch (IOException e) {
+            throw new ManagerLoadException();
+        }
+    }
 
-            for (var epic : epics.values()) {
-                bw.write(toString(epic));
-                bw.newLine();
+    private void readCsvSnapshot() throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(SnapshotFile.openPayload(file),
+                StandardCharsets.UTF_8))) {
+            var isEscaped = FILE_HEADER.equals(br.readLine());
+            var parsedChunks = new ArrayDeque<ForkJoinTask<Task[]>>();
+            var chunk = new String[CSV_CHUNK_LINES];
+            var chunkSize = 0;
+            String line;
+            while ((line = br.readLine()) != null) {
+                chunk[chunkSize++] = line;
+                if (chunkSize == chunk.length) {
+                    submitCsvChunk(parsedChunks, chunk, chunkSize, isEscaped);
+                    chunk = new String[CSV_CHUNK_LINES];
+                    chunkSize = 0;
+                }
             }
 
-            for (var subtask : subtasks.values()) {
-                bw.write(toString(subtask));
-                bw.newLine();
+            if (chunkSize > 0) {
+                submitCsvChunk(parsedChunks, chunk, chunkSize, isEscaped);
+            }
+
+            while (!parsedChunks.isEmpty()) {
+                putTasks(parsedChunks.poll().join());
             }
-        } catch (IOException e) {
-            throw new ManagerSaveException();
         }
     }
 
-    private String toString(Task task) {
-        if (task instanceof Subtask subtask) {
-            return String.format("%s,%s,%s,%s,%s,%s,%s,%s", subtask.getId(), task.getTaskType(), subtask.getName(),
-                    subtask.getStatus(), subtask.getDescription(), subtask.getStartTime(), subtask.getDuration(),
-                    subtask.getEpicId());
-        } else {
-            return String.format("%s,%s,%s,%s,%s,%s,%s,", task.getId(), task.getTaskType(), task.getName(),
-                    task.getStatus(), task.getDescription(), task.getStartTime(), task.getDuration());
+    private void submitCsvChunk(ArrayDeque<ForkJoinTask<Task[]>> parsedChunks, String[] lines, int linesCount,
+                                boolean isEscaped) {
+        if (parsedChunks.size() >= MAX_PARSED_CHUNKS) {
+            putTasks(parsedChunks.poll().join());
+        }
+
+        parsedChunks.add(ForkJoinPool.commonPool().submit(() -> {
+            var parsedTasks = new Task[linesCount];
+            for (int i = 0; i < linesCount; i++) {
+                parsedTasks[i] = isEscaped ? CsvTaskCodec.decode(lines[i]) : CsvTaskCodec.decodeLegacy(lines[i]);
+            }
+
+            return parsedTasks;
+        }));
+    }
+
+    private void putTasks(Task[] parsedTasks) {
+        for (var task : parsedTasks) {
+            putTask(task);
         }
     }
 
-    private static Task fromString(String value) {
-        Task result;
-        var stringParts = value.split(",");
-        var taskType = TaskType.valueOf(stringParts[1]);
-        var startTime = LocalDateTime.parse(stringParts[5]);
-        var duration = Duration.parse(stringParts[6]);
-        switch (taskType) {
-            case SUBTASK -> result = new Subtask(stringParts[2], stringParts[4], Integer.parseInt(stringParts[0]),
-                    TaskStatus.valueOf(stringParts[3]), Integer.parseInt(stringParts[7]), startTime, duration);
-            case EPIC -> result = new Epic(stringParts[2], stringParts[4], Integer.parseInt(stringParts[0]),
-                    TaskStatus.valueOf(stringParts[3]), startTime, duration);
-            default -> result = new Task(stringParts[2], stringParts[4], Integer.parseInt(stringParts[0]),
-                    TaskStatus.valueOf(stringParts[3]), startTime, duration);
+    private void applyJournalRecord(String[] record) {
+        switch (record[0]) {
+            case TaskJournal.UPSERT -> putTask(CsvTaskCodec.decode(record[1]));
+            case TaskJournal.LEGACY_UPSERT -> putTask(CsvTaskCodec.decodeLegacy(record[1]));
+            case TaskJournal.DELETE -> {
+                var id = Integer.parseInt(record[1]);
+                tasks.remove(id);
+                epics.remove(id);
+                subtasks.remove(id);
+            }
+            case TaskJournal.CLEAR -> {
+                switch (TaskType.valueOf(record[1])) {
+                    case TASK -> tasks.clear();
+                    case EPIC -> {
+                        epics.clear();
+                        subtasks.clear();
+                    }
+                    case SUBTASK -> subtasks.clear();
+                }
+            }
+            default -> throw new ManagerLoadException();
         }
+    }
 
-        return result;
+    private void putTask(Task baseTask) {
+        switch (baseTask) {
+            case Epic epic -> epics.put(epic.getId(), epic);
+            case Subtask subtask -> subtasks.put(subtask.getId(), subtask);
+            case Task task -> tasks.put(task.getId(), task);
+        }
     }
 }
@@ -0,0 +1,27 @@
+package ru.practicum.manager;
+
+public record FsyncPolicy(Mode mode, long intervalMillis) {
+    public FsyncPolicy {
+        if (mode == Mode.INTERVAL && intervalMillis <= 0) {
+            throw new IllegalArgumentException("Fsync interval should be positive: " + intervalMillis);
+        }
+    }
+
+    public static FsyncPolicy always() {
+        return new FsyncPolicy(Mode.ALWAYS, 0);
+    }
+
+    public static FsyncPolicy everyMillis(long intervalMillis) {
+        return new FsyncPolicy(Mode.INTERVAL, intervalMillis);
+    }
+
+    public static FsyncPolicy never() {
+        return new FsyncPolicy(Mode.NEVER, 0);
+    }
+
+    public enum Mode {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+}
@@ -0,0 +1,268 @@
+package ru.practicum.manager;
+
+import ru.practicum.exception.ManagerSaveException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class GroupCommitWriter {
+    private final File snapshotFile;
+    private final TaskJournal journal;
+    private final FsyncPolicy fsyncPolicy;
+    private final long commitWindowNanos;
+    private final long syncIntervalNanos;
+    private final LinkedBlockingQueue<Commit> commits;
+    private final AtomicReference<byte[]> pendingSnapshot;
+    private final ArrayList<CompletableFuture<Void>> unsyncedCommits;
+    private final Thread thread;
+    private boolean isClosed;
+    private volatile Throwable failure;
+    private boolean isJournalDirty;
+    private long nextSyncNanos;
+
+    GroupCommitWriter(File snapshotFile, TaskJournal journal, FsyncPolicy fsyncPolicy, long commitWindowMillis) {
+        this.snapshotFile = snapshotFile;
+        this.journal = journal;
+        this.fsyncPolicy = fsyncPolicy;
+        this.commitWindowNanos = TimeUnit.MILLISECONDS.toNanos(commitWindowMillis);
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncPolicy.intervalMillis());
+        this.commits = new LinkedBlockingQueue<>();
+        this.pendingSnapshot = new AtomicReference<>();
+        this.unsyncedCommits = new ArrayList<>();
+        this.thread = new Thread(this::run, "task-group-commit");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    synchronized CompletableFuture<Void> appendRecords(List<String> records) {
+        return submit(new AppendRecords(records, new CompletableFuture<>()));
+    }
+
+    synchronized CompletableFuture<Void> writeSnapshot(byte[] snapshot) {
+        pendingSnapshot.set(snapshot);
+        return submit(new WriteSnapshot(new CompletableFuture<>()));
+    }
+
+    synchronized CompletableFuture<Void> compact(byte[] snapshot) {
+        return submit(new Compact(snapshot, new CompletableFuture<>()));
+    }
+
+    void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+            if (failure != null) {
+                return;
+            }
+
+            commits.add(new Close(new CompletableFuture<>()));
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> submit(Commit commit) {
+        if (isClosed) {
+            throw new IllegalStateException("Group commit writer is closed");
+        }
+
+        if (failure != null) {
+            throw saveException(failure);
+        }
+
+        commits.add(commit);
+        return commit.future();
+    }
+
+    private void run() {
+        try {
+            var isClosing = false;
+            while (!isClosing) {
+                var first = unsyncedCommits.isEmpty() ? commits.take()
+                        : commits.poll(nextSyncNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    var batch = collectBatch(first);
+                    isClosing = batch.getLast() instanceof Close;
+                    process(batch);
+                }
+
+                if (isClosing || System.nanoTime() - nextSyncNanos >= 0) {
+                    syncUnsyncedCommits();
+                }
+            }
+        } catch (InterruptedException | RuntimeException | Error e) {
+            fail(e);
+        }
+    }
+
+    private synchronized void fail(Throwable cause) {
+        failure = cause;
+        completeExceptionally(unsyncedCommits, cause);
+        unsyncedCommits.clear();
+        Commit commit;
+        while ((commit = commits.poll()) != null) {
+            commit.future().completeExceptionally(saveException(cause));
+        }
+    }
+
+    private ArrayList<Commit> collectBatch(Commit first) throws InterruptedException {
+        var batch = new ArrayList<Commit>();
+        batch.add(first);
+        var windowEnd = System.nanoTime() + commitWindowNanos;
+        while (!(batch.getLast() instanceof Close)) {
+            var next = commits.poll(windowEnd - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+
+            batch.add(next);
+        }
+
+        return batch;
+    }
+
+    private void process(List<Commit> batch) {
+        var records = new ArrayList<String>();
+        var futures = new ArrayList<CompletableFuture<Void>>(batch.size());
+        for (var commit : batch) {
+            futures.add(commit.future());
+        }
+
+        try {
+            for (var commit : batch) {
+                switch (commit) {
+                    case AppendRecords(var commitRecords, var ignored) -> records.addAll(commitRecords);
+                    case WriteSnapshot ignored -> {
+                        var snapshot = pendingSnapshot.getAndSet(null);
+                        if (snapshot != null) {
+                            writeSnapshotFile(snapshot);
+                        }
+                    }
+                    case Compact(var snapshot, var ignored) -> {
+                        appendToJournal(records);
+                        records.clear();
+                        syncDirtyFiles();
+                        journal.rotate();
+                        writeSnapshotFile(snapshot);
+                        syncDirtyFiles();
+                        journal.completeCompaction();
+                    }
+                    case Close ignored -> {
+                    }
+                }
+            }
+
+            appendToJournal(records);
+            switch (fsyncPolicy.mode()) {
+                case ALWAYS -> {
+                    syncDirtyFiles();
+                    futures.forEach(future -> future.complete(null));
+                }
+                case INTERVAL -> {
+                    if (unsyncedCommits.isEmpty()) {
+                        nextSyncNanos = System.nanoTime() + syncIntervalNanos;
+                    }
+
+                    unsyncedCommits.addAll(futures);
+                }
+                case NEVER -> futures.forEach(future -> future.complete(null));
+            }
+        } catch (IOException | RuntimeException | ManagerSaveException e) {
+            completeExceptionally(futures, e);
+        } catch (Error e) {
+            completeExceptionally(futures, e);
+            throw e;
+        }
+    }
+
+    private void syncUnsyncedCommits() {
+        if (unsyncedCommits.isEmpty()) {
+            return;
+        }
+
+        try {
+            syncDirtyFiles();
+            unsyncedCommits.forEach(future -> future.complete(null));
+        } catch (IOException | RuntimeException | ManagerSaveException e) {
+            completeExceptionally(unsyncedCommits, e);
+        }
+
+        unsyncedCommits.clear();
+    }
+
+    private void appendToJournal(List<String> records) {
+        if (!records.isEmpty()) {
+            journal.append(records);
+            isJournalDirty = true;
+        }
+    }
+
+    private void writeSnapshotFile(byte[] snapshot) throws IOException {
+        SnapshotFile.write(snapshotFile, out -> out.write(snapshot), fsyncPolicy.mode() != FsyncPolicy.Mode.NEVER);
+    }
+
+    private void syncDirtyFiles() throws IOException {
+        if (fsyncPolicy.mode() == FsyncPolicy.Mode.NEVER) {
+            return;
+        }
+
+        if (isJournalDirty) {
+            journal.sync();
+            isJournalDirty = false;
+        }
+    }
+
+    private static void completeExceptionally(List<CompletableFuture<Void>> futures, Throwable cause) {
+        var exception = saveException(cause);
+        futures.forEach(future -> future.completeExceptionally(exception));
+    }
+
+    private static ManagerSaveException saveException(Throwable cause) {
+        var exception = new ManagerSaveException();
+        exception.initCause(cause);
+        return exception;
+    }
+
+    static void sync(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private sealed interface Commit {
+        CompletableFuture<Void> future();
+    }
+
+    private record AppendRecords(List<String> records, CompletableFuture<Void> future) implements Commit {
+    }
+
+    private record WriteSnapshot(CompletableFuture<Void> future) implements Commit {
+    }
+
+    private record Compact(byte[] snapshot, CompletableFuture<Void> future) implements Commit {
+    }
+
+    private record Close(CompletableFuture<Void> future) implements Commit {
+    }
+}
@@ -10,4 +10,8 @@ public interface HistoryManager {
     void remove(Task task);
 
     List<Task> getHistory();
+
+    List<Task> getHistoryView();
+
+    int size();
 }
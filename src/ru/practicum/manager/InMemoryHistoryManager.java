@@ -5,51 +5,141 @@ import ru.practicum.model.Subtask;
 import ru.practicum.model.Task;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 
 public class InMemoryHistoryManager implements HistoryManager {
-    private final LinkedList<Task> tasksViewHistory;
-    private static final int historyMaxCount = 10;
+    public static final int DEFAULT_CAPACITY = 10;
+    private final HashMap<Integer, Node> nodesByTaskId;
+    private final int capacity;
+    private Node head;
+    private Node tail;
+    private List<Task> historyView;
 
     public InMemoryHistoryManager() {
-        tasksViewHistory = new LinkedList<>();
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InMemoryHistoryManager(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("History capacity should be positive: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.nodesByTaskId = new HashMap<>();
     }
 
     @Override
     public void add(Task task) {
-        switch (task) {
-            case null -> {
-                return;
-            }
-            case Epic epic -> {
-                var epicForHistory = new Epic(epic.getName(), epic.getDescription(), epic.getId(), epic.getStatus(),
-                        epic.getStartTime(), epic.getDuration());
-                tasksViewHistory.addLast(epicForHistory);
-            }
-            case Subtask subtask -> {
-                var subtaskForHistory = new Subtask(subtask.getName(), subtask.getDescription(), subtask.getId(),
-                        subtask.getStatus(), subtask.getEpicId(), subtask.getStartTime(), subtask.getDuration());
-                tasksViewHistory.addLast(subtaskForHistory);
-            }
-            default -> {
-                var taskForHistory = new Task(task.getName(), task.getDescription(), task.getId(), task.getStatus(),
-                        task.getStartTime(), task.getDuration());
-                tasksViewHistory.addLast(taskForHistory);
-            }
-        }
-
-        if (tasksViewHistory.size() > historyMaxCount) {
-            tasksViewHistory.removeFirst();
+        if (task == null) {
+            return;
+        }
+
+        var existingNode = nodesByTaskId.remove(task.getId());
+        if (existingNode != null) {
+            unlink(existingNode);
+        }
+
+        var node = new Node(copyOf(task));
+        linkLast(node);
+        historyView = null;
+        nodesByTaskId.put(task.getId(), node);
+
+        if (nodesByTaskId.size() > capacity) {
+            nodesByTaskId.remove(head.task.getId());
+            unlink(head);
         }
     }
 
     @Override
     public void remove(Task task) {
-        tasksViewHistory.remove(task);
+        if (task == null) {
+            return;
+        }
+
+        var node = nodesByTaskId.remove(task.getId());
+        if (node != null) {
+            unlink(node);
+            historyView = null;
+        }
     }
 
     @Override
     public ArrayList<Task> getHistory() {
-        return new ArrayList<>(tasksViewHistory);
+        var history = new ArrayList<Task>(nodesByTaskId.size());
+        for (var node = head; node != null; node = node.next) {
+            history.add(node.task);
+        }
+
+        return history;
+    }
+
+    @Override
+    public List<Task> getHistoryView() {
+        if (historyView == null) {
+            historyView = Collections.unmodifiableList(getHistory());
+        }
+
+        return historyView;
+    }
+
+    @Override
+    public int size() {
+        return nodesByTaskId.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void linkLast(Node node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+
+        tail = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static Task copyOf(Task task) {
+        return switch (task) {
+            case Epic epic -> new Epic(epic.getName(), epic.getDescription(), epic.getId(), epic.getStatus(),
+                    epic.getStartTime(), epic.getDuration());
+            case Subtask subtask -> new Subtask(subtask.getName(), subtask.getDescription(), subtask.getId(),
+                    subtask.getStatus(), subtask.getEpicId(), subtask.getStartTime(), subtask.getDuration());
+            default -> new Task(task.getName(), task.getDescription(), task.getId(), task.getStatus(),
+                    task.getStartTime(), task.getDuration());
+        };
+    }
+
+    private static class Node {
+        private final Task task;
+        private Node prev;
+        private Node next;
+
+        private Node(Task task) {
+            this.task = task;
+        }
     }
 }
@@ -1,26 +1,60 @@
 package ru.practicum.manager;
 
+import ru.practicum.metrics.TaskMetrics;
+import ru.practicum.metrics.TaskOperation;
 import ru.practicum.model.Epic;
 import ru.practicum.model.Subtask;
 import ru.practicum.model.Task;
 import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 
 public class InMemoryTaskManager implements TaskManager {
+    static final Comparator<Task> START_TIME_ORDER = Comparator.comparing(Task::getStartTime)
+            .thenComparingInt(Task::getId);
     protected int uniqueTaskId = 1;
-    protected final HashMap<Integer, Task> tasks;
-    protected final HashMap<Integer, Epic> epics;
-    protected final HashMap<Integer, Subtask> subtasks;
+    protected final IntObjectHashMap<Task> tasks;
+    protected final IntObjectHashMap<Epic> epics;
+    protected final IntObjectHashMap<Subtask> subtasks;
+    private final Collection<Task> tasksView;
+    private final Collection<Epic> epicsView;
+    private final Collection<Subtask> subtasksView;
+    private final TaskStatusIndex<Task> taskStatusIndex;
+    private final TaskStatusIndex<Epic> epicStatusIndex;
+    private final TaskStatusIndex<Subtask> subtaskStatusIndex;
+    private final TaskSearchIndex searchIndex;
     private final HistoryManager historyManager;
+    private ArrayList<Task> pendingHistoryRemovals;
     protected final TreeSet<Task> tasksByStartTime;
+    protected TaskMetrics metrics;
 
     public InMemoryTaskManager() {
-        tasks = new HashMap<>();
-        epics = new HashMap<>();
-        subtasks = new HashMap<>();
-        tasksByStartTime = new TreeSet<>(Comparator.comparing(Task::getStartTime));
-        historyManager = Managers.getDefaultHistory();
+        this(Managers.getDefaultHistory());
+    }
+
+    public InMemoryTaskManager(HistoryManager historyManager) {
+        tasks = new IntObjectHashMap<>();
+        epics = new IntObjectHashMap<>();
+        subtasks = new IntObjectHashMap<>();
+        tasksView = Collections.unmodifiableCollection(tasks.values());
+        epicsView = Collections.unmodifiableCollection(epics.values());
+        subtasksView = Collections.unmodifiableCollection(subtasks.values());
+        taskStatusIndex = new TaskStatusIndex<>();
+        epicStatusIndex = new TaskStatusIndex<>();
+        subtaskStatusIndex = new TaskStatusIndex<>();
+        searchIndex = new TaskSearchIndex();
+        tasksByStartTime = new TreeSet<>(START_TIME_ORDER);
+        this.historyManager = historyManager;
+    }
+
+    public void setMetrics(TaskMetrics metrics) {
+        this.metrics = metrics;
+        metrics.registerGauge("history_size", historyManager::size);
+        metrics.registerGauge("prioritized_index_size", tasksByStartTime::size);
+        metrics.registerGauge("search_index_terms", searchIndex::getTermsCount);
     }
 
     private int getUniqueTaskId() {
@@ -42,30 +76,85 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(subtasks.values());
     }
 
+    @Override
+    public Collection<Task> getTasksView() {
+        return tasksView;
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return epicsView;
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return subtasksView;
+    }
+
+    public Collection<Task> getTasksByStatus(TaskStatus status) {
+        return taskStatusIndex.get(status);
+    }
+
+    public Collection<Epic> getEpicsByStatus(TaskStatus status) {
+        return epicStatusIndex.get(status);
+    }
+
+    public Collection<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return subtaskStatusIndex.get(status);
+    }
+
+    public List<Integer> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    public int getTasksCount(TaskType taskType) {
+        return switch (taskType) {
+            case TASK -> tasks.size();
+            case EPIC -> epics.size();
+            case SUBTASK -> subtasks.size();
+        };
+    }
+
+    public int getTasksCount(TaskType taskType, TaskStatus status) {
+        return switch (taskType) {
+            case TASK -> taskStatusIndex.count(status);
+            case EPIC -> epicStatusIndex.count(status);
+            case SUBTASK -> subtaskStatusIndex.count(status);
+        };
+    }
+
     @Override
     public void deleteAllTasks() {
         tasks.values().forEach(tasksByStartTime::remove);
-        tasks.values().forEach(historyManager::remove);
+        tasks.values().forEach(this::removeFromHistory);
+        tasks.values().forEach(task -> searchIndex.remove(task.getId()));
         tasks.clear();
+        taskStatusIndex.clear();
     }
 
     @Override
     public void deleteAllEpics() {
-        epics.values().forEach(historyManager::remove);
+        epics.values().forEach(this::removeFromHistory);
+        epics.values().forEach(epic -> searchIndex.remove(epic.getId()));
         epics.clear();
+        epicStatusIndex.clear();
         subtasks.values().forEach(tasksByStartTime::remove);
-        subtasks.values().forEach(historyManager::remove);
+        subtasks.values().forEach(this::removeFromHistory);
+        subtasks.values().forEach(subtask -> searchIndex.remove(subtask.getId()));
         subtasks.clear();
+        subtaskStatusIndex.clear();
     }
 
     @Override
     public void deleteAllSubtasks() {
         subtasks.values().forEach(tasksByStartTime::remove);
-        subtasks.values().forEach(historyManager::remove);
+        subtasks.values().forEach(this::removeFromHistory);
+        subtasks.values().forEach(subtask -> searchIndex.remove(subtask.getId()));
         subtasks.clear();
+        subtaskStatusIndex.clear();
         for (var epic : epics.values()) {
             epic.removeAllSubtasks();
-            recalculateEpicStatus(epic);
+            epicStatusIndex.put(epic);
         }
     }
 
@@ -90,6 +179,15 @@ public class InMemoryTaskManager implements TaskManager {
         return subtask;
     }
 
+    @Override
+    public boolean containsTask(TaskType taskType, int id) {
+        return switch (taskType) {
+            case TASK -> tasks.containsKey(id);
+            case EPIC -> epics.containsKey(id);
+            case SUBTASK -> subtasks.containsKey(id);
+        };
+    }
+
     @Override
     public int createTask(Task task) {
         if (task.getStartTime() != null && isTaskIntersectsWithExistingTasks(task)) {
@@ -99,6 +197,8 @@ public class InMemoryTaskManager implements TaskManager {
         var taskId = this.getUniqueTaskId();
         task.setId(taskId);
         tasks.put(taskId, task);
+        taskStatusIndex.put(task);
+        searchIndex.put(task);
         if (task.getStartTime() != null) {
             tasksByStartTime.add(task);
         }
@@ -112,6 +212,8 @@ public class InMemoryTaskManager implements TaskManager {
         epic.setId(epicId);
         epics.put(epicId, epic);
         epic.setStatus(TaskStatus.NEW);
+        epicStatusIndex.put(epic);
+        searchIndex.put(epic);
         return epicId;
     }
 
@@ -130,27 +232,40 @@ public class InMemoryTaskManager implements TaskManager {
         subtask.setId(subtaskId);
         existingEpic.addSubtask(subtask);
         subtasks.put(subtaskId, subtask);
+        subtaskStatusIndex.put(subtask);
+        searchIndex.put(subtask);
+        epicStatusIndex.put(existingEpic);
         if (subtask.getStartTime() != null) {
             tasksByStartTime.add(subtask);
         }
 
-        recalculateEpicStatus(existingEpic);
         return subtaskId;
     }
 
     @Override
     public void updateTask(Task task) {
+        applyTaskUpdate(task);
+    }
+
+    protected boolean applyTaskUpdate(Task task) {
         if (task.getStartTime() != null && isTaskIntersectsWithExistingTasks(task)) {
-            return;
+            return false;
         }
 
-        if (tasks.containsKey(task.getId())) {
-            tasks.put(task.getId(), task);
-            tasksByStartTime.remove(task);
-            if (task.getStartTime() != null) {
-                tasksByStartTime.add(task);
-            }
+        var existingTask = tasks.get(task.getId());
+        if (existingTask == null) {
+            return false;
         }
+
+        tasks.put(task.getId(), task);
+        taskStatusIndex.put(task);
+        searchIndex.put(task);
+        removeFromPrioritizedTasks(existingTask);
+        if (task.getStartTime() != null) {
+            tasksByStartTime.add(task);
+        }
+
+        return true;
     }
 
     @Override
@@ -163,28 +278,36 @@ public class InMemoryTaskManager implements TaskManager {
 
         existingEpic.setName(epic.getName());
         existingEpic.setDescription(epic.getDescription());
+        searchIndex.put(existingEpic);
     }
 
     @Override
     public void updateSubtask(Subtask subtask) {
+        applySubtaskUpdate(subtask);
+    }
+
+    protected boolean applySubtaskUpdate(Subtask subtask) {
         if (subtask.getStartTime() != null && isTaskIntersectsWithExistingTasks(subtask)) {
-            return;
+            return false;
         }
 
         var existingSubtask = subtasks.get(subtask.getId());
         var existingEpic = epics.get(subtask.getEpicId());
         if (existingSubtask == null || existingEpic == null) {
-            return;
+            return false;
         }
 
         subtasks.put(subtask.getId(), subtask);
-        tasksByStartTime.remove(subtask);
+        removeFromPrioritizedTasks(existingSubtask);
         if (subtask.getStartTime() != null) {
             tasksByStartTime.add(subtask);
         }
 
         existingEpic.updateSubtask(subtask);
-        recalculateEpicStatus(existingEpic);
+        subtaskStatusIndex.put(subtask);
+        searchIndex.put(subtask);
+        epicStatusIndex.put(existingEpic);
+        return true;
     }
 
     @Override
@@ -192,8 +315,10 @@ public class InMemoryTaskManager implements TaskManager {
         var task = tasks.get(identifier);
         if (task != null) {
             tasks.remove(identifier);
+            taskStatusIndex.remove(identifier);
+            searchIndex.remove(identifier);
             tasksByStartTime.remove(task);
-            historyManager.remove(task);
+            removeFromHistory(task);
         }
     }
 
@@ -207,12 +332,16 @@ public class InMemoryTaskManager implements TaskManager {
         var epicSubtasks = epic.getSubtasks();
         for (var epicSubtask : epicSubtasks) {
             subtasks.remove(epicSubtask.getId());
-            historyManager.remove(epicSubtask);
+            subtaskStatusIndex.remove(epicSubtask.getId());
+            searchIndex.remove(epicSubtask.getId());
+            removeFromHistory(epicSubtask);
             tasksByStartTime.remove(epicSubtask);
         }
 
-        historyManager.remove(epic);
+        removeFromHistory(epic);
         epics.remove(identifier);
+        epicStatusIndex.remove(identifier);
+        searchIndex.remove(identifier);
     }
 
     @Override
@@ -223,13 +352,14 @@ public class InMemoryTaskManager implements TaskManager {
         }
 
         subtasks.remove(identifier);
-        historyManager.remove(subtask);
+        subtaskStatusIndex.remove(identifier);
+        searchIndex.remove(identifier);
+        removeFromHistory(subtask);
         tasksByStartTime.remove(subtask);
         var epic = epics.get(subtask.getEpicId());
         if (epic != null) {
-            var epicSubtasks = epic.getSubtasks();
-            epicSubtasks.remove(subtask);
-            recalculateEpicStatus(epic);
+            epic.removeSubtask(subtask);
+            epicStatusIndex.put(epic);
         }
     }
 
@@ -244,64 +374,389 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(epic.getSubtasks());
     }
 
+    @Override
+    public Collection<Subtask> getSubtasksByEpicView(int epicId) {
+        var epic = epics.get(epicId);
+        return epic == null ? List.of() : epic.getSubtasks();
+    }
+
+    @Override
+    public boolean applyBatch(TaskBatch batch) {
+        pendingHistoryRemovals = new ArrayList<>();
+        try {
+            var isApplied = batch.applyTo(this, new BatchRollback());
+            if (isApplied) {
+                pendingHistoryRemovals.forEach(historyManager::remove);
+            }
+
+            return isApplied;
+        } finally {
+            pendingHistoryRemovals = null;
+        }
+    }
+
     @Override
     public List<Task> getHistory() {
         return historyManager.getHistory();
     }
 
+    @Override
+    public List<Task> getHistoryView() {
+        return historyManager.getHistoryView();
+    }
+
     @Override
     public List<Task> getPrioritizedTasks() {
         return tasksByStartTime.stream().toList();
     }
 
-    private Boolean isTaskIntersectsWithExistingTasks(Task task) {
-        return tasksByStartTime.stream().anyMatch(existingTask -> existingTask.getId() != task.getId() &&
-                areTasksIntersected(existingTask, task));
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return getTasksStartingBetween(tasksByStartTime, from, to);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(Task cursor, int limit) {
+        return getTasksAfter(tasksByStartTime, cursor, limit);
+    }
+
+    void completeBulkLoad() {
+        var maxId = 0;
+        var prioritizedTasks = new ArrayList<Task>(tasks.size() + subtasks.size());
+        for (var task : tasks.values()) {
+            maxId = Math.max(maxId, task.getId());
+            if (task.getStartTime() != null) {
+                prioritizedTasks.add(task);
+            }
+        }
+
+        for (var epic : epics.values()) {
+            maxId = Math.max(maxId, epic.getId());
+        }
+
+        for (var subtask : subtasks.values()) {
+            maxId = Math.max(maxId, subtask.getId());
+            var epic = epics.get(subtask.getEpicId());
+            if (epic != null) {
+                epic.addSubtask(subtask);
+            }
+
+            if (subtask.getStartTime() != null) {
+                prioritizedTasks.add(subtask);
+            }
+        }
+
+        var sortedTasks = prioritizedTasks.toArray(Task[]::new);
+        Arrays.parallelSort(sortedTasks, START_TIME_ORDER);
+        tasksByStartTime.clear();
+        tasksByStartTime.addAll(new SortedTasks(sortedTasks));
+        uniqueTaskId = maxId + 1;
+        rebuildIndexes();
+    }
+
+    private void rebuildIndexes() {
+        taskStatusIndex.clear();
+        epicStatusIndex.clear();
+        subtaskStatusIndex.clear();
+        tasks.values().forEach(taskStatusIndex::put);
+        epics.values().forEach(epicStatusIndex::put);
+        subtasks.values().forEach(subtaskStatusIndex::put);
+        tasks.values().forEach(searchIndex::put);
+        epics.values().forEach(searchIndex::put);
+        subtasks.values().forEach(searchIndex::put);
     }
 
-    private Boolean areTasksIntersected(Task left, Task right) {
-        var leftStartTime = left.getStartTime();
-        var rightStartTime = right.getStartTime();
-        var earliestTask = leftStartTime.isBefore(rightStartTime) ? left : right;
-        var latestTask = leftStartTime.isBefore(rightStartTime) ? right : left;
-        var e1 = earliestTask.getStartTime();
-        var e2 = earliestTask.getEndTime();
-        var l1 = latestTask.getStartTime();
-        var l2 = latestTask.getEndTime();
+    private void removeFromHistory(Task task) {
+        if (pendingHistoryRemovals != null) {
+            pendingHistoryRemovals.add(task);
+        } else {
+            historyManager.remove(task);
+        }
+    }
 
-        return e1.isAfter(l1) || e1.isAfter(l2) || e2.isAfter(l1) || e2.isAfter(l2);
+    private void removeFromPrioritizedTasks(Task task) {
+        removeFromPrioritizedTasks(tasksByStartTime, task);
     }
 
-    private void recalculateEpicStatus(Epic epic) {
-        var subtasks = epic.getSubtasks();
-        if (subtasks == null || subtasks.isEmpty()) {
-            epic.setStatus(TaskStatus.NEW);
-            return;
+    private boolean isTaskIntersectsWithExistingTasks(Task task) {
+        if (metrics == null) {
+            return isTaskIntersectsWithExistingTasks(tasksByStartTime, task);
         }
 
-        var allSubtasksAreNew = true;
-        var allSubtasksAreDone = true;
-        for (Subtask subtask : subtasks) {
-            switch (subtask.getStatus()) {
-                case NEW:
-                    allSubtasksAreDone = false;
-                    break;
-                case DONE:
-                    allSubtasksAreNew = false;
-                    break;
-                case IN_PROGRESS:
-                    allSubtasksAreDone = false;
-                    allSubtasksAreNew = false;
+        var startNanos = System.nanoTime();
+        try {
+            return isTaskIntersectsWithExistingTasks(tasksByStartTime, task);
+        } finally {
+            metrics.record(TaskOperation.OVERLAP_CHECK, startNanos);
+        }
+    }
+
+    static void removeFromPrioritizedTasks(NavigableSet<Task> tasksByStartTime, Task task) {
+        if (task.getStartTime() != null && !tasksByStartTime.remove(task)) {
+            tasksByStartTime.removeIf(existingTask -> existingTask.getId() == task.getId());
+        }
+    }
+
+    static boolean isTaskIntersectsWithExistingTasks(NavigableSet<Task> tasksByStartTime, Task task) {
+        var startTimeProbe = startTimeProbe(task.getStartTime(), Integer.MAX_VALUE);
+        LocalDateTime precedingStartTime = null;
+        for (var existingTask : tasksByStartTime.headSet(startTimeProbe, true).descendingSet()) {
+            var existingStartTime = existingTask.getStartTime();
+            if (existingStartTime.isBefore(task.getStartTime())) {
+                if (precedingStartTime == null) {
+                    precedingStartTime = existingStartTime;
+                } else if (existingStartTime.isBefore(precedingStartTime)) {
                     break;
+                }
+            }
+
+            if (existingTask.getId() != task.getId() && areTasksIntersected(existingTask, task)) {
+                return true;
             }
         }
 
-        if (allSubtasksAreNew) {
-            epic.setStatus(TaskStatus.NEW);
-        } else if (allSubtasksAreDone) {
-            epic.setStatus(TaskStatus.DONE);
-        } else {
-            epic.setStatus(TaskStatus.IN_PROGRESS);
+        for (var existingTask : tasksByStartTime.tailSet(startTimeProbe, false)) {
+            if (!existingTask.getStartTime().isBefore(task.getEndTime())) {
+                break;
+            }
+
+            if (existingTask.getId() != task.getId()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static List<Task> getTasksStartingBetween(NavigableSet<Task> tasksByStartTime, LocalDateTime from,
+                                              LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(tasksByStartTime.subSet(startTimeProbe(from, Integer.MIN_VALUE), true,
+                startTimeProbe(to, Integer.MIN_VALUE), false));
+    }
+
+    static List<Task> getTasksAfter(NavigableSet<Task> tasksByStartTime, Task cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit should be positive: " + limit);
+        }
+
+        if (cursor != null && cursor.getStartTime() == null) {
+            throw new IllegalArgumentException("Cursor task should have a start time: " + cursor.getId());
+        }
+
+        var tail = cursor == null ? tasksByStartTime
+                : tasksByStartTime.tailSet(startTimeProbe(cursor.getStartTime(), cursor.getId()), false);
+        var page = new ArrayList<Task>(Math.min(limit, 64));
+        for (var task : tail) {
+            if (page.size() == limit) {
+                break;
+            }
+
+            page.add(task);
+        }
+
+        return page;
+    }
+
+    private static Task startTimeProbe(LocalDateTime startTime, int id) {
+        return new Task(null, null, id, null, startTime, Duration.ZERO);
+    }
+
+    private static boolean areTasksIntersected(Task left, Task right) {
+        return left.getStartTime().isBefore(right.getEndTime()) && right.getStartTime().isBefore(left.getEndTime());
+    }
+
+    private class BatchRollback implements TaskBatch.Rollback {
+        @Override
+        public Task findTask(int id) {
+            return tasks.get(id);
+        }
+
+        @Override
+        public Epic findEpic(int id) {
+            return epics.get(id);
+        }
+
+        @Override
+        public Subtask findSubtask(int id) {
+            return subtasks.get(id);
+        }
+
+        @Override
+        public boolean applyTaskUpdate(Task task) {
+            return InMemoryTaskManager.this.applyTaskUpdate(task);
+        }
+
+        @Override
+        public boolean applySubtaskUpdate(Subtask subtask) {
+            return InMemoryTaskManager.this.applySubtaskUpdate(subtask);
+        }
+
+        @Override
+        public void restoreTask(int id, Task previousTask) {
+            var currentTask = tasks.remove(id);
+            taskStatusIndex.remove(id);
+            searchIndex.remove(id);
+            if (currentTask != null) {
+                removeFromPrioritizedTasks(currentTask);
+            }
+
+            if (previousTask != null) {
+                tasks.put(id, previousTask);
+                taskStatusIndex.put(previousTask);
+                searchIndex.put(previousTask);
+                if (previousTask.getStartTime() != null) {
+                    tasksByStartTime.add(previousTask);
+                }
+            }
+        }
+
+        @Override
+        public void restoreEpic(int id, Epic previousEpic) {
+            epics.remove(id);
+            epicStatusIndex.remove(id);
+            searchIndex.remove(id);
+            if (previousEpic != null) {
+                epics.put(id, previousEpic);
+                epicStatusIndex.put(previousEpic);
+                searchIndex.put(previousEpic);
+                for (var subtask : previousEpic.getSubtasks()) {
+                    subtasks.put(subtask.getId(), subtask);
+                    subtaskStatusIndex.put(subtask);
+                    searchIndex.put(subtask);
+                    if (subtask.getStartTime() != null) {
+                        tasksByStartTime.add(subtask);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void restoreSubtask(int id, Subtask previousSubtask) {
+            var currentSubtask = subtasks.remove(id);
+            subtaskStatusIndex.remove(id);
+            searchIndex.remove(id);
+            if (currentSubtask != null) {
+                removeFromPrioritizedTasks(currentSubtask);
+                var epic = epics.get(currentSubtask.getEpicId());
+                if (epic != null) {
+                    epic.removeSubtask(currentSubtask);
+                    epicStatusIndex.put(epic);
+                }
+            }
+
+            if (previousSubtask != null) {
+                subtasks.put(id, previousSubtask);
+                subtaskStatusIndex.put(previousSubtask);
+                searchIndex.put(previousSubtask);
+                if (previousSubtask.getStartTime() != null) {
+                    tasksByStartTime.add(previousSubtask);
+                }
+
+                var epic = epics.get(previousSubtask.getEpicId());
+                if (epic != null) {
+                    epic.addSubtask(previousSubtask);
+                    epicStatusIndex.put(epic);
+                }
+            }
+        }
+    }
+
+    // TreeSet.addAll builds the tree in linear time only from a SortedSet with the same comparator,
+    // so the presorted snapshot is wrapped in this read-only view instead of being inserted task by task.
+    private static final class SortedTasks extends AbstractSet<Task> implements SortedSet<Task> {
+        private final Task[] sortedTasks;
+        private final int from;
+        private final int to;
+
+        private SortedTasks(Task[] sortedTasks) {
+            this(sortedTasks, 0, sortedTasks.length);
+        }
+
+        private SortedTasks(Task[] sortedTasks, int from, int to) {
+            this.sortedTasks = sortedTasks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return Arrays.asList(sortedTasks).subList(from, to).iterator();
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Task task)) {
+                return false;
+            }
+
+            var index = lowerBound(task);
+            return index < to && START_TIME_ORDER.compare(sortedTasks[index], task) == 0;
+        }
+
+        @Override
+        public Comparator<? super Task> comparator() {
+            return START_TIME_ORDER;
+        }
+
+        @Override
+        public Task first() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+
+            return sortedTasks[from];
+        }
+
+        @Override
+        public Task last() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+
+            return sortedTasks[to - 1];
+        }
+
+        @Override
+        public SortedSet<Task> subSet(Task fromElement, Task toElement) {
+            if (START_TIME_ORDER.compare(fromElement, toElement) > 0) {
+                throw new IllegalArgumentException("Range start is after range end");
+            }
+
+            return new SortedTasks(sortedTasks, lowerBound(fromElement), lowerBound(toElement));
+        }
+
+        @Override
+        public SortedSet<Task> headSet(Task toElement) {
+            return new SortedTasks(sortedTasks, from, lowerBound(toElement));
+        }
+
+        @Override
+        public SortedSet<Task> tailSet(Task fromElement) {
+            return new SortedTasks(sortedTasks, lowerBound(fromElement), to);
+        }
+
+        private int lowerBound(Task task) {
+            var low = from;
+            var high = to;
+            while (low < high) {
+                var middle = (low + high) >>> 1;
+                if (START_TIME_ORDER.compare(sortedTasks[middle], task) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
         }
     }
 }
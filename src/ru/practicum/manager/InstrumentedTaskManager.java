@@ -0,0 +1,336 @@
+package ru.practicum.manager;
+
+import ru.practicum.metrics.TaskMetrics;
+import ru.practicum.metrics.TaskOperation;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public class InstrumentedTaskManager implements TaskManager {
+    private final TaskManager delegate;
+    private final TaskMetrics metrics;
+
+    public InstrumentedTaskManager(TaskManager delegate, TaskMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        metrics.registerGauge("tasks", () -> delegate.getTasksView().size());
+        metrics.registerGauge("epics", () -> delegate.getEpicsView().size());
+        metrics.registerGauge("subtasks", () -> delegate.getSubtasksView().size());
+        if (delegate instanceof InMemoryTaskManager manager) {
+            manager.setMetrics(metrics);
+        }
+    }
+
+    public TaskManager getDelegate() {
+        return delegate;
+    }
+
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getAllTasks();
+        } finally {
+            metrics.record(TaskOperation.GET_ALL_TASKS, startNanos);
+        }
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getAllEpics();
+        } finally {
+            metrics.record(TaskOperation.GET_ALL_EPICS, startNanos);
+        }
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getAllSubtasks();
+        } finally {
+            metrics.record(TaskOperation.GET_ALL_SUBTASKS, startNanos);
+        }
+    }
+
+    @Override
+    public Collection<Task> getTasksView() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getTasksView();
+        } finally {
+            metrics.record(TaskOperation.GET_TASKS_VIEW, startNanos);
+        }
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getEpicsView();
+        } finally {
+            metrics.record(TaskOperation.GET_EPICS_VIEW, startNanos);
+        }
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getSubtasksView();
+        } finally {
+            metrics.record(TaskOperation.GET_SUBTASKS_VIEW, startNanos);
+        }
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.deleteAllTasks();
+        } finally {
+            metrics.record(TaskOperation.DELETE_ALL_TASKS, startNanos);
+        }
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.deleteAllEpics();
+        } finally {
+            metrics.record(TaskOperation.DELETE_ALL_EPICS, startNanos);
+        }
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.deleteAllSubtasks();
+        } finally {
+            metrics.record(TaskOperation.DELETE_ALL_SUBTASKS, startNanos);
+        }
+    }
+
+    @Override
+    public Task getTask(int id) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getTask(id);
+        } finally {
+            metrics.record(TaskOperation.GET_TASK, startNanos);
+        }
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getEpic(id);
+        } finally {
+            metrics.record(TaskOperation.GET_EPIC, startNanos);
+        }
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getSubtask(id);
+        } finally {
+            metrics.record(TaskOperation.GET_SUBTASK, startNanos);
+        }
+    }
+
+    @Override
+    public boolean containsTask(TaskType taskType, int id) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.containsTask(taskType, id);
+        } finally {
+            metrics.record(TaskOperation.CONTAINS_TASK, startNanos);
+        }
+    }
+
+    @Override
+    public int createTask(Task task) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.createTask(task);
+        } finally {
+            metrics.record(TaskOperation.CREATE_TASK, startNanos);
+        }
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.createEpic(epic);
+        } finally {
+            metrics.record(TaskOperation.CREATE_EPIC, startNanos);
+        }
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.createSubtask(subtask);
+        } finally {
+            metrics.record(TaskOperation.CREATE_SUBTASK, startNanos);
+        }
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.updateTask(task);
+        } finally {
+            metrics.record(TaskOperation.UPDATE_TASK, startNanos);
+        }
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.updateEpic(epic);
+        } finally {
+            metrics.record(TaskOperation.UPDATE_EPIC, startNanos);
+        }
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.updateSubtask(subtask);
+        } finally {
+            metrics.record(TaskOperation.UPDATE_SUBTASK, startNanos);
+        }
+    }
+
+    @Override
+    public void deleteTask(int identifier) {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.deleteTask(identifier);
+        } finally {
+            metrics.record(TaskOperation.DELETE_TASK, startNanos);
+        }
+    }
+
+    @Override
+    public void deleteEpic(int identifier) {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.deleteEpic(identifier);
+        } finally {
+            metrics.record(TaskOperation.DELETE_EPIC, startNanos);
+        }
+    }
+
+    @Override
+    public void deleteSubtask(int identifier) {
+        var startNanos = System.nanoTime();
+        try {
+            delegate.deleteSubtask(identifier);
+        } finally {
+            metrics.record(TaskOperation.DELETE_SUBTASK, startNanos);
+        }
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByEpic(int epicId) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getSubtasksByEpic(epicId);
+        } finally {
+            metrics.record(TaskOperation.GET_SUBTASKS_BY_EPIC, startNanos);
+        }
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksByEpicView(int epicId) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getSubtasksByEpicView(epicId);
+        } finally {
+            metrics.record(TaskOperation.GET_SUBTASKS_BY_EPIC_VIEW, startNanos);
+        }
+    }
+
+    @Override
+    public boolean applyBatch(TaskBatch batch) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.applyBatch(batch);
+        } finally {
+            metrics.record(TaskOperation.APPLY_BATCH, startNanos);
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getHistory();
+        } finally {
+            metrics.record(TaskOperation.GET_HISTORY, startNanos);
+        }
+    }
+
+    @Override
+    public List<Task> getHistoryView() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getHistoryView();
+        } finally {
+            metrics.record(TaskOperation.GET_HISTORY_VIEW, startNanos);
+        }
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getPrioritizedTasks();
+        } finally {
+            metrics.record(TaskOperation.GET_PRIORITIZED_TASKS, startNanos);
+        }
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getPrioritizedTasks(from, to);
+        } finally {
+            metrics.record(TaskOperation.GET_PRIORITIZED_TASKS_BETWEEN, startNanos);
+        }
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(Task cursor, int limit) {
+        var startNanos = System.nanoTime();
+        try {
+            return delegate.getPrioritizedTasksAfter(cursor, limit);
+        } finally {
+            metrics.record(TaskOperation.GET_PRIORITIZED_TASKS_AFTER, startNanos);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package ru.practicum.manager;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public class IntObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MINIMUM_CAPACITY = 2;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.75f;
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int threshold;
+    private int modCount;
+
+    public IntObjectHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public IntObjectHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return values[indexOf(key)] != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        return (V) values[indexOf(key)];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        var index = indexOf(key);
+        var previousValue = (V) values[index];
+        values[index] = value;
+        if (previousValue == null) {
+            keys[index] = key;
+            modCount++;
+            if (++size > threshold) {
+                if (keys.length == MAXIMUM_CAPACITY) {
+                    throw new IllegalStateException();
+                }
+
+                resize(keys.length << 1);
+            }
+        }
+
+        return previousValue;
+    }
+
+    public void putAll(IntObjectHashMap<? extends V> other) {
+        for (int i = 0; i < other.values.length; i++) {
+            if (other.values[i] != null) {
+                @SuppressWarnings("unchecked")
+                var value = (V) other.values[i];
+                put(other.keys[i], value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        var index = indexOf(key);
+        var previousValue = (V) values[index];
+        if (previousValue == null) {
+            return null;
+        }
+
+        shiftBackFrom(index);
+        size--;
+        modCount++;
+        return previousValue;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+
+        Arrays.fill(values, null);
+        size = 0;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        var expectedModCount = modCount;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+
+        if (expectedModCount != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValuesIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(int key) {
+        var mask = keys.length - 1;
+        var index = hash(key) & mask;
+        while (values[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private void shiftBackFrom(int emptyIndex) {
+        var mask = keys.length - 1;
+        var index = emptyIndex;
+        while (true) {
+            index = (index + 1) & mask;
+            if (values[index] == null) {
+                break;
+            }
+
+            var homeIndex = hash(keys[index]) & mask;
+            if (((index - homeIndex) & mask) >= ((index - emptyIndex) & mask)) {
+                keys[emptyIndex] = keys[index];
+                values[emptyIndex] = values[index];
+                emptyIndex = index;
+            }
+        }
+
+        values[emptyIndex] = null;
+    }
+
+    private void resize(int capacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                var index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        var capacity = MINIMUM_CAPACITY;
+        while (capacity < MAXIMUM_CAPACITY && capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static int hash(int key) {
+        return key ^ (key >>> 16);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private class ValuesIterator implements Iterator<V> {
+        private final int expectedModCount = modCount;
+        private int index = nextIndex(0);
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            var value = (V) values[index];
+            index = nextIndex(index + 1);
+            return value;
+        }
+
+        private int nextIndex(int from) {
+            while (from < values.length && values[from] == null) {
+                from++;
+            }
+
+            return from;
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package ru.practicum.manager;
 
+import java.io.File;
+
 public class Managers {
     public static TaskManager getDefault() {
         return new InMemoryTaskManager();
     }
 
+    public static TaskManagerRegistry getDefaultRegistry(File directory) {
+        return TaskManagerRegistry.open(directory);
+    }
+
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
+
+    public static HistoryManager getDefaultHistory(int capacity) {
+        return new InMemoryHistoryManager(capacity);
+    }
 }
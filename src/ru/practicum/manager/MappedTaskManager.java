@@ -0,0 +1,148 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.TaskType;
+
+import java.io.File;
+
+public final class MappedTaskManager extends SlotTaskManager implements AutoCloseable {
+    private final MappedTaskStore mappedStore;
+    private final CachedTaskSlots cachedStore;
+
+    public MappedTaskManager(File file) {
+        this(file, Managers.getDefaultHistory());
+    }
+
+    public MappedTaskManager(File file, HistoryManager historyManager) {
+        this(file, historyManager, MappedTaskStore.DEFAULT_SEGMENT_SHIFT);
+    }
+
+    MappedTaskManager(File file, HistoryManager historyManager, int segmentShift) {
+        this(file, historyManager, segmentShift, 0);
+    }
+
+    MappedTaskManager(File file, HistoryManager historyManager, int segmentShift, int cacheCapacity) {
+        this(new MappedTaskStore(file, segmentShift), cacheCapacity, historyManager);
+    }
+
+    private MappedTaskManager(MappedTaskStore mappedStore, int cacheCapacity, HistoryManager historyManager) {
+        this(mappedStore, cacheCapacity == 0 ? null : new CachedTaskSlots(mappedStore, cacheCapacity),
+                historyManager);
+    }
+
+    private MappedTaskManager(MappedTaskStore mappedStore, CachedTaskSlots cachedStore,
+                              HistoryManager historyManager) {
+        super(cachedStore == null ? mappedStore : cachedStore, historyManager);
+        this.mappedStore = mappedStore;
+        this.cachedStore = cachedStore;
+        var order = mappedStore.readOrder();
+        if (order != null) {
+            tasksByStartTime.reset(order);
+        } else {
+            recover();
+        }
+    }
+
+    public static MappedTaskManager withCache(File file, HistoryManager historyManager, int cacheCapacity) {
+        if (cacheCapacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity should be positive: " + cacheCapacity);
+        }
+
+        return new MappedTaskManager(file, historyManager, MappedTaskStore.DEFAULT_SEGMENT_SHIFT, cacheCapacity);
+    }
+
+    public TaskCacheStats getCacheStats() {
+        return cachedStore == null ? new TaskCacheStats(0, 0, 0, 0, 0) : cachedStore.getStats();
+    }
+
+    @Override
+    public void close() {
+        mappedStore.close(tasksByStartTime.toArray());
+    }
+
+    private void recover() {
+        var counts = new int[TaskType.values().length];
+        var prioritizedCount = 0;
+        for (int id = 1; id < store.getNextId(); id++) {
+            var type = store.getType(id);
+            if (type == TaskType.EPIC) {
+                store.setFirstSubtask(id, 0);
+                store.setLastSubtask(id, 0);
+                store.setSubtasksCount(id, 0);
+            }
+        }
+
+        for (int id = 1; id < store.getNextId(); id++) {
+            var type = store.getType(id);
+            if (type == null) {
+                continue;
+            }
+
+            if (type == TaskType.SUBTASK) {
+                if (store.getType(store.getEpicId(id)) != TaskType.EPIC) {
+                    store.free(id);
+                    continue;
+                }
+
+                store.setNext(id, 0);
+                store.setPrevious(id, 0);
+                linkSubtask(id);
+            }
+
+            counts[type.ordinal()]++;
+            if (store.hasStartTime(id)) {
+                prioritizedCount++;
+            }
+        }
+
+        for (var type : TaskType.values()) {
+            store.setCount(type, counts[type.ordinal()]);
+        }
+
+        var ids = new int[prioritizedCount];
+        var position = 0;
+        for (int id = 1; id < store.getNextId() && position < prioritizedCount; id++) {
+            if (store.getType(id) != null && store.hasStartTime(id)) {
+                ids[position++] = id;
+            }
+        }
+
+        tasksByStartTime.reset(sortByStartTime(ids));
+    }
+
+
+    private int[] sortByStartTime(int[] ids) {
+        var buffer = new int[ids.length];
+        for (int width = 1; width < ids.length; width <<= 1) {
+            for (int from = 0; from < ids.length; from += width << 1) {
+                var middle = Math.min(from + width, ids.length);
+                var to = Math.min(from + (width << 1), ids.length);
+                if (middle == to || compareStartTimes(ids[middle - 1], ids[middle]) <= 0) {
+                    System.arraycopy(ids, from, buffer, from, to - from);
+                    continue;
+                }
+
+                var left = from;
+                var right = middle;
+                for (int i = from; i < to; i++) {
+                    if (left < middle && (right >= to || compareStartTimes(ids[left], ids[right]) <= 0)) {
+                        buffer[i] = ids[left++];
+                    } else {
+                        buffer[i] = ids[right++];
+                    }
+                }
+            }
+
+            var swap = ids;
+            ids = buffer;
+            buffer = swap;
+        }
+
+        return ids;
+    }
+
+
+    private int compareStartTimes(int leftId, int rightId) {
+        var comparison = Long.compare(store.getStartSecond(leftId), store.getStartSecond(rightId));
+        return comparison != 0 ? comparison : Integer.compare(store.getStartNano(leftId), store.getStartNano(rightId));
+    }
+}
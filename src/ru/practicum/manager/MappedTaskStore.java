@@ -0,0 +1,580 @@
+package ru.practicum.manager;
+
+import ru.practicum.exception.ManagerLoadException;
+import ru.practicum.exception.ManagerSaveException;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+class MappedTaskStore implements TaskSlots {
+    static final int DEFAULT_SEGMENT_SHIFT = 26;
+    static final int MIN_SEGMENT_SHIFT = 12;
+    static final int MAX_SEGMENT_SHIFT = 30;
+    static final String STRINGS_SUFFIX = ".strings";
+    static final String ORDER_SUFFIX = ".order";
+    private static final int MAGIC = 0x4B414E4D;
+    private static final int VERSION = 1;
+    private static final int SLOT_SIZE = 64;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SEGMENT_SHIFT_OFFSET = 8;
+    private static final int NEXT_ID_OFFSET = 12;
+    private static final int COUNTS_OFFSET = 16;
+    private static final int STRINGS_END_OFFSET = 32;
+    private static final int CLEAN_OFFSET = 40;
+    private static final int ORDERED_COUNT_OFFSET = 44;
+
+    private static final int TYPE_OFFSET = 0;
+    private static final int STATUS_OFFSET = 1;
+    private static final int FLAGS_OFFSET = 2;
+    private static final int EPIC_ID_OFFSET = 4;
+    private static final int START_SECOND_OFFSET = 8;
+    private static final int START_NANO_OFFSET = 16;
+    private static final int DURATION_NANO_OFFSET = 20;
+    private static final int DURATION_SECOND_OFFSET = 24;
+    private static final int NEXT_OFFSET = 32;
+    private static final int PREVIOUS_OFFSET = 36;
+    private static final int NAME_OFFSET = 40;
+    private static final int DESCRIPTION_OFFSET = 48;
+    private static final int[] TEXT_OFFSETS = {NAME_OFFSET, DESCRIPTION_OFFSET};
+
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+    private static final byte HAS_START_TIME = 1;
+    private static final byte HAS_DURATION = 2;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+    private static final Comparator<FreeExtent> BY_LENGTH = Comparator.comparingLong(FreeExtent::length)
+            .thenComparingLong(FreeExtent::offset);
+
+    private final File file;
+    private final MappedRegion slots;
+    private final MappedRegion strings;
+    private final boolean isClosedCleanly;
+    private TreeMap<Long, Long> freeExtents;
+    private TreeSet<FreeExtent> freeExtentsByLength;
+
+    MappedTaskStore(File file, int segmentShift) {
+        if (segmentShift < MIN_SEGMENT_SHIFT || segmentShift > MAX_SEGMENT_SHIFT) {
+            throw new IllegalArgumentException("Segment shift should be between " + MIN_SEGMENT_SHIFT + " and "
+                    + MAX_SEGMENT_SHIFT + ": " + segmentShift);
+        }
+
+        this.file = file;
+        try {
+            var slotsChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            if (slotsChannel.size() != 0) {
+                segmentShift = readSegmentShift(slotsChannel);
+                if (segmentShift == -1) {
+                    slotsChannel.close();
+                    throw new ManagerLoadException();
+                }
+            }
+
+            this.slots = new MappedRegion(slotsChannel, segmentShift);
+            this.strings = new MappedRegion(FileChannel.open(new File(file.getPath() + STRINGS_SUFFIX).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), segmentShift);
+        } catch (IOException e) {
+            throw new ManagerLoadException();
+        }
+
+        if (slots.getInt(MAGIC_OFFSET) == 0) {
+            slots.putInt(MAGIC_OFFSET, MAGIC);
+            slots.putInt(VERSION_OFFSET, VERSION);
+            slots.putInt(SEGMENT_SHIFT_OFFSET, segmentShift);
+            slots.putInt(NEXT_ID_OFFSET, 1);
+            slots.putInt(CLEAN_OFFSET, 1);
+        } else if (slots.getInt(MAGIC_OFFSET) != MAGIC || slots.getInt(VERSION_OFFSET) != VERSION) {
+            throw new ManagerLoadException();
+        }
+
+        this.isClosedCleanly = slots.getInt(CLEAN_OFFSET) == 1;
+        slots.putInt(CLEAN_OFFSET, 0);
+    }
+
+    @Override
+    public int getNextId() {
+        return slots.getInt(NEXT_ID_OFFSET);
+    }
+
+    @Override
+    public int allocateId() {
+        var id = getNextId();
+        slots.putInt(NEXT_ID_OFFSET, id + 1);
+        return id;
+    }
+
+    @Override
+    public int getCount(TaskType taskType) {
+        return slots.getInt(COUNTS_OFFSET + taskType.ordinal() * Integer.BYTES);
+    }
+
+    @Override
+    public void setCount(TaskType taskType, int count) {
+        slots.putInt(COUNTS_OFFSET + taskType.ordinal() * Integer.BYTES, count);
+    }
+
+    @Override
+    public TaskType getType(int id) {
+        if (id <= 0 || id >= getNextId()) {
+            return null;
+        }
+
+        var code = slots.getByte(slotOffset(id) + TYPE_OFFSET);
+        return code == 0 ? null : TASK_TYPES[code - 1];
+    }
+
+    @Override
+    public Task read(int id) {
+        var offset = slotOffset(id);
+        var type = TASK_TYPES[slots.getByte(offset + TYPE_OFFSET) - 1];
+        var name = readString(slots.getLong(offset + NAME_OFFSET));
+        var description = readString(slots.getLong(offset + DESCRIPTION_OFFSET));
+        var statusCode = slots.getByte(offset + STATUS_OFFSET);
+        var status = statusCode == 0 ? null : TASK_STATUSES[statusCode - 1];
+        if (type == TaskType.EPIC) {
+            return new Epic(name, description, id, status, null, null);
+        }
+
+        var flags = slots.getByte(offset + FLAGS_OFFSET);
+        var startTime = (flags & HAS_START_TIME) == 0 ? null : getStartTime(id);
+        var duration = (flags & HAS_DURATION) == 0 ? null
+                : Duration.ofSeconds(slots.getLong(offset + DURATION_SECOND_OFFSET),
+                slots.getInt(offset + DURATION_NANO_OFFSET));
+        if (type == TaskType.SUBTASK) {
+            return new Subtask(name, description, id, status, slots.getInt(offset + EPIC_ID_OFFSET), startTime,
+                    duration);
+        }
+
+        return new Task(name, description, id, status, startTime, duration);
+    }
+
+    @Override
+    public void write(Task task) {
+        var offset = slotOffset(task.getId());
+        var type = task.getTaskType();
+        slots.putByte(offset + TYPE_OFFSET, (byte) (type.ordinal() + 1));
+        slots.putByte(offset + STATUS_OFFSET, (byte) (task.getStatus() == null ? 0 : task.getStatus().ordinal() + 1));
+        writeText(task.getId(), task.getName(), task.getDescription());
+        if (type == TaskType.EPIC) {
+            return;
+        }
+
+        byte flags = 0;
+        var startTime = task.getStartTime();
+        if (startTime != null) {
+            flags |= HAS_START_TIME;
+            slots.putLong(offset + START_SECOND_OFFSET, startTime.toEpochSecond(ZoneOffset.UTC));
+            slots.putInt(offset + START_NANO_OFFSET, startTime.getNano());
+        }
+
+        var duration = task.getDuration();
+        if (duration != null) {
+            flags |= HAS_DURATION;
+            slots.putLong(offset + DURATION_SECOND_OFFSET, duration.getSeconds());
+            slots.putInt(offset + DURATION_NANO_OFFSET, duration.getNano());
+        }
+
+        slots.putByte(offset + FLAGS_OFFSET, flags);
+        if (task instanceof Subtask subtask) {
+            slots.putInt(offset + EPIC_ID_OFFSET, subtask.getEpicId());
+        }
+    }
+
+    @Override
+    public void writeText(int id, String name, String description) {
+        var offset = slotOffset(id);
+        slots.putLong(offset + NAME_OFFSET, writeString(slots.getLong(offset + NAME_OFFSET), name));
+        slots.putLong(offset + DESCRIPTION_OFFSET,
+                writeString(slots.getLong(offset + DESCRIPTION_OFFSET), description));
+    }
+
+    @Override
+    public void free(int id) {
+        var offset = slotOffset(id);
+        releaseString(slots.getLong(offset + NAME_OFFSET));
+        releaseString(slots.getLong(offset + DESCRIPTION_OFFSET));
+        for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+            slots.putLong(offset + i, 0);
+        }
+    }
+
+    @Override
+    public int getEpicId(int subtaskId) {
+        return slots.getInt(slotOffset(subtaskId) + EPIC_ID_OFFSET);
+    }
+
+    @Override
+    public int getSubtasksCount(int epicId) {
+        return slots.getInt(slotOffset(epicId) + EPIC_ID_OFFSET);
+    }
+
+    @Override
+    public void setSubtasksCount(int epicId, int count) {
+        slots.putInt(slotOffset(epicId) + EPIC_ID_OFFSET, count);
+    }
+
+    @Override
+    public int getNext(int id) {
+        return slots.getInt(slotOffset(id) + NEXT_OFFSET);
+    }
+
+    @Override
+    public int getPrevious(int id) {
+        return slots.getInt(slotOffset(id) + PREVIOUS_OFFSET);
+    }
+
+    @Override
+    public void setNext(int id, int nextId) {
+        slots.putInt(slotOffset(id) + NEXT_OFFSET, nextId);
+    }
+
+    @Override
+    public void setPrevious(int id, int previousId) {
+        slots.putInt(slotOffset(id) + PREVIOUS_OFFSET, previousId);
+    }
+
+    @Override
+    public boolean hasStartTime(int id) {
+        var offset = slotOffset(id);
+        return slots.getByte(offset + TYPE_OFFSET) != TaskType.EPIC.ordinal() + 1
+                && (slots.getByte(offset + FLAGS_OFFSET) & HAS_START_TIME) != 0;
+    }
+
+    @Override
+    public long getStartSecond(int id) {
+        return slots.getLong(slotOffset(id) + START_SECOND_OFFSET);
+    }
+
+    @Override
+    public int getStartNano(int id) {
+        return slots.getInt(slotOffset(id) + START_NANO_OFFSET);
+    }
+
+    private LocalDateTime getStartTime(int id) {
+        return LocalDateTime.ofEpochSecond(getStartSecond(id), getStartNano(id), ZoneOffset.UTC);
+    }
+
+    @Override
+    public long getEndSecond(int id) {
+        var offset = slotOffset(id);
+        return getStartSecond(id) + slots.getLong(offset + DURATION_SECOND_OFFSET)
+                + (getStartNano(id) + slots.getInt(offset + DURATION_NANO_OFFSET)) / NANOS_PER_SECOND;
+    }
+
+    @Override
+    public int getEndNano(int id) {
+        return (getStartNano(id) + slots.getInt(slotOffset(id) + DURATION_NANO_OFFSET)) % NANOS_PER_SECOND;
+    }
+
+    int[] readOrder() {
+        var orderFile = new File(file.getPath() + ORDER_SUFFIX);
+        if (!isClosedCleanly || !orderFile.exists()) {
+            return null;
+        }
+
+        try (var channel = FileChannel.open(orderFile.toPath(), StandardOpenOption.READ)) {
+            var ids = SnapshotFile.mapPayload(channel).asIntBuffer();
+            if (ids.remaining() != slots.getInt(ORDERED_COUNT_OFFSET)) {
+                return null;
+            }
+
+            var order = new int[ids.remaining()];
+            ids.get(order);
+            return order;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    void close(int[] order) {
+        try {
+            SnapshotFile.write(new File(file.getPath() + ORDER_SUFFIX), out -> {
+                var dataOut = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+                for (var id : order) {
+                    dataOut.writeInt(id);
+                }
+
+                dataOut.flush();
+            }, true);
+            slots.putInt(ORDERED_COUNT_OFFSET, order.length);
+            strings.force();
+            slots.force();
+            slots.putInt(CLEAN_OFFSET, 1);
+            slots.force();
+            strings.close();
+            slots.close();
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    private String readString(long reference) {
+        if (reference == 0) {
+            return null;
+        }
+
+        var offset = reference - 1;
+        var bytes = new byte[strings.getInt(offset)];
+        strings.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long writeString(long previousReference, String value) {
+        if (value == null) {
+            releaseString(previousReference);
+            return 0;
+        }
+
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        var length = Integer.BYTES + bytes.length;
+        if (length > strings.getSegmentSize()) {
+            throw new IllegalArgumentException("Text does not fit into a mapped segment: " + bytes.length);
+        }
+
+        if (previousReference != 0) {
+            var previousOffset = previousReference - 1;
+            var previousLength = strings.getInt(previousOffset);
+            if (previousLength >= bytes.length) {
+                strings.put(previousOffset + Integer.BYTES, bytes);
+                strings.putInt(previousOffset, bytes.length);
+                if (previousLength > bytes.length) {
+                    releaseExtent(previousOffset + length, previousLength - bytes.length);
+                }
+
+                return previousReference;
+            }
+        }
+
+        var offset = allocateString(length);
+        strings.put(offset + Integer.BYTES, bytes);
+        strings.putInt(offset, bytes.length);
+        releaseString(previousReference);
+        return offset + 1;
+    }
+
+    private long allocateString(int length) {
+        loadFreeExtents();
+        var extent = freeExtentsByLength.ceiling(new FreeExtent(length, -1));
+        if (extent != null) {
+            removeFreeExtent(extent.offset(), extent.length());
+            if (extent.length() > length) {
+                addFreeExtent(extent.offset() + length, extent.length() - length);
+            }
+
+            return extent.offset();
+        }
+
+        var offset = slots.getLong(STRINGS_END_OFFSET);
+        var segmentEnd = (offset | (strings.getSegmentSize() - 1)) + 1;
+        if (offset + length > segmentEnd) {
+            releaseExtent(offset, segmentEnd - offset);
+            offset = segmentEnd;
+        }
+
+        slots.putLong(STRINGS_END_OFFSET, offset + length);
+        return offset;
+    }
+
+    private void releaseString(long reference) {
+        if (reference != 0) {
+            releaseExtent(reference - 1, Integer.BYTES + strings.getInt(reference - 1));
+        }
+    }
+
+    private void releaseExtent(long offset, long length) {
+        if (freeExtents == null || length == 0) {
+            return;
+        }
+
+        var previous = freeExtents.floorEntry(offset - 1);
+        if (previous != null && previous.getKey() + previous.getValue() == offset && !isSegmentStart(offset)) {
+            removeFreeExtent(previous.getKey(), previous.getValue());
+            length += offset - previous.getKey();
+            offset = previous.getKey();
+        }
+
+        var next = freeExtents.get(offset + length);
+        if (next != null && !isSegmentStart(offset + length)) {
+            removeFreeExtent(offset + length, next);
+            length += next;
+        }
+
+        addFreeExtent(offset, length);
+    }
+
+    private void loadFreeExtents() {
+        if (freeExtents != null) {
+            return;
+        }
+
+        freeExtents = new TreeMap<>();
+        freeExtentsByLength = new TreeSet<>(BY_LENGTH);
+        var offsets = new long[2 * getNextId()];
+        var count = 0;
+        for (int id = 1; id < getNextId(); id++) {
+            var slotOffset = slotOffset(id);
+            if (slots.getByte(slotOffset + TYPE_OFFSET) != 0) {
+                for (var referenceOffset : TEXT_OFFSETS) {
+                    var reference = slots.getLong(slotOffset + referenceOffset);
+                    if (reference != 0) {
+                        offsets[count++] = reference - 1;
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(offsets, 0, count);
+        var position = 0L;
+        for (int i = 0; i < count; i++) {
+            if (offsets[i] > position) {
+                addFreeExtents(position, offsets[i]);
+            }
+
+            position = offsets[i] + Integer.BYTES + strings.getInt(offsets[i]);
+        }
+
+        addFreeExtents(position, slots.getLong(STRINGS_END_OFFSET));
+    }
+
+    private void addFreeExtents(long start, long end) {
+        while (start < end) {
+            var segmentEnd = Math.min(end, (start | (strings.getSegmentSize() - 1)) + 1);
+            addFreeExtent(start, segmentEnd - start);
+            start = segmentEnd;
+        }
+    }
+
+    private void addFreeExtent(long offset, long length) {
+        freeExtents.put(offset, length);
+        freeExtentsByLength.add(new FreeExtent(length, offset));
+    }
+
+    private void removeFreeExtent(long offset, long length) {
+        freeExtents.remove(offset);
+        freeExtentsByLength.remove(new FreeExtent(length, offset));
+    }
+
+    private boolean isSegmentStart(long offset) {
+        return (offset & (strings.getSegmentSize() - 1)) == 0;
+    }
+
+    private static long slotOffset(int id) {
+        return (long) id * SLOT_SIZE;
+    }
+
+    private static int readSegmentShift(FileChannel channel) throws IOException {
+        if (channel.size() < SLOT_SIZE) {
+            return -1;
+        }
+
+        var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SLOT_SIZE);
+        var segmentShift = header.getInt(SEGMENT_SHIFT_OFFSET);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || segmentShift < MIN_SEGMENT_SHIFT
+                || segmentShift > MAX_SEGMENT_SHIFT) {
+            return -1;
+        }
+
+        return segmentShift;
+    }
+
+    private record FreeExtent(long length, long offset) {
+    }
+
+    private static class MappedRegion {
+        private final FileChannel channel;
+        private final int segmentShift;
+        private final int segmentMask;
+        private final ArrayList<MappedByteBuffer> segments;
+
+        private MappedRegion(FileChannel channel, int segmentShift) {
+            this.channel = channel;
+            this.segmentShift = segmentShift;
+            this.segmentMask = (1 << segmentShift) - 1;
+            this.segments = new ArrayList<>();
+        }
+
+        private int getSegmentSize() {
+            return 1 << segmentShift;
+        }
+
+        private byte getByte(long offset) {
+            return segment(offset).get((int) (offset & segmentMask));
+        }
+
+        private int getInt(long offset) {
+            return segment(offset).getInt((int) (offset & segmentMask));
+        }
+
+        private long getLong(long offset) {
+            return segment(offset).getLong((int) (offset & segmentMask));
+        }
+
+        private void get(long offset, byte[] bytes) {
+            segment(offset).get((int) (offset & segmentMask), bytes);
+        }
+
+        private void putByte(long offset, byte value) {
+            segment(offset).put((int) (offset & segmentMask), value);
+        }
+
+        private void putInt(long offset, int value) {
+            segment(offset).putInt((int) (offset & segmentMask), value);
+        }
+
+        private void putLong(long offset, long value) {
+            segment(offset).putLong((int) (offset & segmentMask), value);
+        }
+
+        private void put(long offset, byte[] bytes) {
+            segment(offset).put((int) (offset & segmentMask), bytes);
+        }
+
+        private MappedByteBuffer segment(long offset) {
+            var index = (int) (offset >>> segmentShift);
+            if (index < segments.size()) {
+                return segments.get(index);
+            }
+
+            try {
+                while (segments.size() <= index) {
+                    segments.add(channel.map(FileChannel.MapMode.READ_WRITE,
+                            (long) segments.size() << segmentShift, getSegmentSize()));
+                }
+            } catch (IOException e) {
+                throw new ManagerSaveException();
+            }
+
+            return segments.get(index);
+        }
+
+        private void force() {
+            segments.forEach(MappedByteBuffer::force);
+        }
+
+        private void close() throws IOException {
+            segments.clear();
+            channel.close();
+        }
+    }
+}
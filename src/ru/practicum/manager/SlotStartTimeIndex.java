@@ -0,0 +1,196 @@
+package ru.practicum.manager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+
+class SlotStartTimeIndex {
+    private static final int BLOCK_CAPACITY = 1024;
+    private static final int BULK_BLOCK_SIZE = BLOCK_CAPACITY * 3 / 4;
+
+    private final TaskSlots slots;
+    private final ArrayList<Block> blocks;
+    private int size;
+
+    SlotStartTimeIndex(TaskSlots slots) {
+        this.slots = slots;
+        this.blocks = new ArrayList<>();
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int id) {
+        var cursor = seek(slots.getStartSecond(id), slots.getStartNano(id), id, true);
+        if (blocks.isEmpty()) {
+            blocks.add(new Block());
+        }
+
+        var block = blocks.get(cursor.blockIndex);
+        var offset = cursor.offset;
+        if (block.size == BLOCK_CAPACITY) {
+            var splitBlock = new Block();
+            splitBlock.size = BLOCK_CAPACITY / 2;
+            System.arraycopy(block.ids, BLOCK_CAPACITY / 2, splitBlock.ids, 0, splitBlock.size);
+            block.size = BLOCK_CAPACITY / 2;
+            blocks.add(cursor.blockIndex + 1, splitBlock);
+            if (offset > block.size) {
+                block = splitBlock;
+                offset -= BLOCK_CAPACITY / 2;
+            }
+        }
+
+        System.arraycopy(block.ids, offset, block.ids, offset + 1, block.size - offset);
+        block.ids[offset] = id;
+        block.size++;
+        size++;
+    }
+
+    void remove(int id) {
+        var cursor = seek(slots.getStartSecond(id), slots.getStartNano(id), id, true);
+        if (!cursor.hasNext()) {
+            return;
+        }
+
+        var block = blocks.get(cursor.blockIndex);
+        if (block.ids[cursor.offset] != id) {
+            return;
+        }
+
+        System.arraycopy(block.ids, cursor.offset + 1, block.ids, cursor.offset, block.size - cursor.offset - 1);
+        block.size--;
+        size--;
+        if (block.size == 0) {
+            blocks.remove(cursor.blockIndex);
+        }
+    }
+
+    void clear() {
+        blocks.clear();
+        size = 0;
+    }
+
+    void reset(int[] sortedIds) {
+        clear();
+        for (int from = 0; from < sortedIds.length; from += BULK_BLOCK_SIZE) {
+            var block = new Block();
+            block.size = Math.min(BULK_BLOCK_SIZE, sortedIds.length - from);
+            System.arraycopy(sortedIds, from, block.ids, 0, block.size);
+            blocks.add(block);
+        }
+
+        size = sortedIds.length;
+    }
+
+    int[] toArray() {
+        var ids = new int[size];
+        var position = 0;
+        for (var block : blocks) {
+            System.arraycopy(block.ids, 0, ids, position, block.size);
+            position += block.size;
+        }
+
+        return ids;
+    }
+
+    Cursor first() {
+        return new Cursor(0, 0);
+    }
+
+    Cursor seek(LocalDateTime startTime, int id, boolean isInclusive) {
+        return seek(startTime.toEpochSecond(ZoneOffset.UTC), startTime.getNano(), id, isInclusive);
+    }
+
+    Cursor seek(long startSecond, int startNano, int id, boolean isInclusive) {
+        var low = 0;
+        var high = blocks.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            var block = blocks.get(middle);
+            if (isAtOrAfter(block.ids[block.size - 1], startSecond, startNano, id, isInclusive)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        if (low == blocks.size()) {
+            return low == 0 ? new Cursor(0, 0) : new Cursor(low - 1, blocks.get(low - 1).size);
+        }
+
+        var block = blocks.get(low);
+        var blockLow = 0;
+        var blockHigh = block.size - 1;
+        while (blockLow < blockHigh) {
+            var middle = (blockLow + blockHigh) >>> 1;
+            if (isAtOrAfter(block.ids[middle], startSecond, startNano, id, isInclusive)) {
+                blockHigh = middle;
+            } else {
+                blockLow = middle + 1;
+            }
+        }
+
+        return new Cursor(low, blockLow);
+    }
+
+    private boolean isAtOrAfter(int existingId, long startSecond, int startNano, int id, boolean isInclusive) {
+        var comparison = Long.compare(slots.getStartSecond(existingId), startSecond);
+        if (comparison == 0) {
+            comparison = Integer.compare(slots.getStartNano(existingId), startNano);
+        }
+
+        if (comparison == 0) {
+            comparison = Integer.compare(existingId, id);
+        }
+
+        return isInclusive ? comparison >= 0 : comparison > 0;
+    }
+
+    class Cursor {
+        private int blockIndex;
+        private int offset;
+
+        private Cursor(int blockIndex, int offset) {
+            this.blockIndex = blockIndex;
+            this.offset = offset;
+        }
+
+        boolean hasNext() {
+            return blockIndex < blocks.size() && offset < blocks.get(blockIndex).size;
+        }
+
+        int next() {
+            var block = blocks.get(blockIndex);
+            var id = block.ids[offset++];
+            if (offset == block.size && blockIndex < blocks.size() - 1) {
+                blockIndex++;
+                offset = 0;
+            }
+
+            return id;
+        }
+
+        boolean hasPrevious() {
+            return offset > 0 || blockIndex > 0;
+        }
+
+        int previous() {
+            if (offset == 0) {
+                blockIndex--;
+                offset = blocks.get(blockIndex).size;
+            }
+
+            return blocks.get(blockIndex).ids[--offset];
+        }
+
+        Cursor copy() {
+            return new Cursor(blockIndex, offset);
+        }
+    }
+
+    private static class Block {
+        private final int[] ids = new int[BLOCK_CAPACITY];
+        private int size;
+    }
+}
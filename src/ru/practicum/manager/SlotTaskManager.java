@@ -0,0 +1,669 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public abstract class SlotTaskManager implements TaskManager {
+    protected final TaskSlots store;
+    protected final SlotStartTimeIndex tasksByStartTime;
+    private final HistoryManager historyManager;
+    private final Collection<Task> tasksView;
+    private final Collection<Epic> epicsView;
+    private final Collection<Subtask> subtasksView;
+    private ArrayList<Task> pendingHistoryRemovals;
+
+    SlotTaskManager(TaskSlots store, HistoryManager historyManager) {
+        this.store = store;
+        this.tasksByStartTime = new SlotStartTimeIndex(store);
+        this.historyManager = historyManager;
+        this.tasksView = new SlotsView<>(TaskType.TASK);
+        this.epicsView = new SlotsView<>(TaskType.EPIC);
+        this.subtasksView = new SlotsView<>(TaskType.SUBTASK);
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return new ArrayList<>(tasksView);
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return new ArrayList<>(epicsView);
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return new ArrayList<>(subtasksView);
+    }
+
+    @Override
+    public Collection<Task> getTasksView() {
+        return tasksView;
+    }
+
+    @Override
+    public Collection<Epic> getEpicsView() {
+        return epicsView;
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksView() {
+        return subtasksView;
+    }
+
+    public int getTasksCount(TaskType taskType) {
+        return store.getCount(taskType);
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        for (int id = 1; id < store.getNextId(); id++) {
+            if (store.getType(id) == TaskType.TASK) {
+                removeSlot(id);
+            }
+        }
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        for (int id = 1; id < store.getNextId(); id++) {
+            var type = store.getType(id);
+            if (type == TaskType.EPIC || type == TaskType.SUBTASK) {
+                removeSlot(id);
+            }
+        }
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        for (int id = 1; id < store.getNextId(); id++) {
+            var type = store.getType(id);
+            if (type == TaskType.SUBTASK) {
+                removeSlot(id);
+            } else if (type == TaskType.EPIC) {
+                store.setFirstSubtask(id, 0);
+                store.setLastSubtask(id, 0);
+                store.setSubtasksCount(id, 0);
+            }
+        }
+    }
+
+    @Override
+    public Task getTask(int id) {
+        var task = store.getType(id) == TaskType.TASK ? store.read(id) : null;
+        historyManager.add(task);
+        return task;
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        var epic = store.getType(id) == TaskType.EPIC ? readEpic(id) : null;
+        historyManager.add(epic);
+        return epic;
+    }
+
+    @Override
+    public Subtask getSubtask(int id) {
+        var subtask = store.getType(id) == TaskType.SUBTASK ? (Subtask) store.read(id) : null;
+        historyManager.add(subtask);
+        return subtask;
+    }
+
+    @Override
+    public boolean containsTask(TaskType taskType, int id) {
+        return store.getType(id) == taskType;
+    }
+
+    @Override
+    public int createTask(Task task) {
+        if (task.getStartTime() != null && isTaskIntersectsWithExistingTasks(task)) {
+            return -1;
+        }
+
+        var taskId = store.allocateId();
+        task.setId(taskId);
+        writeSlot(task);
+        return taskId;
+    }
+
+    @Override
+    public int createEpic(Epic epic) {
+        var epicId = store.allocateId();
+        epic.setId(epicId);
+        epic.setStatus(TaskStatus.NEW);
+        writeSlot(epic);
+        return epicId;
+    }
+
+    @Override
+    public int createSubtask(Subtask subtask) {
+        if (subtask.getStartTime() != null && isTaskIntersectsWithExistingTasks(subtask)) {
+            return -1;
+        }
+
+        if (store.getType(subtask.getEpicId()) != TaskType.EPIC || subtask.getId() == subtask.getEpicId()) {
+            return -1;
+        }
+
+        var subtaskId = store.allocateId();
+        subtask.setId(subtaskId);
+        writeSlot(subtask);
+        return subtaskId;
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        applyTaskUpdate(task);
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        if (store.getType(epic.getId()) == TaskType.EPIC) {
+            store.writeText(epic.getId(), epic.getName(), epic.getDescription());
+        }
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        applySubtaskUpdate(subtask);
+    }
+
+    @Override
+    public void deleteTask(int identifier) {
+        if (store.getType(identifier) == TaskType.TASK) {
+            removeSlot(identifier);
+        }
+    }
+
+    @Override
+    public void deleteEpic(int identifier) {
+        if (store.getType(identifier) == TaskType.EPIC) {
+            removeEpic(identifier);
+        }
+    }
+
+    @Override
+    public void deleteSubtask(int identifier) {
+        if (store.getType(identifier) == TaskType.SUBTASK) {
+            removeSlot(identifier);
+        }
+    }
+
+    @Override
+    public ArrayList<Subtask> getSubtasksByEpic(int epicId) {
+        return new ArrayList<>(getSubtasksByEpicView(epicId));
+    }
+
+    @Override
+    public Collection<Subtask> getSubtasksByEpicView(int epicId) {
+        return store.getType(epicId) == TaskType.EPIC ? new EpicSubtasksView(epicId) : List.of();
+    }
+
+    @Override
+    public boolean applyBatch(TaskBatch batch) {
+        pendingHistoryRemovals = new ArrayList<>();
+        try {
+            var isApplied = batch.applyTo(this, new BatchRollback());
+            if (isApplied) {
+                pendingHistoryRemovals.forEach(historyManager::remove);
+            }
+
+            return isApplied;
+        } finally {
+            pendingHistoryRemovals = null;
+            }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public List<Task> getHistoryView() {
+        return historyManager.getHistoryView();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        var prioritizedTasks = new ArrayList<Task>(tasksByStartTime.size());
+        for (var cursor = tasksByStartTime.first(); cursor.hasNext(); ) {
+            prioritizedTasks.add(store.read(cursor.next()));
+        }
+
+        return prioritizedTasks;
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        var tasks = new ArrayList<Task>();
+        if (!from.isBefore(to)) {
+            return tasks;
+        }
+
+        var toSecond = toEpochSecond(to);
+        for (var cursor = tasksByStartTime.seek(from, Integer.MIN_VALUE, true); cursor.hasNext(); ) {
+            var id = cursor.next();
+            if (compareTimes(store.getStartSecond(id), store.getStartNano(id), toSecond, to.getNano()) >= 0) {
+                break;
+            }
+
+            tasks.add(store.read(id));
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(Task cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit should be positive: " + limit);
+        }
+
+        if (cursor != null && cursor.getStartTime() == null) {
+            throw new IllegalArgumentException("Cursor task should have a start time: " + cursor.getId());
+        }
+
+        var tail = cursor == null ? tasksByStartTime.first()
+                : tasksByStartTime.seek(cursor.getStartTime(), cursor.getId(), false);
+        var page = new ArrayList<Task>(Math.min(limit, 64));
+        while (page.size() < limit && tail.hasNext()) {
+            page.add(store.read(tail.next()));
+        }
+
+        return page;
+    }
+
+    private Epic readEpic(int epicId) {
+        var epic = (Epic) store.read(epicId);
+        for (var subtaskId = store.getFirstSubtask(epicId); subtaskId != 0; subtaskId = store.getNext(subtaskId)) {
+            epic.addSubtask((Subtask) store.read(subtaskId));
+        }
+
+        return epic;
+    }
+
+    private void writeSlot(Task task) {
+        var id = task.getId();
+        store.write(task);
+        store.addCount(task.getTaskType(), 1);
+        if (task instanceof Subtask) {
+            linkSubtask(id);
+        }
+
+        if (task.getTaskType() != TaskType.EPIC && task.getStartTime() != null) {
+            tasksByStartTime.add(id);
+        }
+    }
+
+    private void removeSlot(int id) {
+        var type = store.getType(id);
+        removeFromPrioritizedTasks(id);
+        if (type == TaskType.SUBTASK) {
+            unlinkSubtask(id);
+        }
+
+        removeFromHistory(id);
+        store.free(id);
+        store.addCount(type, -1);
+    }
+
+    private void removeEpic(int epicId) {
+        for (var subtaskId = store.getFirstSubtask(epicId); subtaskId != 0; ) {
+            var nextSubtaskId = store.getNext(subtaskId);
+            removeFromPrioritizedTasks(subtaskId);
+            removeFromHistory(subtaskId);
+            store.free(subtaskId);
+            store.addCount(TaskType.SUBTASK, -1);
+            subtaskId = nextSubtaskId;
+        }
+
+        removeSlot(epicId);
+    }
+
+    void linkSubtask(int subtaskId) {
+        var epicId = store.getEpicId(subtaskId);
+        if (store.getType(epicId) != TaskType.EPIC) {
+            return;
+        }
+
+        var previousId = store.getLastSubtask(epicId);
+        while (previousId > subtaskId) {
+            previousId = store.getPrevious(previousId);
+        }
+
+        var nextId = previousId == 0 ? store.getFirstSubtask(epicId) : store.getNext(previousId);
+        store.setPrevious(subtaskId, previousId);
+        store.setNext(subtaskId, nextId);
+        if (previousId == 0) {
+            store.setFirstSubtask(epicId, subtaskId);
+        } else {
+            store.setNext(previousId, subtaskId);
+        }
+
+        if (nextId == 0) {
+            store.setLastSubtask(epicId, subtaskId);
+        } else {
+            store.setPrevious(nextId, subtaskId);
+        }
+
+        store.setSubtasksCount(epicId, store.getSubtasksCount(epicId) + 1);
+    }
+
+    private void unlinkSubtask(int subtaskId) {
+        var epicId = store.getEpicId(subtaskId);
+        if (store.getType(epicId) != TaskType.EPIC) {
+            return;
+        }
+
+        var previousId = store.getPrevious(subtaskId);
+        var nextId = store.getNext(subtaskId);
+        if (previousId == 0) {
+            store.setFirstSubtask(epicId, nextId);
+        } else {
+            store.setNext(previousId, nextId);
+        }
+
+        if (nextId == 0) {
+            store.setLastSubtask(epicId, previousId);
+        } else {
+            store.setPrevious(nextId, previousId);
+        }
+
+        store.setNext(subtaskId, 0);
+        store.setPrevious(subtaskId, 0);
+        store.setSubtasksCount(epicId, store.getSubtasksCount(epicId) - 1);
+    }
+
+    private boolean applyTaskUpdate(Task task) {
+        if (task.getStartTime() != null && isTaskIntersectsWithExistingTasks(task)) {
+            return false;
+        }
+
+        if (store.getType(task.getId()) != TaskType.TASK) {
+            return false;
+        }
+
+        removeFromPrioritizedTasks(task.getId());
+        store.write(task);
+        if (task.getStartTime() != null) {
+            tasksByStartTime.add(task.getId());
+        }
+
+        return true;
+    }
+
+    private boolean applySubtaskUpdate(Subtask subtask) {
+        if (subtask.getStartTime() != null && isTaskIntersectsWithExistingTasks(subtask)) {
+            return false;
+        }
+
+        var subtaskId = subtask.getId();
+        if (store.getType(subtaskId) != TaskType.SUBTASK || store.getType(subtask.getEpicId()) != TaskType.EPIC) {
+            return false;
+        }
+
+        removeFromPrioritizedTasks(subtaskId);
+        var previousEpicId = store.getEpicId(subtaskId);
+        if (previousEpicId != subtask.getEpicId()) {
+            unlinkSubtask(subtaskId);
+        }
+
+        store.write(subtask);
+        if (previousEpicId != subtask.getEpicId()) {
+            linkSubtask(subtaskId);
+        }
+
+        if (subtask.getStartTime() != null) {
+            tasksByStartTime.add(subtaskId);
+        }
+
+        return true;
+    }
+
+    private void removeFromPrioritizedTasks(int id) {
+        if (store.hasStartTime(id)) {
+            tasksByStartTime.remove(id);
+        }
+    }
+
+    private void removeFromHistory(int id) {
+        var task = new Task(null, null, id, null, null, null);
+        if (pendingHistoryRemovals != null) {
+            pendingHistoryRemovals.add(task);
+        } else {
+            historyManager.remove(task);
+        }
+    }
+
+    private boolean isTaskIntersectsWithExistingTasks(Task task) {
+        var startSecond = toEpochSecond(task.getStartTime());
+        var startNano = task.getStartTime().getNano();
+        var endTime = task.getEndTime();
+        var endSecond = toEpochSecond(endTime);
+        var endNano = endTime.getNano();
+        var tail = tasksByStartTime.seek(startSecond, startNano, Integer.MAX_VALUE, false);
+        var head = tail.copy();
+        var hasPrecedingStartTime = false;
+        var precedingStartSecond = 0L;
+        var precedingStartNano = 0;
+        while (head.hasPrevious()) {
+            var existingId = head.previous();
+            var existingStartSecond = store.getStartSecond(existingId);
+            var existingStartNano = store.getStartNano(existingId);
+            if (compareTimes(existingStartSecond, existingStartNano, startSecond, startNano) < 0) {
+                if (!hasPrecedingStartTime) {
+                    hasPrecedingStartTime = true;
+                    precedingStartSecond = existingStartSecond;
+                    precedingStartNano = existingStartNano;
+                } else if (compareTimes(existingStartSecond, existingStartNano, precedingStartSecond,
+                        precedingStartNano) < 0) {
+                    break;
+                }
+            }
+
+            if (existingId != task.getId()
+                    && compareTimes(existingStartSecond, existingStartNano, endSecond, endNano) < 0
+                    && compareTimes(startSecond, startNano, store.getEndSecond(existingId),
+                    store.getEndNano(existingId)) < 0) {
+                return true;
+            }
+        }
+
+        while (tail.hasNext()) {
+            var existingId = tail.next();
+            if (compareTimes(store.getStartSecond(existingId), store.getStartNano(existingId), endSecond,
+                    endNano) >= 0) {
+                break;
+            }
+
+            if (existingId != task.getId()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int compareTimes(long leftSecond, int leftNano, long rightSecond, int rightNano) {
+        var comparison = Long.compare(leftSecond, rightSecond);
+        return comparison != 0 ? comparison : Integer.compare(leftNano, rightNano);
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private class SlotsView<T extends Task> extends AbstractCollection<T> {
+        private final TaskType taskType;
+
+        private SlotsView(TaskType taskType) {
+            this.taskType = taskType;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int nextId = advance(1);
+
+                @Override
+                public boolean hasNext() {
+                    return nextId != 0;
+                }
+
+                @SuppressWarnings("unchecked")
+                @Override
+                public T next() {
+                    if (nextId == 0) {
+                        throw new NoSuchElementException();
+                    }
+
+                    var id = nextId;
+                    nextId = advance(id + 1);
+                    return (T) (taskType == TaskType.EPIC ? readEpic(id) : store.read(id));
+                }
+
+                private int advance(int fromId) {
+                    for (int id = fromId; id < store.getNextId(); id++) {
+                        if (store.getType(id) == taskType) {
+                            return id;
+                        }
+                    }
+
+                    return 0;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return store.getCount(taskType);
+        }
+    }
+
+    private class EpicSubtasksView extends AbstractCollection<Subtask> {
+        private final int epicId;
+
+        private EpicSubtasksView(int epicId) {
+            this.epicId = epicId;
+        }
+
+        @Override
+        public Iterator<Subtask> iterator() {
+            return new Iterator<>() {
+                private int nextId = store.getType(epicId) == TaskType.EPIC ? store.getFirstSubtask(epicId) : 0;
+
+                @Override
+                public boolean hasNext() {
+                    return nextId != 0;
+                }
+
+                @Override
+                public Subtask next() {
+                    if (nextId == 0) {
+                        throw new NoSuchElementException();
+                    }
+
+                    var id = nextId;
+                    nextId = store.getNext(id);
+                    return (Subtask) store.read(id);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return store.getType(epicId) == TaskType.EPIC ? store.getSubtasksCount(epicId) : 0;
+        }
+    }
+
+    private class BatchRollback implements TaskBatch.Rollback {
+        @Override
+        public Task findTask(int id) {
+            return store.getType(id) == TaskType.TASK ? store.read(id) : null;
+        }
+
+        @Override
+        public Epic findEpic(int id) {
+            return store.getType(id) == TaskType.EPIC ? readEpic(id) : null;
+        }
+
+        @Override
+        public Subtask findSubtask(int id) {
+            return store.getType(id) == TaskType.SUBTASK ? (Subtask) store.read(id) : null;
+        }
+
+        @Override
+        public boolean applyTaskUpdate(Task task) {
+            return SlotTaskManager.this.applyTaskUpdate(task);
+        }
+
+        @Override
+        public boolean applySubtaskUpdate(Subtask subtask) {
+            return SlotTaskManager.this.applySubtaskUpdate(subtask);
+        }
+
+        @Override
+        public void restoreTask(int id, Task previousTask) {
+                if (store.getType(id) == TaskType.TASK) {
+                removeFromPrioritizedTasks(id);
+                store.free(id);
+                store.addCount(TaskType.TASK, -1);
+            }
+
+            if (previousTask != null) {
+                writeSlot(previousTask);
+            }
+        }
+
+        @Override
+        public void restoreEpic(int id, Epic previousEpic) {
+                if (store.getType(id) == TaskType.EPIC) {
+                for (var subtaskId = store.getFirstSubtask(id); subtaskId != 0; ) {
+                    var nextSubtaskId = store.getNext(subtaskId);
+                    removeFromPrioritizedTasks(subtaskId);
+                    store.free(subtaskId);
+                    store.addCount(TaskType.SUBTASK, -1);
+                    subtaskId = nextSubtaskId;
+                }
+
+                store.free(id);
+                store.addCount(TaskType.EPIC, -1);
+            }
+
+            if (previousEpic != null) {
+                writeSlot(previousEpic);
+                previousEpic.getSubtasks().stream()
+                        .sorted(Comparator.comparingInt(Task::getId))
+                        .forEach(SlotTaskManager.this::writeSlot);
+            }
+        }
+
+        @Override
+        public void restoreSubtask(int id, Subtask previousSubtask) {
+                if (store.getType(id) == TaskType.SUBTASK) {
+                removeFromPrioritizedTasks(id);
+                unlinkSubtask(id);
+                store.free(id);
+                store.addCount(TaskType.SUBTASK, -1);
+            }
+
+            if (previousSubtask != null) {
+                writeSlot(previousSubtask);
+            }
+        }
+    }
+}
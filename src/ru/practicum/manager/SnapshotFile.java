@@ -0,0 +1,227 @@
+package ru.practicum.manager;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+
+class SnapshotFile {
+    static final String TEMP_SUFFIX = ".tmp";
+    private static final String TRAILER_PREFIX = "#crc32c:";
+    private static final int TRAILER_LENGTH = TRAILER_PREFIX.length() + 8 + 1 + 16 + 1;
+
+    static long write(File target, SnapshotWriter snapshotWriter, boolean isForced) throws IOException {
+        var targetPath = target.toPath();
+        var tempPath = Path.of(target.getPath() + TEMP_SUFFIX);
+        long writtenBytes;
+        try (var fileOut = Files.newOutputStream(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            var bufferedOut = new BufferedOutputStream(fileOut);
+            var checkedOut = new ChecksumOutputStream(bufferedOut);
+            snapshotWriter.write(checkedOut);
+            checkedOut.flush();
+            var trailer = trailer(checkedOut.checksum.getValue(), checkedOut.length);
+            bufferedOut.write(trailer);
+            bufferedOut.flush();
+            writtenBytes = checkedOut.length + trailer.length;
+            if (isForced) {
+                GroupCommitWriter.sync(tempPath);
+            }
+        }
+
+        move(tempPath, targetPath);
+        if (isForced) {
+            syncDirectoryIfSupported(targetPath.toAbsolutePath().getParent());
+        }
+
+        return writtenBytes;
+    }
+
+    static InputStream openPayload(File file) throws IOException {
+        Trailer trailer;
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            trailer = readTrailer(channel);
+        }
+
+        var in = new FileInputStream(file);
+        return trailer == null ? in : new VerifyingInputStream(in, trailer);
+    }
+
+    static ByteBuffer mapPayload(FileChannel channel) throws IOException {
+        var trailer = readTrailer(channel);
+        var payloadLength = trailer == null ? channel.size() : trailer.payloadLength();
+        var payload = channel.map(FileChannel.MapMode.READ_ONLY, 0, payloadLength);
+        if (trailer != null) {
+            var checksum = new CRC32C();
+            checksum.update(payload.duplicate());
+            trailer.verify(checksum.getValue());
+        }
+
+        return payload;
+    }
+
+    private static Trailer readTrailer(FileChannel channel) throws IOException {
+        var fileLength = channel.size();
+        if (fileLength < TRAILER_LENGTH) {
+            return null;
+        }
+
+        var bytes = ByteBuffer.allocate(TRAILER_LENGTH);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, fileLength - TRAILER_LENGTH + bytes.position()) == -1) {
+                throw new IOException("Snapshot is truncated");
+            }
+        }
+
+        var trailer = new String(bytes.array(), StandardCharsets.ISO_8859_1);
+        if (!trailer.startsWith(TRAILER_PREFIX) || !trailer.endsWith("\n")) {
+            return null;
+        }
+
+        try {
+            var parts = trailer.substring(TRAILER_PREFIX.length(), TRAILER_LENGTH - 1).split(":");
+            var checksum = HexFormat.fromHexDigitsToLong(parts[0]);
+            var payloadLength = HexFormat.fromHexDigitsToLong(parts[1]);
+            if (payloadLength != fileLength - TRAILER_LENGTH) {
+                throw new IOException("Snapshot length mismatch: " + payloadLength);
+            }
+
+            return new Trailer(checksum, payloadLength);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Malformed snapshot trailer", e);
+        }
+    }
+
+    private static byte[] trailer(long checksum, long payloadLength) {
+        var hex = HexFormat.of();
+        return (TRAILER_PREFIX + hex.toHexDigits((int) checksum) + ":" + hex.toHexDigits(payloadLength) + "\n")
+                .getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void syncDirectoryIfSupported(Path directory) {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            return;
+        }
+    }
+
+    interface SnapshotWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private record Trailer(long checksum, long payloadLength) {
+        private void verify(long actualChecksum) throws IOException {
+            if (actualChecksum != checksum) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+        }
+    }
+
+    private static class ChecksumOutputStream extends FilterOutputStream {
+        private final CRC32C checksum;
+        private long length;
+
+        private ChecksumOutputStream(OutputStream out) {
+            super(out);
+            this.checksum = new CRC32C();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            checksum.update(b);
+            length++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            checksum.update(b, off, len);
+            length += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static class VerifyingInputStream extends FilterInputStream {
+        private final CRC32C checksum;
+        private final Trailer trailer;
+        private long remaining;
+
+        private VerifyingInputStream(InputStream in, Trailer trailer) {
+            super(in);
+            this.checksum = new CRC32C();
+            this.trailer = trailer;
+            this.remaining = trailer.payloadLength();
+        }
+
+        @Override
+        public int read() throws IOException {
+            var buffer = new byte[1];
+            return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining == 0) {
+                return -1;
+            }
+
+            var read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read == -1) {
+                throw new IOException("Snapshot is truncated");
+            }
+
+            checksum.update(b, off, read);
+            remaining -= read;
+            if (remaining == 0) {
+                trailer.verify(checksum.getValue());
+            }
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            var buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+            var read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.manager;
+
+public enum SnapshotFormat {
+    CSV,
+    BINARY
+}
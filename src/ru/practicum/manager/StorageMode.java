@@ -0,0 +1,7 @@
+package ru.practicum.manager;
+
+public enum StorageMode {
+    SNAPSHOT,
+    JOURNAL,
+    DELTA
+}
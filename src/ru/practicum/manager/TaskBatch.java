@@ -0,0 +1,212 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+public class TaskBatch {
+    private final ArrayList<Mutation> mutations;
+
+    public TaskBatch() {
+        this.mutations = new ArrayList<>();
+    }
+
+    public TaskBatch createTask(Task task) {
+        mutations.add(new CreateTask(task));
+        return this;
+    }
+
+    public TaskBatch createEpic(Epic epic) {
+        mutations.add(new CreateEpic(epic));
+        return this;
+    }
+
+    public TaskBatch createSubtask(Subtask subtask) {
+        mutations.add(new CreateSubtask(subtask));
+        return this;
+    }
+
+    public TaskBatch updateTask(Task task) {
+        mutations.add(new UpdateTask(task));
+        return this;
+    }
+
+    public TaskBatch updateEpic(Epic epic) {
+        mutations.add(new UpdateEpic(epic));
+        return this;
+    }
+
+    public TaskBatch updateSubtask(Subtask subtask) {
+        mutations.add(new UpdateSubtask(subtask));
+        return this;
+    }
+
+    public TaskBatch deleteTask(int identifier) {
+        mutations.add(new DeleteTask(identifier));
+        return this;
+    }
+
+    public TaskBatch deleteEpic(int identifier) {
+        mutations.add(new DeleteEpic(identifier));
+        return this;
+    }
+
+    public TaskBatch deleteSubtask(int identifier) {
+        mutations.add(new DeleteSubtask(identifier));
+        return this;
+    }
+
+    public int size() {
+        return mutations.size();
+    }
+
+    boolean applyTo(TaskManager manager, Rollback rollback) {
+        var undoLog = new ArrayDeque<Runnable>();
+        try {
+            for (var mutation : mutations) {
+                if (!apply(mutation, manager, rollback, undoLog)) {
+                    undo(undoLog);
+                    return false;
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            undo(undoLog);
+            throw e;
+        }
+
+        return true;
+    }
+
+    private static void undo(ArrayDeque<Runnable> undoLog) {
+        while (!undoLog.isEmpty()) {
+            undoLog.pop().run();
+        }
+    }
+
+    private static boolean apply(Mutation mutation, TaskManager manager, Rollback rollback,
+                                 ArrayDeque<Runnable> undoLog) {
+        switch (mutation) {
+            case CreateTask(var task) -> {
+                var taskId = manager.createTask(task);
+                if (taskId == -1) {
+                    return false;
+                }
+
+                undoLog.push(() -> rollback.restoreTask(taskId, null));
+            }
+            case CreateEpic(var epic) -> {
+                var epicId = manager.createEpic(epic);
+                undoLog.push(() -> rollback.restoreEpic(epicId, null));
+            }
+            case CreateSubtask(var subtask) -> {
+                var subtaskId = manager.createSubtask(subtask);
+                if (subtaskId == -1) {
+                    return false;
+                }
+
+                undoLog.push(() -> rollback.restoreSubtask(subtaskId, null));
+            }
+            case UpdateTask(var task) -> {
+                var previousTask = rollback.findTask(task.getId());
+                if (previousTask == null || !rollback.applyTaskUpdate(task)) {
+                    return false;
+                }
+
+                undoLog.push(() -> rollback.restoreTask(task.getId(), previousTask));
+            }
+            case UpdateEpic(var epic) -> {
+                var existingEpic = rollback.findEpic(epic.getId());
+                if (existingEpic == null) {
+                    return false;
+                }
+
+                var previousEpic = new Epic(existingEpic.getName(), existingEpic.getDescription(),
+                        existingEpic.getId(), existingEpic.getStatus(), null, null);
+                manager.updateEpic(epic);
+                undoLog.push(() -> manager.updateEpic(previousEpic));
+            }
+            case UpdateSubtask(var subtask) -> {
+                var previousSubtask = rollback.findSubtask(subtask.getId());
+                if (previousSubtask == null || !rollback.applySubtaskUpdate(subtask)) {
+                    return false;
+                }
+
+                undoLog.push(() -> rollback.restoreSubtask(subtask.getId(), previousSubtask));
+            }
+            case DeleteTask(var identifier) -> {
+                var previousTask = rollback.findTask(identifier);
+                manager.deleteTask(identifier);
+                if (previousTask != null) {
+                    undoLog.push(() -> rollback.restoreTask(identifier, previousTask));
+                }
+            }
+            case DeleteEpic(var identifier) -> {
+                var previousEpic = rollback.findEpic(identifier);
+                manager.deleteEpic(identifier);
+                if (previousEpic != null) {
+                    undoLog.push(() -> rollback.restoreEpic(identifier, previousEpic));
+                }
+            }
+            case DeleteSubtask(var identifier) -> {
+                var previousSubtask = rollback.findSubtask(identifier);
+                manager.deleteSubtask(identifier);
+                if (previousSubtask != null) {
+                    undoLog.push(() -> rollback.restoreSubtask(identifier, previousSubtask));
+                }
+            }
+        }
+
+        return true;
+    }
+
+    interface Rollback {
+        Task findTask(int id);
+
+        Epic findEpic(int id);
+
+        Subtask findSubtask(int id);
+
+        boolean applyTaskUpdate(Task task);
+
+        boolean applySubtaskUpdate(Subtask subtask);
+
+        void restoreTask(int id, Task previousTask);
+
+        void restoreEpic(int id, Epic previousEpic);
+
+        void restoreSubtask(int id, Subtask previousSubtask);
+    }
+
+    sealed interface Mutation {
+    }
+
+    record CreateTask(Task task) implements Mutation {
+    }
+
+    record CreateEpic(Epic epic) implements Mutation {
+    }
+
+    record CreateSubtask(Subtask subtask) implements Mutation {
+    }
+
+    record UpdateTask(Task task) implements Mutation {
+    }
+
+    record UpdateEpic(Epic epic) implements Mutation {
+    }
+
+    record UpdateSubtask(Subtask subtask) implements Mutation {
+    }
+
+    record DeleteTask(int identifier) implements Mutation {
+    }
+
+    record DeleteEpic(int identifier) implements Mutation {
+    }
+
+    record DeleteSubtask(int identifier) implements Mutation {
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.manager;
+
+public record TaskCacheStats(long hits, long misses, long evictions, int size, int capacity) {
+    public double hitRate() {
+        var requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
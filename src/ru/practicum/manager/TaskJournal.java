@@ -0,0 +1,229 @@
+package ru.practicum.manager;
+
+import ru.practicum.exception.ManagerLoadException;
+import ru.practicum.exception.ManagerSaveException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+class TaskJournal {
+    static final String UPSERT = "E";
+    static final String LEGACY_UPSERT = "U";
+    static final String DELETE = "D";
+    static final String CLEAR = "C";
+    private static final int CHECKSUM_LENGTH = 8;
+    private static final int FRAME_LENGTH = CHECKSUM_LENGTH + 1;
+
+    private final Path activeSegment;
+    private final Path compactingSegment;
+    private int recordsCount;
+
+    TaskJournal(File snapshotFile) {
+        this.activeSegment = Path.of(snapshotFile.getPath() + ".journal");
+        this.compactingSegment = Path.of(snapshotFile.getPath() + ".journal.compacting");
+        this.recordsCount = countRecords(activeSegment);
+    }
+
+    boolean exists() {
+        return Files.exists(activeSegment) || Files.exists(compactingSegment);
+    }
+
+    int getRecordsCount() {
+        return recordsCount;
+    }
+
+    void append(List<String> records) {
+        try (var bw = Files.newBufferedWriter(activeSegment, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            var checksum = new CRC32C();
+            var frame = new char[FRAME_LENGTH];
+            frame[CHECKSUM_LENGTH] = ',';
+            for (var record : records) {
+                checksum.reset();
+                checksum.update(record.getBytes(StandardCharsets.UTF_8));
+                var value = (int) checksum.getValue();
+                for (int i = CHECKSUM_LENGTH - 1; i >= 0; i--) {
+                    frame[i] = Character.forDigit(value & 0xF, 16);
+                    value >>>= 4;
+                }
+
+                bw.write(frame);
+                bw.write(record);
+                bw.newLine();
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        recordsCount += records.size();
+    }
+
+    static long encodedLength(List<String> records) {
+        var length = (long) records.size() * (FRAME_LENGTH + System.lineSeparator().length());
+        for (var record : records) {
+            for (int i = 0; i < record.length(); i++) {
+                var c = record.charAt(i);
+                length += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+            }
+        }
+
+        return length;
+    }
+
+    void sync() throws IOException {
+        GroupCommitWriter.sync(activeSegment);
+    }
+
+    void reset() {
+        try {
+            Files.deleteIfExists(activeSegment);
+            Files.deleteIfExists(compactingSegment);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        recordsCount = 0;
+    }
+
+    void rotate() {
+        try {
+            if (Files.exists(activeSegment)) {
+                Files.move(activeSegment, compactingSegment, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        recordsCount = 0;
+    }
+
+    void completeCompaction() {
+        try {
+            Files.deleteIfExists(compactingSegment);
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+    }
+
+    void replay(Consumer<String[]> recordConsumer) {
+        replaySegment(compactingSegment, recordConsumer);
+        replaySegment(activeSegment, recordConsumer);
+    }
+
+    static String upsert(String line) {
+        return UPSERT + "," + line;
+    }
+
+    static String delete(int id) {
+        return DELETE + "," + id;
+    }
+
+    static String clear(String taskType) {
+        return CLEAR + "," + taskType;
+    }
+
+    private static void replaySegment(Path segment, Consumer<String[]> recordConsumer) {
+        if (!Files.exists(segment)) {
+            return;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(segment);
+        } catch (IOException e) {
+            throw new ManagerLoadException();
+        }
+
+        var checksum = new CRC32C();
+        var validLength = 0;
+        var hasInvalidRecord = false;
+        for (int start = 0; start < bytes.length; ) {
+            var end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+
+            if (end == bytes.length) {
+                break;
+            }
+
+            var lineEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+            if (lineEnd > start) {
+                var record = decode(bytes, start, lineEnd, checksum);
+                if (record == null) {
+                    hasInvalidRecord = true;
+                } else if (hasInvalidRecord) {
+                    throw new ManagerLoadException();
+                } else {
+                    recordConsumer.accept(record.split(",", 2));
+                }
+            }
+
+            start = end + 1;
+            if (!hasInvalidRecord) {
+                validLength = start;
+            }
+        }
+
+        if (validLength < bytes.length) {
+            truncate(segment, validLength);
+        }
+    }
+
+    private static String decode(byte[] bytes, int start, int end, CRC32C checksum) {
+        if (end - start > 1 && bytes[start + 1] == ',') {
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        if (end - start <= FRAME_LENGTH || bytes[start + CHECKSUM_LENGTH] != ',') {
+            return null;
+        }
+
+        var expected = 0;
+        for (int i = start; i < start + CHECKSUM_LENGTH; i++) {
+            var digit = Character.digit(bytes[i], 16);
+            if (digit < 0) {
+                return null;
+            }
+
+            expected = expected << 4 | digit;
+        }
+
+        checksum.reset();
+        checksum.update(bytes, start + FRAME_LENGTH, end - start - FRAME_LENGTH);
+        if ((int) checksum.getValue() != expected) {
+            return null;
+        }
+
+        return new String(bytes, start + FRAME_LENGTH, end - start - FRAME_LENGTH, StandardCharsets.UTF_8);
+    }
+
+    private static void truncate(Path segment, long length) {
+        try (var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        } catch (IOException e) {
+            throw new ManagerLoadException();
+        }
+    }
+
+    private static int countRecords(Path segment) {
+        if (!Files.exists(segment)) {
+            return 0;
+        }
+
+        try (var lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+            return (int) lines.filter(line -> !line.isEmpty()).count();
+        } catch (IOException e) {
+            throw new ManagerLoadException();
+        }
+    }
+}
@@ -3,7 +3,10 @@ package ru.practicum.manager;
 import ru.practicum.model.Epic;
 import ru.practicum.model.Subtask;
 import ru.practicum.model.Task;
+import ru.practicum.model.TaskType;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskManager {
@@ -13,6 +16,12 @@ public interface TaskManager {
 
     List<Subtask> getAllSubtasks();
 
+    Collection<Task> getTasksView();
+
+    Collection<Epic> getEpicsView();
+
+    Collection<Subtask> getSubtasksView();
+
     void deleteAllTasks();
 
     void deleteAllEpics();
@@ -25,6 +34,8 @@ public interface TaskManager {
 
     Subtask getSubtask(int id);
 
+    boolean containsTask(TaskType taskType, int id);
+
     int createTask(Task task);
 
     int createEpic(Epic epic);
@@ -45,7 +56,17 @@ public interface TaskManager {
 
     List<Subtask> getSubtasksByEpic(int epicId);
 
+    Collection<Subtask> getSubtasksByEpicView(int epicId);
+
+    boolean applyBatch(TaskBatch batch);
+
     List<Task> getHistory();
 
+    List<Task> getHistoryView();
+
     List<Task> getPrioritizedTasks();
+
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    List<Task> getPrioritizedTasksAfter(Task cursor, int limit);
 }
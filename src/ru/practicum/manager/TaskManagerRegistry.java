@@ -0,0 +1,302 @@
+package ru.practicum.manager;
+
+import ru.practicum.exception.ManagerSaveException;
+import ru.practicum.model.TaskType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+public class TaskManagerRegistry implements AutoCloseable {
+    public static final long DEFAULT_MEMORY_BUDGET_BYTES = 256L << 20;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    public static final long BOARD_OVERHEAD_BYTES = 16 << 10;
+    public static final long ESTIMATED_BYTES_PER_TASK = 1 << 10;
+    private static final Pattern BOARD_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String BOARD_FILE_NAME = "tasks.csv";
+    private static final int LOW_WATERMARK_PERCENT = 90;
+
+    private final File directory;
+    private final StorageMode storageMode;
+    private final long memoryBudgetBytes;
+    private final long idleTimeoutNanos;
+    private final ConcurrentHashMap<String, Board> boards;
+    private final LongAdder estimatedBytes;
+    private final AtomicBoolean isEvictingOverBudget;
+    private final ScheduledExecutorService idleEvictor;
+    private volatile boolean isClosed;
+
+    private TaskManagerRegistry(File directory, StorageMode storageMode, long memoryBudgetBytes,
+                                Duration idleTimeout) {
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget should be positive: " + memoryBudgetBytes);
+        }
+
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout should be positive: " + idleTimeout);
+        }
+
+        try {
+            Files.createDirectories(directory.toPath());
+        } catch (IOException e) {
+            throw new ManagerSaveException();
+        }
+
+        this.directory = directory;
+        this.storageMode = storageMode;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.boards = new ConcurrentHashMap<>();
+        this.estimatedBytes = new LongAdder();
+        this.isEvictingOverBudget = new AtomicBoolean();
+        this.idleEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "task-registry-idle-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static TaskManagerRegistry open(File directory) {
+        return open(directory, StorageMode.SNAPSHOT, DEFAULT_MEMORY_BUDGET_BYTES, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    public static TaskManagerRegistry open(File directory, StorageMode storageMode, long memoryBudgetBytes,
+                                           Duration idleTimeout) {
+        var registry = new TaskManagerRegistry(directory, storageMode, memoryBudgetBytes, idleTimeout);
+        registry.idleEvictor.scheduleWithFixedDelay(registry::evictIdle, registry.idleTimeoutNanos,
+                registry.idleTimeoutNanos, TimeUnit.NANOSECONDS);
+        return registry;
+    }
+
+    public <T> T withBoard(String boardId, Function<? super TaskManager, T> action) {
+        if (!BOARD_ID.matcher(boardId).matches()) {
+            throw new IllegalArgumentException("Board id should match " + BOARD_ID + ": " + boardId);
+        }
+
+        while (true) {
+            if (isClosed) {
+                throw new IllegalStateException("Registry is closed");
+            }
+
+            var board = boards.get(boardId);
+            if (board == null) {
+                board = boards.computeIfAbsent(boardId, Board::new);
+            }
+
+            board.lock.lock();
+            T result;
+            try {
+                if (board.isEvicted) {
+                    continue;
+                }
+
+                if (board.manager == null) {
+                    load(board);
+                }
+
+                board.lastAccessNanos = System.nanoTime();
+                try {
+                    result = action.apply(board.manager);
+                } finally {
+                    updateEstimatedBytes(board);
+                }
+            } finally {
+                board.lock.unlock();
+            }
+
+            scheduleOverBudgetEviction();
+            return result;
+        }
+    }
+
+    public boolean isLoaded(String boardId) {
+        var board = boards.get(boardId);
+        return board != null && board.manager != null;
+    }
+
+    public int getLoadedBoardsCount() {
+        var count = 0;
+        for (var board : boards.values()) {
+            if (board.manager != null) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes.sum();
+    }
+
+    public boolean evict(String boardId) {
+        var board = boards.get(boardId);
+        if (board == null) {
+            return false;
+        }
+
+        board.lock.lock();
+        try {
+            return unload(board);
+        } finally {
+            board.lock.unlock();
+        }
+    }
+
+    public int evictIdle() {
+        var idleSince = System.nanoTime() - idleTimeoutNanos;
+        var evictedCount = 0;
+        for (var board : boards.values()) {
+            if (board.lastAccessNanos - idleSince <= 0 && tryUnload(board)) {
+                evictedCount++;
+            }
+        }
+
+        return evictedCount;
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        idleEvictor.shutdownNow();
+        for (var board : boards.values()) {
+            board.lock.lock();
+            try {
+                unload(board);
+            } finally {
+                board.lock.unlock();
+            }
+        }
+    }
+
+    private void load(Board board) {
+        var boardDirectory = new File(directory, board.id);
+        var file = new File(boardDirectory, BOARD_FILE_NAME);
+        try {
+            Files.createDirectories(boardDirectory.toPath());
+            board.manager = file.exists() ? FileBackedTaskManager.loadFromFile(file, storageMode)
+                    : new FileBackedTaskManager(file, storageMode);
+        } catch (IOException e) {
+            discardFailedLoad(board);
+            throw new ManagerSaveException();
+        } catch (RuntimeException | Error e) {
+            discardFailedLoad(board);
+            throw e;
+        }
+
+        updateEstimatedBytes(board);
+    }
+
+    private void discardFailedLoad(Board board) {
+        board.isEvicted = true;
+        boards.remove(board.id, board);
+    }
+
+    private void updateEstimatedBytes(Board board) {
+        var manager = board.manager;
+        var tasksCount = (long) manager.getTasksCount(TaskType.TASK) + manager.getTasksCount(TaskType.EPIC)
+                + manager.getTasksCount(TaskType.SUBTASK);
+        var boardBytes = BOARD_OVERHEAD_BYTES + tasksCount * ESTIMATED_BYTES_PER_TASK;
+        estimatedBytes.add(boardBytes - board.estimatedBytes);
+        board.estimatedBytes = boardBytes;
+    }
+
+    private void scheduleOverBudgetEviction() {
+        if (estimatedBytes.sum() <= memoryBudgetBytes || isClosed
+                || !isEvictingOverBudget.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            idleEvictor.execute(this::evictOverBudget);
+        } catch (RejectedExecutionException e) {
+            isEvictingOverBudget.set(false);
+        }
+    }
+
+    private void evictOverBudget() {
+        try {
+            var candidates = new ArrayList<EvictionCandidate>();
+            for (var board : boards.values()) {
+                candidates.add(new EvictionCandidate(board, board.lastAccessNanos));
+            }
+
+            candidates.sort(Comparator.comparingLong(EvictionCandidate::lastAccessNanos));
+            var lowWatermark = memoryBudgetBytes / 100 * LOW_WATERMARK_PERCENT;
+            for (var candidate : candidates) {
+                if (estimatedBytes.sum() <= lowWatermark) {
+                    break;
+                }
+
+                tryUnload(candidate.board());
+            }
+        } finally {
+            isEvictingOverBudget.set(false);
+        }
+    }
+
+    private boolean tryUnload(Board board) {
+        if (!board.lock.tryLock()) {
+            return false;
+        }
+
+        try {
+            return unload(board);
+        } finally {
+            board.lock.unlock();
+        }
+    }
+
+    private boolean unload(Board board) {
+        if (board.isEvicted) {
+            return false;
+        }
+
+        var manager = board.manager;
+        try {
+            if (manager != null) {
+                manager.close();
+                manager.whenDurable().join();
+            }
+        } finally {
+            board.isEvicted = true;
+            board.manager = null;
+            estimatedBytes.add(-board.estimatedBytes);
+            board.estimatedBytes = 0;
+            boards.remove(board.id, board);
+        }
+
+        return manager != null;
+    }
+
+    private record EvictionCandidate(Board board, long lastAccessNanos) {
+    }
+
+    private static class Board {
+        private final String id;
+        private final ReentrantLock lock;
+        private volatile FileBackedTaskManager manager;
+        private volatile long lastAccessNanos;
+        private long estimatedBytes;
+        private boolean isEvicted;
+
+        private Board(String id) {
+            this.id = id;
+            this.lock = new ReentrantLock();
+            this.lastAccessNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+class TaskSearchIndex {
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 2;
+    private final TreeMap<String, IntObjectHashMap<Integer>> postingsByTerm;
+    private final IntObjectHashMap<IndexedText> textsById;
+
+    TaskSearchIndex() {
+        this.postingsByTerm = new TreeMap<>();
+        this.textsById = new IntObjectHashMap<>();
+    }
+
+    int getTermsCount() {
+        return postingsByTerm.size();
+    }
+
+    void put(Task task) {
+        var indexedText = textsById.get(task.getId());
+        if (indexedText != null && indexedText.matches(task)) {
+            return;
+        }
+
+        remove(task.getId());
+        var weights = new LinkedHashMap<String, Integer>();
+        addTokens(task.getName(), NAME_WEIGHT, weights);
+        addTokens(task.getDescription(), DESCRIPTION_WEIGHT, weights);
+        weights.forEach((term, weight) -> postingsByTerm.computeIfAbsent(term, t -> new IntObjectHashMap<>(1))
+                .put(task.getId(), weight));
+        textsById.put(task.getId(), new IndexedText(task.getName(), task.getDescription(),
+                weights.keySet().toArray(String[]::new)));
+    }
+
+    void remove(int id) {
+        var indexedText = textsById.remove(id);
+        if (indexedText == null) {
+            return;
+        }
+
+        for (var term : indexedText.terms()) {
+            var postings = postingsByTerm.get(term);
+            postings.remove(id);
+            if (postings.isEmpty()) {
+                postingsByTerm.remove(term);
+            }
+        }
+    }
+
+    List<Integer> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Search limit should be positive: " + limit);
+        }
+
+        var queryTerms = new LinkedHashMap<String, Integer>();
+        addTokens(query, 1, queryTerms);
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        IntObjectHashMap<Integer> scores = null;
+        for (var queryTerm : queryTerms.keySet()) {
+            var termScores = scoreTerm(queryTerm, scores);
+            if (termScores.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            scores = termScores;
+        }
+
+        return topIds(scores, limit);
+    }
+
+    private IntObjectHashMap<Integer> scoreTerm(String queryTerm, IntObjectHashMap<Integer> previousScores) {
+        var termScores = new IntObjectHashMap<Integer>();
+        var matchingTerms = postingsByTerm.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+        for (var entry : matchingTerms.entrySet()) {
+            var bonus = entry.getKey().length() == queryTerm.length() ? EXACT_MATCH_BONUS : 1;
+            var postings = entry.getValue();
+            if (previousScores == null) {
+                postings.forEach((id, weight) -> addScore(termScores, id, weight * bonus));
+            } else if (previousScores.size() < postings.size()) {
+                previousScores.forEach((id, previousScore) -> {
+                    var weight = postings.get(id);
+                    if (weight != null) {
+                        addScore(termScores, id, previousScore + weight * bonus);
+                    }
+                });
+            } else {
+                postings.forEach((id, weight) -> {
+                    var previousScore = previousScores.get(id);
+                    if (previousScore != null) {
+                        addScore(termScores, id, previousScore + weight * bonus);
+                    }
+                });
+            }
+        }
+
+        return termScores;
+    }
+
+    private static void addScore(IntObjectHashMap<Integer> scores, int id, int score) {
+        var currentScore = scores.get(id);
+        if (currentScore == null || currentScore < score) {
+            scores.put(id, score);
+        }
+    }
+
+    private static List<Integer> topIds(IntObjectHashMap<Integer> scores, int limit) {
+        var topScores = new PriorityQueue<ScoredId>(Comparator.comparingInt(ScoredId::score)
+                .thenComparing(ScoredId::id, Comparator.reverseOrder()));
+        scores.forEach((id, score) -> {
+            topScores.add(new ScoredId(id, score));
+            if (topScores.size() > limit) {
+                topScores.poll();
+            }
+        });
+
+        var ids = new ArrayList<Integer>(topScores.size());
+        while (!topScores.isEmpty()) {
+            ids.add(topScores.poll().id());
+        }
+
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private static void addTokens(String text, int weight, LinkedHashMap<String, Integer> weights) {
+        if (text == null) {
+            return;
+        }
+
+        var tokenStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            var isTokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isTokenChar && tokenStart == -1) {
+                tokenStart = i;
+            } else if (!isTokenChar && tokenStart != -1) {
+                weights.merge(text.substring(tokenStart, i).toLowerCase(Locale.ROOT), weight, Integer::sum);
+                tokenStart = -1;
+            }
+        }
+    }
+
+    private record ScoredId(int id, int score) {
+    }
+
+    private record IndexedText(String name, String description, String[] terms) {
+        private boolean matches(Task task) {
+            return Objects.equals(name, task.getName()) && Objects.equals(description, task.getDescription());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskType;
+
+interface TaskSlots {
+    int getNextId();
+
+    int allocateId();
+
+    int getCount(TaskType taskType);
+
+    void setCount(TaskType taskType, int count);
+
+    default void addCount(TaskType taskType, int delta) {
+        setCount(taskType, getCount(taskType) + delta);
+    }
+
+    TaskType getType(int id);
+
+    Task read(int id);
+
+    void write(Task task);
+
+    void writeText(int id, String name, String description);
+
+    void free(int id);
+
+    int getEpicId(int subtaskId);
+
+    int getSubtasksCount(int epicId);
+
+    void setSubtasksCount(int epicId, int count);
+
+    int getNext(int id);
+
+    int getPrevious(int id);
+
+    void setNext(int id, int nextId);
+
+    void setPrevious(int id, int previousId);
+
+    default int getFirstSubtask(int epicId) {
+        return getNext(epicId);
+    }
+
+    default int getLastSubtask(int epicId) {
+        return getPrevious(epicId);
+    }
+
+    default void setFirstSubtask(int epicId, int subtaskId) {
+        setNext(epicId, subtaskId);
+    }
+
+    default void setLastSubtask(int epicId, int subtaskId) {
+        setPrevious(epicId, subtaskId);
+    }
+
+    boolean hasStartTime(int id);
+
+    long getStartSecond(int id);
+
+    int getStartNano(int id);
+
+    long getEndSecond(int id);
+
+    int getEndNano(int id);
+}
@@ -0,0 +1,50 @@
+package ru.practicum.manager;
+
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+
+class TaskStatusIndex<T extends Task> {
+    private final EnumMap<TaskStatus, IntObjectHashMap<T>> tasksByStatus;
+    private final EnumMap<TaskStatus, Collection<T>> views;
+
+    TaskStatusIndex() {
+        this.tasksByStatus = new EnumMap<>(TaskStatus.class);
+        this.views = new EnumMap<>(TaskStatus.class);
+        for (var status : TaskStatus.values()) {
+            var tasks = new IntObjectHashMap<T>();
+            tasksByStatus.put(status, tasks);
+            views.put(status, Collections.unmodifiableCollection(tasks.values()));
+        }
+    }
+
+    void put(T task) {
+        remove(task.getId());
+        if (task.getStatus() != null) {
+            tasksByStatus.get(task.getStatus()).put(task.getId(), task);
+        }
+    }
+
+    void remove(int id) {
+        for (var tasks : tasksByStatus.values()) {
+            if (tasks.remove(id) != null) {
+                return;
+            }
+        }
+    }
+
+    void clear() {
+        tasksByStatus.values().forEach(IntObjectHashMap::clear);
+    }
+
+    Collection<T> get(TaskStatus status) {
+        return views.get(status);
+    }
+
+    int count(TaskStatus status) {
+        return tasksByStatus.get(status).size();
+    }
+}
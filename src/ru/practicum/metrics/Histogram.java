@@ -0,0 +1,87 @@
+package ru.practicum.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS_COUNT * 2;
+    private static final int BUCKETS_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts;
+    private final LongAdder sum;
+    private final AtomicLong max;
+
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS_COUNT);
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Recorded value should not be negative: " + value);
+        }
+
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        var currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public HistogramSnapshot getSnapshot() {
+        var snapshotCounts = new long[BUCKETS_COUNT];
+        var count = 0L;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            snapshotCounts[i] = counts.get(i);
+            count += snapshotCounts[i];
+        }
+
+        var maxValue = max.get();
+        return new HistogramSnapshot(count, sum.sum(), maxValue,
+                valueAtQuantile(snapshotCounts, count, maxValue, 0.5),
+                valueAtQuantile(snapshotCounts, count, maxValue, 0.9),
+                valueAtQuantile(snapshotCounts, count, maxValue, 0.99),
+                valueAtQuantile(snapshotCounts, count, maxValue, 0.999));
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+
+        var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestValueIn(int bucketIndex) {
+        if (bucketIndex < LINEAR_LIMIT) {
+            return bucketIndex;
+        }
+
+        var shift = bucketIndex / SUB_BUCKETS_COUNT - 1;
+        var subBucket = bucketIndex - shift * SUB_BUCKETS_COUNT;
+        return ((subBucket + 1L) << shift) - 1;
+    }
+
+    private static long valueAtQuantile(long[] counts, long count, long maxValue, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        var rank = Math.max(1, (long) Math.ceil(quantile * count));
+        var seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+}
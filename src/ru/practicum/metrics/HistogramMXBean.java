@@ -0,0 +1,17 @@
+package ru.practicum.metrics;
+
+public interface HistogramMXBean {
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long getP50();
+
+    long getP90();
+
+    long getP99();
+
+    long getP999();
+}
@@ -0,0 +1,7 @@
+package ru.practicum.metrics;
+
+public record HistogramSnapshot(long count, long sum, long max, long p50, long p90, long p99, long p999) {
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
@@ -0,0 +1,231 @@
+package ru.practicum.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+public class TaskMetrics {
+    public static final String JMX_DOMAIN = "ru.practicum.kanban";
+    public static final String METRIC_PREFIX = "kanban_";
+    private static final Pattern GAUGE_NAME = Pattern.compile("[a-z][a-z0-9_]*");
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Histogram[] latencies;
+    private final Histogram savedBytes;
+    private final ConcurrentSkipListMap<String, LongSupplier> gauges;
+    private final ArrayList<ObjectName> registeredNames;
+
+    public TaskMetrics() {
+        this.latencies = new Histogram[TaskOperation.values().length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new Histogram();
+        }
+
+        this.savedBytes = new Histogram();
+        this.gauges = new ConcurrentSkipListMap<>();
+        this.registeredNames = new ArrayList<>();
+    }
+
+    public void record(TaskOperation operation, long startNanos) {
+        latencies[operation.ordinal()].record(Math.max(0, System.nanoTime() - startNanos));
+    }
+
+    public void recordSave(long startNanos, long bytes) {
+        record(TaskOperation.SAVE, startNanos);
+        savedBytes.record(bytes);
+    }
+
+    public void registerGauge(String name, LongSupplier value) {
+        if (!GAUGE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Gauge name should match " + GAUGE_NAME + ": " + name);
+        }
+
+        gauges.put(name, value);
+    }
+
+    public HistogramSnapshot getLatency(TaskOperation operation) {
+        return latencies[operation.ordinal()].getSnapshot();
+    }
+
+    public HistogramSnapshot getSavedBytes() {
+        return savedBytes.getSnapshot();
+    }
+
+    public Map<String, Long> getGauges() {
+        var values = new TreeMap<String, Long>();
+        gauges.forEach((name, value) -> values.put(name, value.getAsLong()));
+        return values;
+    }
+
+    public String toText() {
+        var text = new StringBuilder(8192);
+        var latency = METRIC_PREFIX + "operation_seconds";
+        text.append("# HELP ").append(latency).append(" Latency of task manager operations.\n");
+        text.append("# TYPE ").append(latency).append(" summary\n");
+        for (var operation : TaskOperation.values()) {
+            var label = "operation=\"" + operation.getMetricName() + "\"";
+            appendSummary(text, latency, label, getLatency(operation), NANOS_PER_SECOND);
+        }
+
+        var maxLatency = METRIC_PREFIX + "operation_max_seconds";
+        text.append("# TYPE ").append(maxLatency).append(" gauge\n");
+        for (var operation : TaskOperation.values()) {
+            text.append(maxLatency).append("{operation=\"").append(operation.getMetricName()).append("\"} ")
+                    .append(getLatency(operation).max() / NANOS_PER_SECOND).append('\n');
+        }
+
+        var saved = METRIC_PREFIX + "save_bytes";
+        text.append("# HELP ").append(saved).append(" Bytes written per save.\n");
+        text.append("# TYPE ").append(saved).append(" summary\n");
+        appendSummary(text, saved, null, getSavedBytes(), 1);
+        getGauges().forEach((name, value) -> {
+            text.append("# TYPE ").append(METRIC_PREFIX).append(name).append(" gauge\n");
+            text.append(METRIC_PREFIX).append(name).append(' ').append(value).append('\n');
+        });
+        return text.toString();
+    }
+
+    public synchronized void registerMBeans(String scope) {
+        if (!registeredNames.isEmpty()) {
+            throw new IllegalStateException("Metrics are already registered as MBeans");
+        }
+
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var quotedScope = ObjectName.quote(scope);
+        try {
+            register(server, "type=TaskManager,scope=" + quotedScope,
+                    new StandardMBean(new TaskMetricsView(), TaskMetricsMXBean.class, true));
+            for (var operation : TaskOperation.values()) {
+                register(server, "type=Latency,scope=" + quotedScope + ",name=" + operation.getMetricName(),
+                        new StandardMBean(new HistogramView(latencies[operation.ordinal()]), HistogramMXBean.class,
+                                true));
+            }
+
+            register(server, "type=Histogram,scope=" + quotedScope + ",name=saveBytes",
+                    new StandardMBean(new HistogramView(savedBytes), HistogramMXBean.class, true));
+        } catch (InstanceAlreadyExistsException e) {
+            unregisterMBeans();
+            throw new IllegalArgumentException("Metrics scope is already registered: " + scope);
+        } catch (JMException e) {
+            unregisterMBeans();
+            throw new IllegalStateException("Metrics could not be registered: " + scope, e);
+        }
+    }
+
+    public synchronized void unregisterMBeans() {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        for (var name : registeredNames) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                continue;
+            }
+        }
+
+        registeredNames.clear();
+    }
+
+    private void register(MBeanServer server, String properties, Object mbean) throws JMException {
+        var name = new ObjectName(JMX_DOMAIN + ":" + properties);
+        server.registerMBean(mbean, name);
+        registeredNames.add(name);
+    }
+
+    private static void appendSummary(StringBuilder text, String name, String label, HistogramSnapshot snapshot,
+                                      double unit) {
+        var labels = label == null ? "" : label + ",";
+        appendQuantile(text, name, labels, "0.5", snapshot.p50() / unit);
+        appendQuantile(text, name, labels, "0.9", snapshot.p90() / unit);
+        appendQuantile(text, name, labels, "0.99", snapshot.p99() / unit);
+        appendQuantile(text, name, labels, "0.999", snapshot.p999() / unit);
+        var suffixLabels = label == null ? "" : "{" + label + "}";
+        text.append(name).append("_sum").append(suffixLabels).append(' ').append(snapshot.sum() / unit).append('\n');
+        text.append(name).append("_count").append(suffixLabels).append(' ').append(snapshot.count()).append('\n');
+    }
+
+    private static void appendQuantile(StringBuilder text, String name, String labels, String quantile,
+                                       double value) {
+        text.append(name).append('{').append(labels).append("quantile=\"").append(quantile).append("\"} ")
+                .append(value).append('\n');
+    }
+
+    private class TaskMetricsView implements TaskMetricsMXBean {
+        @Override
+        public Map<String, Long> getGauges() {
+            return TaskMetrics.this.getGauges();
+        }
+
+        @Override
+        public Map<String, Long> getOperationCounts() {
+            var counts = new LinkedHashMap<String, Long>();
+            for (var operation : TaskOperation.values()) {
+                counts.put(operation.getMetricName(), getLatency(operation).count());
+            }
+
+            return counts;
+        }
+
+        @Override
+        public long getSavedBytesTotal() {
+            return savedBytes.getSnapshot().sum();
+        }
+
+        @Override
+        public String getText() {
+            return toText();
+        }
+    }
+
+    private static class HistogramView implements HistogramMXBean {
+        private final Histogram histogram;
+
+        private HistogramView(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getSnapshot().count();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getSnapshot().mean();
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getSnapshot().max();
+        }
+
+        @Override
+        public long getP50() {
+            return histogram.getSnapshot().p50();
+        }
+
+        @Override
+        public long getP90() {
+            return histogram.getSnapshot().p90();
+        }
+
+        @Override
+        public long getP99() {
+            return histogram.getSnapshot().p99();
+        }
+
+        @Override
+        public long getP999() {
+            return histogram.getSnapshot().p999();
+        }
+    }
+}
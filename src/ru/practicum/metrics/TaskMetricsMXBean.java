@@ -0,0 +1,13 @@
+package ru.practicum.metrics;
+
+import java.util.Map;
+
+public interface TaskMetricsMXBean {
+    Map<String, Long> getGauges();
+
+    Map<String, Long> getOperationCounts();
+
+    long getSavedBytesTotal();
+
+    String getText();
+}
@@ -0,0 +1,56 @@
+package ru.practicum.metrics;
+
+public enum TaskOperation {
+    GET_ALL_TASKS,
+    GET_ALL_EPICS,
+    GET_ALL_SUBTASKS,
+    GET_TASKS_VIEW,
+    GET_EPICS_VIEW,
+    GET_SUBTASKS_VIEW,
+    DELETE_ALL_TASKS,
+    DELETE_ALL_EPICS,
+    DELETE_ALL_SUBTASKS,
+    GET_TASK,
+    GET_EPIC,
+    GET_SUBTASK,
+    CONTAINS_TASK,
+    CREATE_TASK,
+    CREATE_EPIC,
+    CREATE_SUBTASK,
+    UPDATE_TASK,
+    UPDATE_EPIC,
+    UPDATE_SUBTASK,
+    DELETE_TASK,
+    DELETE_EPIC,
+    DELETE_SUBTASK,
+    GET_SUBTASKS_BY_EPIC,
+    GET_SUBTASKS_BY_EPIC_VIEW,
+    APPLY_BATCH,
+    GET_HISTORY,
+    GET_HISTORY_VIEW,
+    GET_PRIORITIZED_TASKS,
+    GET_PRIORITIZED_TASKS_BETWEEN,
+    GET_PRIORITIZED_TASKS_AFTER,
+    OVERLAP_CHECK,
+    SAVE;
+
+    private final String metricName;
+
+    TaskOperation() {
+        this.metricName = toCamelCase(name());
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    private static String toCamelCase(String constantName) {
+        var words = constantName.toLowerCase().split("_");
+        var camelCase = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++) {
+            camelCase.append(Character.toUpperCase(words[i].charAt(0))).append(words[i], 1, words[i].length());
+        }
+
+        return camelCase.toString();
+    }
+}
@@ -2,17 +2,33 @@ package ru.practicum.model;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Objects;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class Epic extends Task {
-    private final HashSet<Subtask> subtasks;
+    private final HashMap<Integer, Subtask> subtasks;
+    private final HashMap<Integer, Snapshot> subtaskSnapshots;
+    private final EnumMap<TaskStatus, Integer> statusCounts;
+    private final TreeMap<LocalDateTime, Integer> subtaskStartTimes;
+    private final TreeMap<LocalDateTime, Integer> subtaskEndTimes;
+    private Duration totalDuration;
     private LocalDateTime endTime;
+    private volatile List<Subtask> subtasksSnapshot;
 
     public Epic(String name, String description, int id, TaskStatus status, LocalDateTime startTime, Duration duration) {
         super(name, description, id, status, startTime, duration);
-        this.subtasks = new HashSet<>();
-        recalculateTimeAndDuration();
+        this.subtasks = new HashMap<>();
+        this.subtaskSnapshots = new HashMap<>();
+        this.statusCounts = new EnumMap<>(TaskStatus.class);
+        this.subtaskStartTimes = new TreeMap<>();
+        this.subtaskEndTimes = new TreeMap<>();
+        this.totalDuration = Duration.ZERO;
+        refreshTimeAndDuration();
     }
 
     @Override
@@ -25,29 +41,58 @@ public class Epic extends Task {
         return endTime;
     }
 
-    public HashSet<Subtask> getSubtasks() {
-        return subtasks;
+    public Collection<Subtask> getSubtasks() {
+        return Collections.unmodifiableCollection(subtasks.values());
+    }
+
+    public List<Subtask> getSubtasksSnapshot() {
+        var snapshot = subtasksSnapshot;
+        if (snapshot == null) {
+            snapshot = List.copyOf(subtasks.values());
+            subtasksSnapshot = snapshot;
+        }
+
+        return snapshot;
+    }
+
+    public int getSubtasksCount() {
+        return subtasks.size();
+    }
+
+    public int getSubtasksCount(TaskStatus status) {
+        return statusCounts.getOrDefault(status, 0);
     }
 
     public void addSubtask(Subtask subtask) {
-        subtasks.add(subtask);
-        recalculateTimeAndDuration();
+        putSubtask(subtask);
     }
 
     public void removeSubtask(Subtask subtask) {
-        subtasks.remove(subtask);
-        recalculateTimeAndDuration();
+        subtasks.remove(subtask.getId());
+        subtasksSnapshot = null;
+        var snapshot = subtaskSnapshots.remove(subtask.getId());
+        if (snapshot != null) {
+            unregister(snapshot);
+        }
+
+        refreshStatus();
+        refreshTimeAndDuration();
     }
 
     public void removeAllSubtasks() {
         subtasks.clear();
-        recalculateTimeAndDuration();
+        subtasksSnapshot = null;
+        subtaskSnapshots.clear();
+        statusCounts.clear();
+        subtaskStartTimes.clear();
+        subtaskEndTimes.clear();
+        totalDuration = Duration.ZERO;
+        refreshStatus();
+        refreshTimeAndDuration();
     }
 
     public void updateSubtask(Subtask subtask) {
-        subtasks.remove(subtask);
-        subtasks.add(subtask);
-        recalculateTimeAndDuration();
+        putSubtask(subtask);
     }
 
     @Override
@@ -60,19 +105,79 @@ public class Epic extends Task {
         //ignored
     }
 
-    private void recalculateTimeAndDuration() {
-        this.startTime = subtasks.stream().map(a -> a.startTime).filter(Objects::nonNull).min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.MIN);
-        this.endTime = subtasks.stream().map(Task::getEndTime).filter(Objects::nonNull).max(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.MIN);
-        this.duration = subtasks.stream().filter(a -> a.duration != null)
-                .map(a -> a.duration).reduce(Duration.ZERO, Duration::plus);
+    private void putSubtask(Subtask subtask) {
+        subtasks.put(subtask.getId(), subtask);
+        subtasksSnapshot = null;
+        var snapshot = new Snapshot(subtask.getStatus(), subtask.getStartTime(), subtask.getEndTime(),
+                subtask.getDuration());
+        var previousSnapshot = subtaskSnapshots.put(subtask.getId(), snapshot);
+        if (previousSnapshot != null) {
+            unregister(previousSnapshot);
+        }
+
+        register(snapshot);
+        refreshStatus();
+        refreshTimeAndDuration();
+    }
+
+    private void register(Snapshot snapshot) {
+        statusCounts.merge(snapshot.status(), 1, Integer::sum);
+        if (snapshot.startTime() != null) {
+            subtaskStartTimes.merge(snapshot.startTime(), 1, Integer::sum);
+        }
+
+        if (snapshot.endTime() != null) {
+            subtaskEndTimes.merge(snapshot.endTime(), 1, Integer::sum);
+        }
+
+        if (snapshot.duration() != null) {
+            totalDuration = totalDuration.plus(snapshot.duration());
+        }
+    }
+
+    private void unregister(Snapshot snapshot) {
+        decrement(statusCounts, snapshot.status());
+        if (snapshot.startTime() != null) {
+            decrement(subtaskStartTimes, snapshot.startTime());
+        }
+
+        if (snapshot.endTime() != null) {
+            decrement(subtaskEndTimes, snapshot.endTime());
+        }
+
+        if (snapshot.duration() != null) {
+            totalDuration = totalDuration.minus(snapshot.duration());
+        }
+    }
+
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void refreshStatus() {
+        var subtasksCount = subtasks.size();
+        if (subtasksCount == 0 || getSubtasksCount(TaskStatus.NEW) == subtasksCount) {
+            this.status = TaskStatus.NEW;
+        } else if (getSubtasksCount(TaskStatus.DONE) == subtasksCount) {
+            this.status = TaskStatus.DONE;
+        } else {
+            this.status = TaskStatus.IN_PROGRESS;
+        }
+    }
+
+    private void refreshTimeAndDuration() {
+        this.startTime = subtaskStartTimes.isEmpty() ? LocalDateTime.MIN : subtaskStartTimes.firstKey();
+        this.endTime = subtaskEndTimes.isEmpty() ? LocalDateTime.MIN : subtaskEndTimes.lastKey();
+        this.duration = totalDuration;
     }
 
     @Override
     public String toString() {
         return "ru.practicum.model.Epic{" +
-                "subtasks=" + subtasks +
+                "subtasks=" + subtasks.values() +
                 "} " + super.toString();
     }
+
+    private record Snapshot(TaskStatus status, LocalDateTime startTime, LocalDateTime endTime, Duration duration) {
+    }
 }
@@ -0,0 +1,188 @@
+package ru.practicum.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.model.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+abstract class BaseHttpHandler implements HttpHandler {
+    private static final int BUFFERED_BODY_SIZE = 512;
+
+    protected final TaskManager taskManager;
+    private final Lock managerLock;
+
+    protected BaseHttpHandler(TaskManager taskManager, Lock managerLock) {
+        this.taskManager = taskManager;
+        this.managerLock = managerLock;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var contextPath = exchange.getHttpContext().getPath();
+            var path = exchange.getRequestURI().getPath().substring(contextPath.length());
+            Response response;
+            if (!path.isEmpty() && !path.startsWith("/")) {
+                response = Response.notFound("Unknown path: " + exchange.getRequestURI().getPath());
+            } else {
+                try {
+                    response = handle(exchange.getRequestMethod(), splitPath(path),
+                            parseQuery(exchange.getRequestURI().getRawQuery()), exchange.getRequestBody());
+                } catch (IllegalArgumentException e) {
+                    response = Response.badRequest(e.getMessage());
+                }
+            }
+
+            send(exchange, response);
+        }
+    }
+
+    protected abstract Response handle(String method, List<String> path, Map<String, String> query,
+                                       InputStream body);
+
+    protected <T> T withManager(Supplier<T> action) {
+        if (managerLock == null) {
+            return action.get();
+        }
+
+        managerLock.lock();
+        try {
+            return action.get();
+        } finally {
+            managerLock.unlock();
+        }
+    }
+
+    protected static int parseId(String value) {
+        try {
+            var id = Integer.parseInt(value);
+            if (id <= 0) {
+                throw new IllegalArgumentException("Identifier should be positive: " + value);
+            }
+
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identifier should be an integer: " + value);
+        }
+    }
+
+    private void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.body() == null) {
+            exchange.sendResponseHeaders(response.code(), -1);
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (response.isStreamed() && (managerLock == null || !response.readsManager())) {
+            exchange.sendResponseHeaders(response.code(), 0);
+            var writer = new TaskJsonWriter(exchange.getResponseBody());
+            writeBody(response, writer);
+            writer.flush();
+            return;
+        }
+
+        var bytes = new ByteArrayOutputStream(BUFFERED_BODY_SIZE);
+        var writer = new TaskJsonWriter(bytes);
+        writeBody(response, writer);
+        writer.flush();
+        exchange.sendResponseHeaders(response.code(), bytes.size());
+        bytes.writeTo(exchange.getResponseBody());
+    }
+
+    private void writeBody(Response response, TaskJsonWriter writer) throws IOException {
+        if (managerLock == null || !response.readsManager()) {
+            response.body().writeTo(writer);
+            return;
+        }
+
+        managerLock.lock();
+        try {
+            response.body().writeTo(writer);
+        } finally {
+            managerLock.unlock();
+        }
+    }
+
+    private static List<String> splitPath(String path) {
+        if (path.isEmpty() || path.equals("/")) {
+            return List.of();
+        }
+
+        return List.of(path.substring(1).split("/", -1));
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        var parameters = new HashMap<String, String>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+
+        for (var parameter : query.split("&")) {
+            var separator = parameter.indexOf('=');
+            var name = separator < 0 ? parameter : parameter.substring(0, separator);
+            var value = separator < 0 ? "" : parameter.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+
+        return parameters;
+    }
+
+    @FunctionalInterface
+    interface Body {
+        void writeTo(TaskJsonWriter writer) throws IOException;
+    }
+
+    record Response(int code, Body body, boolean readsManager, boolean isStreamed) {
+        static Response task(Task task) {
+            return new Response(200, writer -> writer.writeTask(task), true, false);
+        }
+
+        static Response tasks(Supplier<? extends Iterable<? extends Task>> tasks) {
+            return new Response(200, writer -> writer.writeTasks(tasks.get()), true, true);
+        }
+
+        static Response id(int code, int id) {
+            return new Response(code, writer -> writer.writeId(id), false, false);
+        }
+
+        static Response applied(boolean applied) {
+            return new Response(applied ? 200 : 409, writer -> writer.writeApplied(applied), false, false);
+        }
+
+        static Response noContent() {
+            return new Response(204, null, false, false);
+        }
+
+        static Response badRequest(String message) {
+            return error(400, message);
+        }
+
+        static Response notFound(String message) {
+            return error(404, message);
+        }
+
+        static Response methodNotAllowed(String method) {
+            return error(405, "Method is not allowed: " + method);
+        }
+
+        static Response notAcceptable(String message) {
+            return error(406, message);
+        }
+
+        private static Response error(int code, String message) {
+            return new Response(code, writer -> writer.writeError(message), false, false);
+        }
+    }
+}
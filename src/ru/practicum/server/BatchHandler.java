@@ -0,0 +1,113 @@
+package ru.practicum.server;
+
+import ru.practicum.manager.TaskBatch;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskType;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+class BatchHandler extends BaseHttpHandler {
+    BatchHandler(TaskManager taskManager, Lock managerLock) {
+        super(taskManager, managerLock);
+    }
+
+    @Override
+    protected Response handle(String method, List<String> path, Map<String, String> query, InputStream body) {
+        if (!path.isEmpty()) {
+            return Response.notFound("Unknown path: " + String.join("/", path));
+        }
+
+        if (!method.equals("POST")) {
+            return Response.methodNotAllowed(method);
+        }
+
+        var reader = new TaskJsonReader(body);
+        var batch = new TaskBatch();
+        reader.beginArray();
+        while (reader.hasNextElement()) {
+            readOperation(reader, batch);
+        }
+
+        reader.endOfInput();
+        return Response.applied(withManager(() -> taskManager.applyBatch(batch)));
+    }
+
+    private static void readOperation(TaskJsonReader reader, TaskBatch batch) {
+        String operation = null;
+        TaskType taskType = null;
+        TaskJsonReader.TaskFields taskFields = null;
+        var id = 0;
+        reader.beginObject();
+        while (reader.hasNextField()) {
+            switch (reader.nextName()) {
+                case "op" -> operation = reader.readString();
+                case "type" -> taskType = parseTaskType(reader.readString());
+                case "task" -> taskFields = reader.readTaskFields();
+                case "id" -> id = reader.readInt();
+                default -> reader.skipValue();
+            }
+        }
+
+        if (taskType == null) {
+            throw new IllegalArgumentException("Batch operation should have a type");
+        }
+
+        switch (String.valueOf(operation)) {
+            case "create", "update" -> {
+                if (taskFields == null) {
+                    throw new IllegalArgumentException("Operation " + operation + " should have a task object");
+                }
+
+                addSave(batch, taskFields.toTask(taskType), operation.equals("create"));
+            }
+            case "delete" -> {
+                switch (taskType) {
+                    case TASK -> batch.deleteTask(id);
+                    case EPIC -> batch.deleteEpic(id);
+                    case SUBTASK -> batch.deleteSubtask(id);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown batch operation: " + operation);
+        }
+    }
+
+    private static void addSave(TaskBatch batch, Task task, boolean isCreate) {
+        switch (task) {
+            case Subtask subtask -> {
+                if (isCreate) {
+                    batch.createSubtask(subtask);
+                } else {
+                    batch.updateSubtask(subtask);
+                }
+            }
+            case Epic epic -> {
+                if (isCreate) {
+                    batch.createEpic(epic);
+                } else {
+                    batch.updateEpic(epic);
+                }
+            }
+            default -> {
+                if (isCreate) {
+                    batch.createTask(task);
+                } else {
+                    batch.updateTask(task);
+                }
+            }
+        }
+    }
+
+    private static TaskType parseTaskType(String typeName) {
+        try {
+            return TaskType.valueOf(String.valueOf(typeName));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown task type: " + typeName);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.server;
+
+import ru.practicum.manager.TaskManager;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+class HistoryHandler extends BaseHttpHandler {
+    HistoryHandler(TaskManager taskManager, Lock managerLock) {
+        super(taskManager, managerLock);
+    }
+
+    @Override
+    protected Response handle(String method, List<String> path, Map<String, String> query, InputStream body) {
+        if (!path.isEmpty()) {
+            return Response.notFound("Unknown path: " + String.join("/", path));
+        }
+
+        if (!method.equals("GET")) {
+            return Response.methodNotAllowed(method);
+        }
+
+        return Response.tasks(taskManager::getHistoryView);
+    }
+}
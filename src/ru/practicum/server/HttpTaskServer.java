@@ -0,0 +1,74 @@
+package ru.practicum.server;
+
+import com.sun.net.httpserver.HttpServer;
+import ru.practicum.manager.ConcurrentTaskManager;
+import ru.practicum.manager.InstrumentedTaskManager;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.metrics.TaskMetrics;
+import ru.practicum.model.TaskType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class HttpTaskServer {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int CONNECTION_BACKLOG = 1024;
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public HttpTaskServer(TaskManager taskManager) {
+        this(taskManager, DEFAULT_PORT);
+    }
+
+    public HttpTaskServer(TaskManager taskManager, int port) {
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(port), CONNECTION_BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        var instrumented = taskManager instanceof InstrumentedTaskManager manager ? manager : null;
+        var managedTasks = instrumented == null ? taskManager : instrumented.getDelegate();
+        var managerLock = managedTasks instanceof ConcurrentTaskManager ? null : new ReentrantLock();
+        server.createContext("/tasks", new TasksHandler(taskManager, managerLock, TaskType.TASK));
+        server.createContext("/epics", new TasksHandler(taskManager, managerLock, TaskType.EPIC));
+        server.createContext("/subtasks", new TasksHandler(taskManager, managerLock, TaskType.SUBTASK));
+        server.createContext("/history", new HistoryHandler(taskManager, managerLock));
+        server.createContext("/prioritized", new PrioritizedHandler(taskManager, managerLock));
+        server.createContext("/batch", new BatchHandler(taskManager, managerLock));
+        if (instrumented != null) {
+            server.createContext("/metrics", new MetricsHandler(instrumented.getMetrics()));
+        }
+
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) {
+        var port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        var metrics = new TaskMetrics();
+        metrics.registerMBeans("default");
+        var server = new HttpTaskServer(new InstrumentedTaskManager(new ConcurrentTaskManager(), metrics), port);
+        server.start();
+        System.out.println("HTTP-сервер запущен на порту " + server.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.close();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+}
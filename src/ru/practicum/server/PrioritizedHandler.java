@@ -0,0 +1,73 @@
+package ru.practicum.server;
+
+import ru.practicum.manager.TaskManager;
+import ru.practicum.model.Task;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+class PrioritizedHandler extends BaseHttpHandler {
+    PrioritizedHandler(TaskManager taskManager, Lock managerLock) {
+        super(taskManager, managerLock);
+    }
+
+    @Override
+    protected Response handle(String method, List<String> path, Map<String, String> query, InputStream body) {
+        if (!path.isEmpty()) {
+            return Response.notFound("Unknown path: " + String.join("/", path));
+        }
+
+        if (!method.equals("GET")) {
+            return Response.methodNotAllowed(method);
+        }
+
+        if (query.containsKey("from") || query.containsKey("to")) {
+            var from = parseDateTime(query, "from");
+            var to = parseDateTime(query, "to");
+            return Response.tasks(() -> taskManager.getPrioritizedTasks(from, to));
+        }
+
+        if (query.containsKey("limit")) {
+            var limit = parseLimit(query.get("limit"));
+            var cursor = parseCursor(query);
+            return Response.tasks(() -> taskManager.getPrioritizedTasksAfter(cursor, limit));
+        }
+
+        return Response.tasks(taskManager::getPrioritizedTasks);
+    }
+
+    private static Task parseCursor(Map<String, String> query) {
+        if (!query.containsKey("afterId") && !query.containsKey("afterStart")) {
+            return null;
+        }
+
+        var afterStart = parseDateTime(query, "afterStart");
+        if (afterStart == null || !query.containsKey("afterId")) {
+            throw new IllegalArgumentException("Cursor should have both afterId and afterStart");
+        }
+
+        return new Task(null, null, parseId(query.get("afterId")), null, afterStart, Duration.ZERO);
+    }
+
+    private static int parseLimit(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Page limit should be an integer: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(Map<String, String> query, String parameter) {
+        var value = query.get(parameter);
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Parameter " + parameter + " should be an ISO date-time: " + value);
+        }
+    }
+}
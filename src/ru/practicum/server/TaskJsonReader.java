@@ -0,0 +1,476 @@
+package ru.practicum.server;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+public class TaskJsonReader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int END_OF_INPUT = -1;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+    private static final int FRACTION_DIGITS = 9;
+    private static final int MAX_DEPTH = 64;
+
+    private final InputStream input;
+    private final byte[] buffer;
+    private final StringBuilder text;
+    private final boolean[] isFirstInContainer;
+    private int depth;
+    private int position;
+    private int limit;
+    private long consumed;
+
+    public TaskJsonReader(InputStream input) {
+        this.input = input;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.text = new StringBuilder();
+        this.isFirstInContainer = new boolean[MAX_DEPTH];
+    }
+
+    public Task readTask(TaskType expectedType) {
+        return readTaskFields().toTask(expectedType);
+    }
+
+    TaskFields readTaskFields() {
+        var id = 0;
+        TaskType taskType = null;
+        String name = null;
+        String description = null;
+        var status = TaskStatus.NEW;
+        LocalDateTime startTime = null;
+        Duration duration = null;
+        Integer epicId = null;
+        beginObject();
+        while (hasNextField()) {
+            switch (nextName()) {
+                case "id" -> id = readInt();
+                case "type" -> taskType = readEnum(TaskType.class, "task type");
+                case "name" -> name = readString();
+                case "description" -> description = readString();
+                case "status" -> {
+                    var value = readEnum(TaskStatus.class, "task status");
+                    status = value == null ? TaskStatus.NEW : value;
+                }
+                case "startTime" -> startTime = readDateTime();
+                case "duration" -> duration = readDuration();
+                case "epicId" -> epicId = readInt();
+                default -> skipValue();
+            }
+        }
+
+        return new TaskFields(id, taskType, name, description, status, startTime, duration, epicId);
+    }
+
+    void beginObject() {
+        expect('{');
+        beginContainer();
+    }
+
+    boolean hasNextField() {
+        return hasNext('}');
+    }
+
+    String nextName() {
+        if (skipWhitespace() != '"') {
+            throw malformed();
+        }
+
+        var name = readString();
+        expect(':');
+        return name;
+    }
+
+    public void beginArray() {
+        expect('[');
+        beginContainer();
+    }
+
+    public boolean hasNextElement() {
+        return hasNext(']');
+    }
+
+    public void endOfInput() {
+        if (skipWhitespace() != END_OF_INPUT) {
+            throw malformed();
+        }
+    }
+
+    String readString() {
+        if (skipWhitespace() == 'n') {
+            readLiteral("null");
+            return null;
+        }
+
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            var b = next();
+            if (b == '"') {
+                return text.toString();
+            }
+
+            if (b == '\\') {
+                readEscape();
+            } else if (b < 0x80) {
+                if (b < 0x20) {
+                    throw malformed();
+                }
+
+                text.append((char) b);
+            } else if ((b & 0xE0) == 0xC0) {
+                text.append((char) ((b & 0x1F) << 6 | continuation()));
+            } else if ((b & 0xF0) == 0xE0) {
+                text.append((char) ((b & 0x0F) << 12 | continuation() << 6 | continuation()));
+            } else if ((b & 0xF8) == 0xF0) {
+                text.appendCodePoint((b & 0x07) << 18 | continuation() << 12 | continuation() << 6
+                        | continuation());
+            } else {
+                throw malformed();
+            }
+        }
+    }
+
+    int readInt() {
+        var value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Integer is out of range: " + value);
+        }
+
+        return (int) value;
+    }
+
+    long readLong() {
+        var isNegative = skipWhitespace() == '-';
+        if (isNegative) {
+            position++;
+        }
+
+        var value = readDigits(false);
+        var b = peek();
+        if (b == '.' || b == 'e' || b == 'E') {
+            throw new IllegalArgumentException("Expected an integer at position " + consumed());
+        }
+
+        return isNegative ? -value : value;
+    }
+
+    boolean readBoolean() {
+        if (skipWhitespace() == 't') {
+            readLiteral("true");
+            return true;
+        }
+
+        readLiteral("false");
+        return false;
+    }
+
+    void skipValue() {
+        switch (skipWhitespace()) {
+            case '{' -> {
+                beginObject();
+                while (hasNextField()) {
+                    nextName();
+                    skipValue();
+                }
+            }
+            case '[' -> {
+                beginArray();
+                while (hasNextElement()) {
+                    skipValue();
+                }
+            }
+            case '"', 'n' -> readString();
+            case 't', 'f' -> readBoolean();
+            default -> {
+                if (peek() == '-') {
+                    position++;
+                }
+
+                readDigits(true);
+                if (peek() == '.') {
+                    position++;
+                    readDigits(true);
+                }
+
+                if (peek() == 'e' || peek() == 'E') {
+                    position++;
+                    if (peek() == '+' || peek() == '-') {
+                        position++;
+                    }
+
+                    readDigits(true);
+                }
+            }
+        }
+    }
+
+    private LocalDateTime readDateTime() {
+        var first = skipWhitespace();
+        if (first == 'n' || first == '"') {
+            var value = readString();
+            try {
+                return value == null ? null : LocalDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Expected an ISO date-time but got " + value);
+            }
+        }
+
+        var seconds = readSeconds();
+        try {
+            return LocalDateTime.ofEpochSecond(seconds[0], (int) seconds[1], ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Date-time is out of range: " + seconds[0]);
+        }
+    }
+
+    private Duration readDuration() {
+        var first = skipWhitespace();
+        if (first == 'n' || first == '"') {
+            var value = readString();
+            try {
+                return value == null ? null : Duration.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Expected an ISO duration but got " + value);
+            }
+        }
+
+        var seconds = readSeconds();
+        try {
+            return Duration.ofSeconds(seconds[0], seconds[1]);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Duration is out of range: " + seconds[0]);
+        }
+    }
+
+    private long[] readSeconds() {
+        var isNegative = peek() == '-';
+        if (isNegative) {
+            position++;
+        }
+
+        var seconds = readDigits(false);
+        var nanos = 0L;
+        if (peek() == '.') {
+            position++;
+            var digits = 0;
+            while (peek() >= '0' && peek() <= '9') {
+                if (++digits > FRACTION_DIGITS) {
+                    throw new IllegalArgumentException("Too many fraction digits at position " + consumed());
+                }
+
+                nanos = nanos * 10 + next() - '0';
+            }
+
+            if (digits == 0) {
+                throw malformed();
+            }
+
+            for (; digits < FRACTION_DIGITS; digits++) {
+                nanos *= 10;
+            }
+        }
+
+        if (!isNegative) {
+            return new long[]{seconds, nanos};
+        }
+
+        return nanos == 0 ? new long[]{-seconds, 0} : new long[]{-seconds - 1, NANOS_PER_SECOND - nanos};
+    }
+
+    private <E extends Enum<E>> E readEnum(Class<E> enumType, String description) {
+        var value = readString();
+        try {
+            return value == null ? null : Enum.valueOf(enumType, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + description + ": " + value);
+        }
+    }
+
+    private long readDigits(boolean allowOverflow) {
+        var value = 0L;
+        var digits = 0;
+        while (peek() >= '0' && peek() <= '9') {
+            var digit = next() - '0';
+            if (!allowOverflow && value > (Long.MAX_VALUE - digit) / 10) {
+                throw new IllegalArgumentException("Number is too large at position " + consumed());
+            }
+
+            value = value * 10 + digit;
+            digits++;
+        }
+
+        if (digits == 0) {
+            throw malformed();
+        }
+
+        return value;
+    }
+
+    private void readEscape() {
+        var escaped = next();
+        switch (escaped) {
+            case '"', '\\', '/' -> text.append((char) escaped);
+            case 'b' -> text.append('\b');
+            case 'f' -> text.append('\f');
+            case 'n' -> text.append('\n');
+            case 'r' -> text.append('\r');
+            case 't' -> text.append('\t');
+            case 'u' -> {
+                var value = 0;
+                for (int i = 0; i < 4; i++) {
+                    var digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw malformed();
+                    }
+
+                    value = value << 4 | digit;
+                }
+
+                text.append((char) value);
+            }
+            default -> throw malformed();
+        }
+    }
+
+    private int continuation() {
+        var b = next();
+        if ((b & 0xC0) != 0x80) {
+            throw malformed();
+        }
+
+        return b & 0x3F;
+    }
+
+    private void readLiteral(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i)) {
+                throw malformed();
+            }
+        }
+    }
+
+    private void beginContainer() {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalArgumentException("JSON is nested too deeply at position " + consumed());
+        }
+
+        isFirstInContainer[depth++] = true;
+    }
+
+    private boolean hasNext(char end) {
+        if (depth == 0) {
+            throw malformed();
+        }
+
+        if (skipWhitespace() == end) {
+            position++;
+            depth--;
+            return false;
+        }
+
+        if (isFirstInContainer[depth - 1]) {
+            isFirstInContainer[depth - 1] = false;
+        } else {
+            expect(',');
+        }
+
+        return true;
+    }
+
+    private void expect(char expected) {
+        if (skipWhitespace() != expected) {
+            throw malformed();
+        }
+
+        position++;
+    }
+
+    private int skipWhitespace() {
+        while (true) {
+            var b = peek();
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b;
+            }
+
+            position++;
+        }
+    }
+
+    private int peek() {
+        if (position == limit && !fill()) {
+            return END_OF_INPUT;
+        }
+
+        return buffer[position] & 0xFF;
+    }
+
+    private int next() {
+        var b = peek();
+        if (b == END_OF_INPUT) {
+            throw malformed();
+        }
+
+        position++;
+        return b;
+    }
+
+    private boolean fill() {
+        try {
+            consumed += limit;
+            position = 0;
+            limit = Math.max(0, input.read(buffer));
+            return limit > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long consumed() {
+        return consumed + position;
+    }
+
+    private IllegalArgumentException malformed() {
+        return new IllegalArgumentException("Malformed JSON at position " + consumed());
+    }
+
+    record TaskFields(int id, TaskType taskType, String name, String description, TaskStatus status,
+                      LocalDateTime startTime, Duration duration, Integer epicId) {
+        Task toTask(TaskType expectedType) {
+            if (taskType != null && expectedType != null && taskType != expectedType) {
+                throw new IllegalArgumentException("Expected " + expectedType + " but got " + taskType);
+            }
+
+            var resolvedType = taskType == null ? expectedType : taskType;
+            if (resolvedType == null) {
+                throw new IllegalArgumentException("Task should have a type");
+            }
+
+            if (startTime != null && duration == null) {
+                throw new IllegalArgumentException("Task with a start time should have a duration");
+            }
+
+            return switch (resolvedType) {
+                case TASK -> new Task(name, description, id, status, startTime, duration);
+                case EPIC -> new Epic(name, description, id, status, null, null);
+                case SUBTASK -> {
+                    if (epicId == null) {
+                        throw new IllegalArgumentException("Subtask should have an epicId");
+                    }
+
+                    yield new Subtask(name, description, id, status, epicId, startTime, duration);
+                }
+            };
+        }
+    }
+}
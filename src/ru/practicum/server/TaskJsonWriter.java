@@ -0,0 +1,252 @@
+package ru.practicum.server;
+
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public class TaskJsonWriter {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+    private static final int MAX_NUMBER_LENGTH = 32;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = "null".getBytes();
+    private static final byte[] ID_FIELD = "{\"id\":".getBytes();
+    private static final byte[] TYPE_FIELD = ",\"type\":\"".getBytes();
+    private static final byte[] NAME_FIELD = "\",\"name\":".getBytes();
+    private static final byte[] DESCRIPTION_FIELD = ",\"description\":".getBytes();
+    private static final byte[] STATUS_FIELD = ",\"status\":".getBytes();
+    private static final byte[] START_TIME_FIELD = ",\"startTime\":".getBytes();
+    private static final byte[] DURATION_FIELD = ",\"duration\":".getBytes();
+    private static final byte[] END_TIME_FIELD = ",\"endTime\":".getBytes();
+    private static final byte[] EPIC_ID_FIELD = ",\"epicId\":".getBytes();
+    private static final byte[] ERROR_FIELD = "{\"error\":".getBytes();
+    private static final byte[] APPLIED_FIELD = "{\"applied\":".getBytes();
+
+    private final OutputStream output;
+    private final byte[] buffer;
+    private int position;
+
+    public TaskJsonWriter(OutputStream output) {
+        this.output = output;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    public void writeTasks(Iterable<? extends Task> tasks) throws IOException {
+        writeByte('[');
+        var isFirst = true;
+        for (var task : tasks) {
+            if (!isFirst) {
+                writeByte(',');
+            }
+
+            writeTask(task);
+            isFirst = false;
+        }
+
+        writeByte(']');
+    }
+
+    void writeTask(Task task) throws IOException {
+        writeBytes(ID_FIELD);
+        writeLong(task.getId());
+        writeBytes(TYPE_FIELD);
+        writeAscii(task.getTaskType().name());
+        writeBytes(NAME_FIELD);
+        writeString(task.getName());
+        writeBytes(DESCRIPTION_FIELD);
+        writeString(task.getDescription());
+        writeBytes(STATUS_FIELD);
+        if (task.getStatus() == null) {
+            writeBytes(NULL);
+        } else {
+            writeByte('"');
+            writeAscii(task.getStatus().name());
+            writeByte('"');
+        }
+
+        writeBytes(START_TIME_FIELD);
+        writeDateTime(task.getStartTime());
+        writeBytes(DURATION_FIELD);
+        writeDuration(task.getDuration());
+        writeBytes(END_TIME_FIELD);
+        writeDateTime(task.getEndTime());
+        if (task instanceof Subtask subtask) {
+            writeBytes(EPIC_ID_FIELD);
+            writeLong(subtask.getEpicId());
+        }
+
+        writeByte('}');
+    }
+
+    void writeId(int id) throws IOException {
+        writeBytes(ID_FIELD);
+        writeLong(id);
+        writeByte('}');
+    }
+
+    void writeApplied(boolean applied) throws IOException {
+        writeBytes(APPLIED_FIELD);
+        writeAscii(String.valueOf(applied));
+        writeByte('}');
+    }
+
+    void writeError(String message) throws IOException {
+        writeBytes(ERROR_FIELD);
+        writeString(message);
+        writeByte('}');
+    }
+
+    public void flush() throws IOException {
+        output.write(buffer, 0, position);
+        position = 0;
+        output.flush();
+    }
+
+    private void writeDateTime(LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            writeBytes(NULL);
+            return;
+        }
+
+        writeSeconds(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano());
+    }
+
+    private void writeDuration(Duration duration) throws IOException {
+        if (duration == null) {
+            writeBytes(NULL);
+            return;
+        }
+
+        writeSeconds(duration.getSeconds(), duration.getNano());
+    }
+
+    private void writeSeconds(long seconds, int nanos) throws IOException {
+        ensureCapacity(MAX_NUMBER_LENGTH);
+        if (seconds < 0 && nanos > 0) {
+            buffer[position++] = '-';
+            seconds = -(seconds + 1);
+            nanos = NANOS_PER_SECOND - nanos;
+        }
+
+        writeLong(seconds);
+        if (nanos == 0) {
+            return;
+        }
+
+        buffer[position++] = '.';
+        var divisor = NANOS_PER_SECOND / 10;
+        while (nanos > 0) {
+            buffer[position++] = (byte) ('0' + nanos / divisor);
+            nanos %= divisor;
+            divisor /= 10;
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        ensureCapacity(MAX_NUMBER_LENGTH);
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        var length = 1;
+        for (var bound = 10L; length < 19 && value >= bound; bound *= 10) {
+            length++;
+        }
+
+        for (int i = position + length - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+
+        position += length;
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+            return;
+        }
+
+        writeByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            ensureCapacity(6);
+            var c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x20 || c == '"' || c == '\\') {
+                writeEscaped(c);
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                var codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        writeByte('"');
+    }
+
+    private void writeEscaped(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"', '\\' -> buffer[position++] = (byte) c;
+            case '\n' -> buffer[position++] = 'n';
+            case '\r' -> buffer[position++] = 'r';
+            case '\t' -> buffer[position++] = 't';
+            default -> {
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX_DIGITS[c >> 4];
+                buffer[position++] = HEX_DIGITS[c & 0xF];
+            }
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (position + length > buffer.length) {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
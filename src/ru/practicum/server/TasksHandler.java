@@ -0,0 +1,150 @@
+package ru.practicum.server;
+
+import ru.practicum.manager.TaskBatch;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskType;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+class TasksHandler extends BaseHttpHandler {
+    private final TaskType taskType;
+
+    TasksHandler(TaskManager taskManager, Lock managerLock, TaskType taskType) {
+        super(taskManager, managerLock);
+        this.taskType = taskType;
+    }
+
+    @Override
+    protected Response handle(String method, List<String> path, Map<String, String> query, InputStream body) {
+        return switch (path.size()) {
+            case 0 -> switch (method) {
+                case "GET" -> Response.tasks(this::getAll);
+                case "POST" -> {
+                    var reader = new TaskJsonReader(body);
+                    var task = reader.readTask(taskType);
+                    reader.endOfInput();
+                    yield save(task);
+                }
+                case "DELETE" -> withManager(this::deleteAll);
+                default -> Response.methodNotAllowed(method);
+            };
+            case 1 -> {
+                var id = parseId(path.getFirst());
+                yield switch (method) {
+                    case "GET" -> withManager(() -> {
+                        var task = get(id);
+                        return task == null ? notFound(id) : Response.task(task);
+                    });
+                    case "DELETE" -> withManager(() -> delete(id));
+                    default -> Response.methodNotAllowed(method);
+                };
+            }
+            case 2 -> {
+                if (taskType != TaskType.EPIC || !path.get(1).equals("subtasks")) {
+                    yield Response.notFound("Unknown path: " + String.join("/", path));
+                }
+
+                if (!method.equals("GET")) {
+                    yield Response.methodNotAllowed(method);
+                }
+
+                var epicId = parseId(path.getFirst());
+                yield withManager(() -> {
+                    if (taskManager.getSubtasksByEpicView(epicId).isEmpty()
+                            && !taskManager.containsTask(TaskType.EPIC, epicId)) {
+                        return notFound(epicId);
+                    }
+
+                    return Response.tasks(() -> taskManager.getSubtasksByEpicView(epicId));
+                });
+            }
+            default -> Response.notFound("Unknown path: " + String.join("/", path));
+        };
+    }
+
+    private Response save(Task task) {
+        if (task.getId() == 0) {
+            return withManager(() -> {
+                var id = switch (task) {
+                    case Subtask subtask -> taskManager.createSubtask(subtask);
+                    case Epic epic -> taskManager.createEpic(epic);
+                    default -> taskManager.createTask(task);
+                };
+                if (id != -1) {
+                    return Response.id(201, id);
+                }
+
+                if (task instanceof Subtask subtask && !taskManager.containsTask(TaskType.EPIC, subtask.getEpicId())) {
+                    return Response.notFound("Epic is not found: " + subtask.getEpicId());
+                }
+
+                return Response.notAcceptable("Task overlaps with another task in time");
+            });
+        }
+
+        var batch = switch (task) {
+            case Subtask subtask -> new TaskBatch().updateSubtask(subtask);
+            case Epic epic -> new TaskBatch().updateEpic(epic);
+            default -> new TaskBatch().updateTask(task);
+        };
+        return withManager(() -> {
+            if (taskManager.applyBatch(batch)) {
+                return Response.id(200, task.getId());
+            }
+
+            if (!taskManager.containsTask(taskType, task.getId())) {
+                return notFound(task.getId());
+            }
+
+            return Response.notAcceptable("Task overlaps with another task in time");
+        });
+    }
+
+    private Collection<? extends Task> getAll() {
+        return switch (taskType) {
+            case TASK -> taskManager.getTasksView();
+            case EPIC -> taskManager.getEpicsView();
+            case SUBTASK -> taskManager.getSubtasksView();
+        };
+    }
+
+    private Task get(int id) {
+        return switch (taskType) {
+            case TASK -> taskManager.getTask(id);
+            case EPIC -> taskManager.getEpic(id);
+            case SUBTASK -> taskManager.getSubtask(id);
+        };
+    }
+
+    private Response delete(int id) {
+        switch (taskType) {
+            case TASK -> taskManager.deleteTask(id);
+            case EPIC -> taskManager.deleteEpic(id);
+            case SUBTASK -> taskManager.deleteSubtask(id);
+        }
+
+        return Response.noContent();
+    }
+
+    private Response deleteAll() {
+        switch (taskType) {
+            case TASK -> taskManager.deleteAllTasks();
+            case EPIC -> taskManager.deleteAllEpics();
+            case SUBTASK -> taskManager.deleteAllSubtasks();
+        }
+
+        return Response.noContent();
+    }
+
+    private Response notFound(int id) {
+        return Response.notFound(taskType.name().charAt(0) + taskType.name().substring(1).toLowerCase()
+                + " is not found: " + id);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+public class BenchmarkRunner {
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private long blackhole;
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+    }
+
+    public <S> void run(String name, int boardSize, int operationsPerIteration, Supplier<S> fixture,
+                        Operation<S> operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(fixture.get(), operationsPerIteration, operation);
+        }
+
+        var nanosPerOperation = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            nanosPerOperation[i] = (double) runIteration(fixture.get(), operationsPerIteration, operation)
+                    / operationsPerIteration;
+        }
+
+        Arrays.sort(nanosPerOperation);
+        var median = nanosPerOperation[nanosPerOperation.length / 2];
+        System.out.printf(Locale.ROOT, "%-45s %10d %14.1f %14.1f %14.1f %14.0f%n", name, boardSize, median,
+                nanosPerOperation[0], nanosPerOperation[nanosPerOperation.length - 1], 1e9 / median);
+    }
+
+    public static void printHeader() {
+        System.out.printf(Locale.ROOT, "%-45s %10s %14s %14s %14s %14s%n", "benchmark", "board", "median ns/op",
+                "min ns/op", "max ns/op", "ops/s");
+    }
+
+    public long getBlackhole() {
+        return blackhole;
+    }
+
+    public void consume(long value) {
+        blackhole += value;
+    }
+
+    private <S> long runIteration(S state, int operationsPerIteration, Operation<S> operation) {
+        var start = System.nanoTime();
+        for (int i = 0; i < operationsPerIteration; i++) {
+            blackhole += operation.run(state, i);
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    public interface Operation<S> {
+        long run(S state, int operationIndex);
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.benchmark;
+
+import ru.practicum.manager.ConcurrentTaskManager;
+import ru.practicum.manager.InMemoryTaskManager;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.server.HttpTaskServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class HttpServerLoadBenchmark {
+    private static final LocalDateTime BOARD_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int READS_SHARE = 80;
+    private static final int PAGES_SHARE = 10;
+
+    public static void main(String[] args) throws Exception {
+        var clients = 1_000;
+        var seconds = 10;
+        var tasks = 10_000;
+        var kind = ManagerKind.CONCURRENT;
+        for (var arg : args) {
+            var value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("clients=")) {
+                clients = Integer.parseInt(value);
+            } else if (arg.startsWith("seconds=")) {
+                seconds = Integer.parseInt(value);
+            } else if (arg.startsWith("tasks=")) {
+                tasks = Integer.parseInt(value);
+            } else if (arg.startsWith("manager=")) {
+                kind = ManagerKind.valueOf(value);
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(clients * 2));
+        var taskManager = kind.factory.get();
+        for (int i = 0; i < tasks; i++) {
+            taskManager.createTask(new Task("task " + i, "description " + i, 0, TaskStatus.NEW,
+                    BOARD_START.plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        var server = new HttpTaskServer(taskManager, 0);
+        server.start();
+        try (var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var baseUri = "http://localhost:" + server.getPort();
+            var nextSlot = new AtomicInteger(tasks);
+            var errors = new AtomicInteger();
+            run(client, executor, baseUri, clients, Math.max(1, seconds / 5), tasks, nextSlot, errors);
+            var startedAt = System.nanoTime();
+            var latencies = run(client, executor, baseUri, clients, seconds, tasks, nextSlot, errors);
+            var elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+            Arrays.sort(latencies);
+            System.out.printf(Locale.ROOT, "manager=%s clients=%d tasks=%d requests=%d errors=%d%n",
+                    kind, clients, tasks, latencies.length, errors.get());
+            System.out.printf(Locale.ROOT, "throughput=%.0f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                    latencies.length / elapsedSeconds, percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6, latencies[latencies.length - 1] / 1e6);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static long[] run(HttpClient client, ExecutorService executor, String baseUri,
+                              int clients, int seconds, int tasks, AtomicInteger nextSlot, AtomicInteger errors)
+            throws Exception {
+        var start = new CountDownLatch(1);
+        var deadline = new long[1];
+        var futures = new ArrayList<Future<long[]>>(clients);
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                var latencies = new long[256];
+                var count = 0;
+                var random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline[0]) {
+                    var request = nextRequest(baseUri, random, tasks, nextSlot);
+                    var requestStart = System.nanoTime();
+                    var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    var latency = System.nanoTime() - requestStart;
+                    if (response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    }
+
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+
+                    latencies[count++] = latency;
+                }
+
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        deadline[0] = System.nanoTime() + seconds * 1_000_000_000L;
+        start.countDown();
+        var clientLatencies = new ArrayList<long[]>(clients);
+        var total = 0;
+        for (var future : futures) {
+            var latencies = future.get();
+            clientLatencies.add(latencies);
+            total += latencies.length;
+        }
+
+        var allLatencies = new long[total];
+        var position = 0;
+        for (var latencies : clientLatencies) {
+            System.arraycopy(latencies, 0, allLatencies, position, latencies.length);
+            position += latencies.length;
+        }
+
+        return allLatencies;
+    }
+
+    private static HttpRequest nextRequest(String baseUri, ThreadLocalRandom random, int tasks,
+                                           AtomicInteger nextSlot) {
+        var dice = random.nextInt(100);
+        if (dice < READS_SHARE) {
+            return HttpRequest.newBuilder(URI.create(baseUri + "/tasks/" + (1 + random.nextInt(tasks)))).GET()
+                    .build();
+        }
+
+        if (dice < READS_SHARE + PAGES_SHARE) {
+            return HttpRequest.newBuilder(URI.create(baseUri + "/prioritized?limit=20")).GET().build();
+        }
+
+        var startTime = BOARD_START.plusHours(nextSlot.getAndIncrement());
+        var body = "{\"name\":\"created\",\"description\":\"load\",\"startTime\":\"" + startTime
+                + "\",\"duration\":\"PT30M\"}";
+        return HttpRequest.newBuilder(URI.create(baseUri + "/tasks"))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long percentile(long[] sortedLatencies, double quantile) {
+        var index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)];
+    }
+
+    private enum ManagerKind {
+        IN_MEMORY(InMemoryTaskManager::new),
+        CONCURRENT(ConcurrentTaskManager::new);
+
+        private final Supplier<TaskManager> factory;
+
+        ManagerKind(Supplier<TaskManager> factory) {
+            this.factory = factory;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package ru.practicum.benchmark;
+
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+import ru.practicum.server.TaskJsonReader;
+import ru.practicum.server.TaskJsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JsonCodecBenchmark {
+    private static final LocalDateTime BOARD_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int SUBTASKS_SHARE = 10;
+
+    public static void main(String[] args) {
+        var size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        var runner = new BenchmarkRunner(3, 5);
+        var tasks = createTasks(size);
+        var streamingPayload = encodeStreaming(tasks, new ByteArrayOutputStream());
+        var reflectivePayload = ReflectiveJsonCodec.encode(tasks);
+        System.out.printf(Locale.ROOT, "payload bytes: streaming=%d reflective=%d%n", streamingPayload.length,
+                reflectivePayload.length);
+        System.out.printf(Locale.ROOT, "allocated bytes per encode: streaming=%d reflective=%d%n",
+                allocatedBytes(() -> encodeStreaming(tasks, OutputSink.INSTANCE)),
+                allocatedBytes(() -> ReflectiveJsonCodec.encode(tasks)));
+        BenchmarkRunner.printHeader();
+        runner.run("encode streaming (whole payload)", size, 1, () -> tasks,
+                (state, i) -> encodeStreaming(state, OutputSink.INSTANCE).length);
+        runner.run("encode reflective tree (whole payload)", size, 1, () -> tasks,
+                (state, i) -> ReflectiveJsonCodec.encode(state).length);
+        runner.run("decode streaming (whole payload)", size, 1, () -> streamingPayload,
+                (state, i) -> decodeStreaming(state).size());
+        runner.run("decode reflective tree (whole payload)", size, 1, () -> reflectivePayload,
+                (state, i) -> ReflectiveJsonCodec.decode(state).size());
+        System.out.println("blackhole=" + runner.getBlackhole());
+    }
+
+    private static List<Task> createTasks(int size) {
+        var tasks = new ArrayList<Task>(size);
+        var epicId = 0;
+        for (int id = 1; id <= size; id++) {
+            var startTime = BOARD_START.plusHours(id);
+            if (id % SUBTASKS_SHARE == 1) {
+                epicId = id;
+                tasks.add(new Epic("Epic " + id, "Benchmark epic " + id, id, TaskStatus.NEW, null, null));
+            } else if (id % 3 == 0) {
+                tasks.add(new Subtask("Subtask " + id, "Подзадача для нагрузки " + id, id, TaskStatus.IN_PROGRESS,
+                        epicId, startTime, Duration.ofMinutes(45)));
+            } else {
+                tasks.add(new Task("Task " + id, "Benchmark task " + id, id, TaskStatus.NEW, startTime,
+                        Duration.ofMinutes(30)));
+            }
+        }
+
+        return tasks;
+    }
+
+    private static byte[] encodeStreaming(List<Task> tasks, ByteArrayOutputStream output) {
+        try {
+            output.reset();
+            var writer = new TaskJsonWriter(output);
+            writer.writeTasks(tasks);
+            writer.flush();
+            return output == OutputSink.INSTANCE ? OutputSink.EMPTY : output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Task> decodeStreaming(byte[] payload) {
+        var reader = new TaskJsonReader(new ByteArrayInputStream(payload));
+        var tasks = new ArrayList<Task>();
+        reader.beginArray();
+        while (reader.hasNextElement()) {
+            tasks.add(reader.readTask(null));
+        }
+
+        reader.endOfInput();
+        return tasks;
+    }
+
+    private static long allocatedBytes(Runnable action) {
+        var threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        action.run();
+        var before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static class OutputSink extends ByteArrayOutputStream {
+        private static final OutputSink INSTANCE = new OutputSink();
+        private static final byte[] EMPTY = new byte[0];
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+        }
+
+        @Override
+        public void write(int b) {
+        }
+    }
+
+    private static class ReflectiveJsonCodec {
+        private static final Map<Class<?>, List<Method>> GETTERS = new ConcurrentHashMap<>();
+
+        private static byte[] encode(List<Task> tasks) {
+            var trees = new ArrayList<Object>(tasks.size());
+            for (var task : tasks) {
+                trees.add(toTree(task));
+            }
+
+            var json = new StringBuilder();
+            writeValue(json, trees);
+            return json.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static List<Task> decode(byte[] payload) {
+            var parser = new TreeParser(new String(payload, StandardCharsets.UTF_8));
+            var tasks = new ArrayList<Task>();
+            for (var tree : (List<?>) parser.readValue()) {
+                tasks.add(fromTree((Map<?, ?>) tree));
+            }
+
+            return tasks;
+        }
+
+        private static Map<String, Object> toTree(Object value) {
+            var tree = new LinkedHashMap<String, Object>();
+            for (var getter : GETTERS.computeIfAbsent(value.getClass(), ReflectiveJsonCodec::findGetters)) {
+                try {
+                    var fieldValue = getter.invoke(value);
+                    var name = getter.getName().substring(3);
+                    tree.put(Character.toLowerCase(name.charAt(0)) + name.substring(1), fieldValue);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            return tree;
+        }
+
+        private static List<Method> findGetters(Class<?> type) {
+            var getters = new ArrayList<Method>();
+            for (var method : type.getMethods()) {
+                if (method.getName().startsWith("get") && method.getParameterCount() == 0
+                        && !Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass() != Object.class
+                        && !Collection.class.isAssignableFrom(method.getReturnType())) {
+                    getters.add(method);
+                }
+            }
+
+            return getters;
+        }
+
+        private static Task fromTree(Map<?, ?> tree) {
+            var type = TaskType.valueOf((String) tree.get("taskType"));
+            var id = ((Number) tree.get("id")).intValue();
+            var name = (String) tree.get("name");
+            var description = (String) tree.get("description");
+            var status = tree.get("status") == null ? null : TaskStatus.valueOf((String) tree.get("status"));
+            var startTime = tree.get("startTime") == null ? null : LocalDateTime.parse((String) tree.get("startTime"));
+            var duration = tree.get("duration") == null ? null : Duration.parse((String) tree.get("duration"));
+            return switch (type) {
+                case TASK -> new Task(name, description, id, status, startTime, duration);
+                case EPIC -> new Epic(name, description, id, status, null, null);
+                case SUBTASK -> new Subtask(name, description, id, status, ((Number) tree.get("epicId")).intValue(),
+                        startTime, duration);
+            };
+        }
+
+        private static void writeValue(StringBuilder json, Object value) {
+            switch (value) {
+                case null -> json.append("null");
+                case Map<?, ?> map -> {
+                    json.append('{');
+                    var isFirst = true;
+                    for (var entry : map.entrySet()) {
+                        json.append(isFirst ? "" : ",");
+                        writeValue(json, String.valueOf(entry.getKey()));
+                        json.append(':');
+                        writeValue(json, entry.getValue());
+                        isFirst = false;
+                    }
+
+                    json.append('}');
+                }
+                case List<?> list -> {
+                    json.append('[');
+                    for (int i = 0; i < list.size(); i++) {
+                        json.append(i == 0 ? "" : ",");
+                        writeValue(json, list.get(i));
+                    }
+
+                    json.append(']');
+                }
+                case Number number -> json.append(number);
+                case Boolean bool -> json.append(bool);
+                default -> {
+                    var text = value instanceof Enum<?> constant ? constant.name() : value.toString();
+                    json.append('"');
+                    for (int i = 0; i < text.length(); i++) {
+                        var c = text.charAt(i);
+                        if (c == '"' || c == '\\') {
+                            json.append('\\').append(c);
+                        } else if (c < 0x20) {
+                            json.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            json.append(c);
+                        }
+                    }
+
+                    json.append('"');
+                }
+            }
+        }
+    }
+
+    private static class TreeParser {
+        private final String json;
+        private int position;
+
+        private TreeParser(String json) {
+            this.json = json;
+        }
+
+        private Object readValue() {
+            skipWhitespace();
+            return switch (json.charAt(position)) {
+                case '{' -> {
+                    var map = new HashMap<String, Object>();
+                    position++;
+                    skipWhitespace();
+                    if (json.charAt(position) == '}') {
+                        position++;
+                        yield map;
+                    }
+
+                    do {
+                        skipWhitespace();
+                        var name = (String) readValue();
+                        skipWhitespace();
+                        position++;
+                        map.put(name, readValue());
+                        skipWhitespace();
+                    } while (json.charAt(position++) == ',');
+                    yield map;
+                }
+                case '[' -> {
+                    var list = new ArrayList<>();
+                    position++;
+                    skipWhitespace();
+                    if (json.charAt(position) == ']') {
+                        position++;
+                        yield list;
+                    }
+
+                    do {
+                        list.add(readValue());
+                        skipWhitespace();
+                    } while (json.charAt(position++) == ',');
+                    yield list;
+                }
+                case '"' -> {
+                    var text = new StringBuilder();
+                    position++;
+                    for (var c = json.charAt(position++); c != '"'; c = json.charAt(position++)) {
+                        if (c == '\\') {
+                            c = json.charAt(position++);
+                            if (c == 'u') {
+                                c = (char) Integer.parseInt(json, position, position + 4, 16);
+                                position += 4;
+                            }
+                        }
+
+                        text.append(c);
+                    }
+
+                    yield text.toString();
+                }
+                case 'n' -> {
+                    position += 4;
+                    yield null;
+                }
+                case 't', 'f' -> {
+                    var value = json.charAt(position) == 't';
+                    position += value ? 4 : 5;
+                    yield value;
+                }
+                default -> {
+                    var start = position;
+                    while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+                        position++;
+                    }
+
+                    yield Double.parseDouble(json.substring(start, position));
+                }
+            };
+        }
+
+        private void skipWhitespace() {
+            while (Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
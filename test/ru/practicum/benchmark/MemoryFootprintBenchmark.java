@@ -0,0 +1,90 @@
+package ru.practicum.benchmark;
+
+import ru.practicum.manager.ColumnarTaskManager;
+import ru.practicum.manager.InMemoryTaskManager;
+import ru.practicum.manager.IntObjectHashMap;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+public class MemoryFootprintBenchmark {
+    private static final int GC_ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        var sizes = args.length == 0 ? new int[]{100_000, 1_000_000} : parseSizes(args[0]);
+        System.out.printf(Locale.ROOT, "%-25s %10s %16s%n", "storage", "tasks", "bytes/task");
+        for (var size : sizes) {
+            var tasks = createTasks(size);
+            report("HashMap<Integer, Task>", size, count -> {
+                var map = new HashMap<Integer, Task>();
+                for (int i = 0; i < count; i++) {
+                    map.put(tasks[i].getId(), tasks[i]);
+                }
+
+                return map;
+            });
+            report("IntObjectHashMap<Task>", size, count -> {
+                var map = new IntObjectHashMap<Task>();
+                for (int i = 0; i < count; i++) {
+                    map.put(tasks[i].getId(), tasks[i]);
+                }
+
+                return map;
+            });
+            report("InMemoryTaskManager", size, count -> fillBoard(new InMemoryTaskManager(), count));
+            report("ColumnarTaskManager", size, count -> fillBoard(new ColumnarTaskManager(), count));
+        }
+    }
+
+    private static TaskManager fillBoard(TaskManager manager, int size) {
+        var startTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            manager.createTask(new Task("Task " + i, "Benchmark task " + i, 0, TaskStatus.NEW,
+                    startTime.plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        return manager;
+    }
+
+    private static void report(String name, int size, IntFunction<Object> storageFactory)
+            throws InterruptedException {
+        var before = usedMemory();
+        var storage = storageFactory.apply(size);
+        var after = usedMemory();
+        System.out.printf(Locale.ROOT, "%-25s %10d %16.1f%n", name, size, (double) (after - before) / size);
+        Reference.reachabilityFence(storage);
+    }
+
+    private static Task[] createTasks(int size) {
+        var tasks = new Task[size];
+        var startTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            tasks[i] = new Task("Task", "Benchmark task", 1_000_000 + i, TaskStatus.NEW,
+                    startTime.plusHours(i), Duration.ofMinutes(30));
+        }
+
+        return tasks;
+    }
+
+    private static long usedMemory() throws InterruptedException {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int[] parseSizes(String sizes) {
+        return Arrays.stream(sizes.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+}
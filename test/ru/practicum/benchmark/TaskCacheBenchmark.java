@@ -0,0 +1,92 @@
+package ru.practicum.benchmark;
+
+import ru.practicum.manager.HistoryManager;
+import ru.practicum.manager.MappedTaskManager;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+public class TaskCacheBenchmark {
+    private static final LocalDateTime BOARD_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int READS_PER_ITERATION = 1_000_000;
+    private static final int HOT_READS_SHARE = 90;
+
+    public static void main(String[] args) throws IOException {
+        var size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        var hotSetSize = args.length > 1 ? Integer.parseInt(args[1]) : size / 100;
+        var file = File.createTempFile("kanban-cache-benchmark", ".slots");
+        try (var manager = new MappedTaskManager(file)) {
+            for (int i = 0; i < size; i++) {
+                manager.createTask(new Task("Task " + i, "Cold storage benchmark task " + i, 0, TaskStatus.NEW,
+                        BOARD_START.plusHours(i), Duration.ofMinutes(30)));
+            }
+        }
+
+        var ids = createAccessPattern(size, hotSetSize);
+        var runner = new BenchmarkRunner(2, 5);
+        BenchmarkRunner.printHeader();
+        for (var capacity : new int[]{0, hotSetSize / 2, hotSetSize * 2}) {
+            try (var manager = capacity == 0 ? new MappedTaskManager(file, new NoHistory())
+                    : MappedTaskManager.withCache(file, new NoHistory(), capacity)) {
+                runner.run("getTask 90/10 hot set, cache=" + capacity, size, READS_PER_ITERATION, () -> manager,
+                        (state, i) -> state.getTask(ids[i]).getName().length());
+                var stats = manager.getCacheStats();
+                System.out.printf(Locale.ROOT, "    hits=%d misses=%d evictions=%d size=%d hitRate=%.3f%n",
+                        stats.hits(), stats.misses(), stats.evictions(), stats.size(), stats.hitRate());
+            }
+        }
+
+        System.out.println("blackhole=" + runner.getBlackhole());
+        MappedFiles.delete(file);
+    }
+
+    private static int[] createAccessPattern(int size, int hotSetSize) {
+        var random = new Random(42);
+        var ids = new int[READS_PER_ITERATION];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1 + (random.nextInt(100) < HOT_READS_SHARE ? random.nextInt(hotSetSize) : random.nextInt(size));
+        }
+
+        return ids;
+    }
+
+    private static class NoHistory implements HistoryManager {
+        @Override
+        public void add(Task task) {
+        }
+
+        @Override
+        public void remove(Task task) {
+        }
+
+        @Override
+        public List<Task> getHistory() {
+            return List.of();
+        }
+
+        @Override
+        public List<Task> getHistoryView() {
+            return List.of();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+
+    private static class MappedFiles {
+        private static void delete(File file) {
+            for (var suffix : new String[]{"", ".strings", ".order"}) {
+                new File(file.getPath() + suffix).delete();
+            }
+        }
+    }
+}
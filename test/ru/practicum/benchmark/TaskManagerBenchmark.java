@@ -0,0 +1,337 @@
+package ru.practicum.benchmark;
+
+import ru.practicum.manager.ColumnarTaskManager;
+import ru.practicum.manager.FileBackedTaskManager;
+import ru.practicum.manager.InMemoryTaskManager;
+import ru.practicum.manager.InstrumentedTaskManager;
+import ru.practicum.manager.MappedTaskManager;
+import ru.practicum.manager.SnapshotFormat;
+import ru.practicum.manager.StorageMode;
+import ru.practicum.manager.TaskBatch;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.metrics.TaskMetrics;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+public class TaskManagerBenchmark {
+    private static final LocalDateTime BOARD_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Duration SLOT = Duration.ofHours(1);
+    private static final Duration TASK_DURATION = Duration.ofMinutes(30);
+    private static final int SUBTASKS_SHARE = 10;
+    private static final int SEARCH_VOCABULARY_SIZE = 50_000;
+
+    private final BenchmarkRunner runner;
+    private final File workDirectory;
+
+    public TaskManagerBenchmark(BenchmarkRunner runner, File workDirectory) {
+        this.runner = runner;
+        this.workDirectory = workDirectory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        var sizes = new int[]{1_000, 10_000, 100_000};
+        var kinds = ManagerKind.values();
+        var warmupIterations = 3;
+        var measurementIterations = 5;
+        for (var arg : args) {
+            var value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("sizes=")) {
+                sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("managers=")) {
+                kinds = Arrays.stream(value.split(",")).map(ManagerKind::valueOf).toArray(ManagerKind[]::new);
+            } else if (arg.startsWith("warmup=")) {
+                warmupIterations = Integer.parseInt(value);
+            } else if (arg.startsWith("iterations=")) {
+                measurementIterations = Integer.parseInt(value);
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        var runner = new BenchmarkRunner(warmupIterations, measurementIterations);
+        var benchmark = new TaskManagerBenchmark(runner, Files.createTempDirectory("kanban-benchmark").toFile());
+        BenchmarkRunner.printHeader();
+        for (var size : sizes) {
+            for (var kind : kinds) {
+                benchmark.runAll(kind, size);
+            }
+
+            benchmark.runOverlapBaseline(size);
+            benchmark.runSearch(size);
+            benchmark.runLoad(size);
+        }
+
+        System.out.println("blackhole=" + runner.getBlackhole());
+    }
+
+    public void runAll(ManagerKind kind, int size) {
+        var mutations = Math.min(size / 2, kind.isInMemory() ? 1_000 : Math.max(5, 100_000 / size));
+        var reads = Math.max(5, 10_000_000 / size);
+        var random = new Random(size);
+        var shared = buildBoard(kind, size);
+        var prefix = kind.name() + ".";
+
+        runner.run(prefix + "createTask", size, mutations, () -> shared, (board, i) -> board.createNextTask());
+        runner.run(prefix + "updateTask", size, mutations, () -> shared, (board, i) -> {
+            var task = board.randomTask(random);
+            board.manager.updateTask(new Task(task.getName(), task.getDescription(), task.getId(),
+                    nextStatus(task.getStatus()), task.getStartTime(), task.getDuration()));
+            return task.getId();
+        });
+        runner.run(prefix + "deleteTask", size, mutations, () -> buildBoard(kind, size), (board, i) -> {
+            var id = board.taskIds.get(i);
+            board.manager.deleteTask(id);
+            return id;
+        });
+        runner.run(prefix + "updateSubtask(largeEpic)", size, mutations, () -> shared, (board, i) -> {
+            var subtask = board.randomSubtask(random);
+            board.manager.updateSubtask(new Subtask(subtask.getName(), subtask.getDescription(), subtask.getId(),
+                    nextStatus(subtask.getStatus()), subtask.getEpicId(), subtask.getStartTime(),
+                    subtask.getDuration()));
+            return board.epic.getStatus().ordinal();
+        });
+        runner.run(prefix + "createTask(overlapRejected)", size, mutations, () -> shared, (board, i) ->
+                board.manager.createTask(board.overlappingTask(random)));
+        runner.run(prefix + "getPrioritizedTasks", size, Math.max(5, reads / 1_000), () -> shared,
+                (board, i) -> board.manager.getPrioritizedTasks().size());
+        runner.run(prefix + "getPrioritizedTasksAfter(page=50)", size, reads, () -> shared,
+                (board, i) -> board.manager.getPrioritizedTasksAfter(board.randomTask(random), 50).size());
+        runner.run(prefix + "getTask(recordHistory)", size, reads, () -> shared,
+                (board, i) -> board.manager.getTask(board.randomTask(random).getId()).getId());
+        runner.run(prefix + "getHistory", size, reads, () -> shared,
+                (board, i) -> board.manager.getHistory().size());
+        runner.run(prefix + "getHistoryView", size, reads, () -> shared,
+                (board, i) -> board.manager.getHistoryView().size());
+        runner.run(prefix + "getTasksView", size, reads, () -> shared,
+                (board, i) -> board.manager.getTasksView().size());
+        if (shared.manager instanceof FileBackedTaskManager fileBackedManager) {
+            runner.run(prefix + "save", size, Math.max(3, mutations / 10), () -> fileBackedManager,
+                    (manager, i) -> {
+                        manager.compact();
+                        return i;
+                    });
+        }
+    }
+
+    public void runOverlapBaseline(int size) {
+        var random = new Random(size);
+        var board = buildBoard(ManagerKind.IN_MEMORY, size);
+        var prioritizedTasks = board.manager.getPrioritizedTasks();
+        runner.run("LINEAR_SCAN.overlapCheck", size, Math.max(5, 10_000_000 / size), () -> prioritizedTasks,
+                (tasks, i) -> intersectsLinearly(tasks, board.overlappingTask(random)) ? 1 : 0);
+    }
+
+    public void runSearch(int size) {
+        var random = new Random(size);
+        var vocabulary = new String[SEARCH_VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+
+        var manager = new InMemoryTaskManager();
+        for (int i = 0; i < size; i++) {
+            manager.createTask(new Task(randomText(random, vocabulary, 3), randomText(random, vocabulary, 8), 0,
+                    TaskStatus.NEW, null, null));
+        }
+
+        var reads = Math.max(5, 10_000_000 / size);
+        runner.run("IN_MEMORY.search(word)", size, reads, () -> manager,
+                (board, i) -> board.search(vocabulary[random.nextInt(vocabulary.length)], 20).size());
+        runner.run("IN_MEMORY.search(prefix)", size, reads, () -> manager,
+                (board, i) -> board.search(vocabulary[random.nextInt(vocabulary.length)].substring(0, 4), 20).size());
+        runner.run("IN_MEMORY.search(twoWords)", size, reads, () -> manager,
+                (board, i) -> board.search(randomText(random, vocabulary, 2), 20).size());
+        runner.run("LINEAR_SCAN.search(word)", size, Math.max(5, reads / 100), () -> manager.getAllTasks(),
+                (tasks, i) -> {
+                    var word = vocabulary[random.nextInt(vocabulary.length)];
+                    return tasks.stream().filter(task -> task.getName().contains(word)
+                            || task.getDescription().contains(word)).limit(20).count();
+                });
+    }
+
+    public void runLoad(int size) {
+        for (var format : SnapshotFormat.values()) {
+            var file = newFile();
+            var source = buildBoard(ManagerKind.IN_MEMORY, size);
+            var manager = new FileBackedTaskManager(file, format);
+            manager.applyBatch(source.asBatch());
+            runner.run(format.name() + ".loadFromFile", size, Math.max(1, 100_000 / size), () -> file,
+                    (snapshot, i) -> FileBackedTaskManager.loadFromFile(snapshot).getAllTasks().size());
+            reportPeakHeap(format.name() + ".loadFromFile", size, () -> FileBackedTaskManager.loadFromFile(file));
+        }
+    }
+
+    private void reportPeakHeap(String name, int size, Supplier<Object> action) {
+        var heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        var usedBefore = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        var result = action.get();
+        var peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        System.gc();
+        var retained = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        System.out.printf(Locale.ROOT, "%-45s %10d peakHeap=%d MB retainedHeap=%d MB%n", name, size,
+                (peak - usedBefore) >> 20, (retained - usedBefore) >> 20);
+        runner.consume(result.hashCode());
+    }
+
+    private Board buildBoard(ManagerKind kind, int size) {
+        var manager = kind.create(newFile());
+        var epicId = manager.createEpic(new Epic("Epic", "Large epic", 0, TaskStatus.NEW, null, null));
+        var subtasksCount = Math.max(1, size / SUBTASKS_SHARE);
+        var tasksCount = size - subtasksCount;
+        var batch = new TaskBatch();
+        for (int slot = 0; slot < size; slot++) {
+            var startTime = BOARD_START.plus(SLOT.multipliedBy(slot));
+            if (slot < tasksCount) {
+                batch.createTask(new Task("Task " + slot, "Benchmark task", 0, TaskStatus.NEW, startTime,
+                        TASK_DURATION));
+            } else {
+                batch.createSubtask(new Subtask("Subtask " + slot, "Benchmark subtask", 0, TaskStatus.NEW, epicId,
+                        startTime, TASK_DURATION));
+            }
+        }
+
+        manager.applyBatch(batch);
+        return new Board(manager, manager.getEpic(epicId), size);
+    }
+
+    private File newFile() {
+        try {
+            var file = File.createTempFile("board", ".csv", workDirectory);
+            file.deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        var word = new StringBuilder();
+        var length = 5 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+
+        return word.toString();
+    }
+
+    private static String randomText(Random random, String[] vocabulary, int wordsCount) {
+        var text = new StringBuilder();
+        for (int i = 0; i < wordsCount; i++) {
+            text.append(i == 0 ? "" : " ").append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+
+        return text.toString();
+    }
+
+    private static boolean intersectsLinearly(List<Task> tasks, Task task) {
+        return tasks.stream().anyMatch(existing -> existing.getStartTime().isBefore(task.getEndTime())
+                && task.getStartTime().isBefore(existing.getEndTime()));
+    }
+
+    private static TaskStatus nextStatus(TaskStatus status) {
+        return switch (status) {
+            case NEW -> TaskStatus.IN_PROGRESS;
+            case IN_PROGRESS -> TaskStatus.DONE;
+            case DONE -> TaskStatus.NEW;
+        };
+    }
+
+    public enum ManagerKind {
+        IN_MEMORY,
+        INSTRUMENTED_IN_MEMORY,
+        COLUMNAR,
+        FILE_CSV,
+        FILE_BINARY,
+        FILE_JOURNAL,
+        FILE_DELTA,
+        MAPPED;
+
+        TaskManager create(File file) {
+            return switch (this) {
+                case IN_MEMORY -> new InMemoryTaskManager();
+                case INSTRUMENTED_IN_MEMORY ->
+                        new InstrumentedTaskManager(new InMemoryTaskManager(), new TaskMetrics());
+                case COLUMNAR -> new ColumnarTaskManager();
+                case FILE_CSV -> new FileBackedTaskManager(file, SnapshotFormat.CSV);
+                case FILE_BINARY -> new FileBackedTaskManager(file, SnapshotFormat.BINARY);
+                case FILE_JOURNAL -> new FileBackedTaskManager(file, StorageMode.JOURNAL);
+                case FILE_DELTA -> new FileBackedTaskManager(file, StorageMode.DELTA);
+                case MAPPED -> new MappedTaskManager(file);
+            };
+        }
+
+        boolean isInMemory() {
+            return this == IN_MEMORY || this == INSTRUMENTED_IN_MEMORY;
+        }
+    }
+
+    private static class Board {
+        private final TaskManager manager;
+        private final Epic epic;
+        private final List<Task> tasks;
+        private final List<Subtask> subtasks;
+        private final List<Integer> taskIds;
+        private int nextSlot;
+
+        private Board(TaskManager manager, Epic epic, int size) {
+            this.manager = manager;
+            this.epic = epic;
+            this.tasks = manager.getAllTasks();
+            this.subtasks = manager.getAllSubtasks();
+            this.taskIds = new ArrayList<>(tasks.stream().map(Task::getId).toList());
+            this.nextSlot = size;
+            Collections.shuffle(taskIds, new Random(size));
+        }
+
+        private long createNextTask() {
+            var startTime = BOARD_START.plus(SLOT.multipliedBy(nextSlot++));
+            return manager.createTask(new Task("Task", "Benchmark task", 0, TaskStatus.NEW, startTime,
+                    TASK_DURATION));
+        }
+
+        private Task randomTask(Random random) {
+            return tasks.get(random.nextInt(tasks.size()));
+        }
+
+        private Subtask randomSubtask(Random random) {
+            return subtasks.get(random.nextInt(subtasks.size()));
+        }
+
+        private Task overlappingTask(Random random) {
+            var startTime = tasks.get(random.nextInt(tasks.size())).getStartTime().plusMinutes(15);
+            return new Task("Overlapping", "Benchmark task", 0, TaskStatus.NEW, startTime, TASK_DURATION);
+        }
+
+        private TaskBatch asBatch() {
+            var batch = new TaskBatch().createEpic(new Epic(epic.getName(), epic.getDescription(), 0,
+                    TaskStatus.NEW, null, null));
+            tasks.forEach(task -> batch.createTask(new Task(task.getName(), task.getDescription(), 0,
+                    task.getStatus(), task.getStartTime(), task.getDuration())));
+            subtasks.forEach(subtask -> batch.createSubtask(new Subtask(subtask.getName(), subtask.getDescription(),
+                    0, subtask.getStatus(), 1, subtask.getStartTime(), subtask.getDuration())));
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.benchmark;
+
+import ru.practicum.manager.StorageMode;
+import ru.practicum.manager.TaskBatch;
+import ru.practicum.manager.TaskManagerRegistry;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Random;
+
+public class TaskRegistryBenchmark {
+    private static final int READS_PER_ITERATION = 10_000;
+    private static final int HOT_READS_SHARE = 90;
+
+    public static void main(String[] args) throws IOException {
+        var boardsCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        var tasksPerBoard = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        var directory = Files.createTempDirectory("kanban-registry-benchmark").toFile();
+        var boardBytes = TaskManagerRegistry.BOARD_OVERHEAD_BYTES
+                + tasksPerBoard * TaskManagerRegistry.ESTIMATED_BYTES_PER_TASK;
+        try (var registry = TaskManagerRegistry.open(directory)) {
+            for (int board = 0; board < boardsCount; board++) {
+                var batch = new TaskBatch();
+                for (int i = 0; i < tasksPerBoard; i++) {
+                    batch.createTask(new Task("Task " + i, "Registry benchmark task", 0, TaskStatus.NEW, null, null));
+                }
+
+                registry.withBoard("board-" + board, manager -> manager.applyBatch(batch));
+            }
+        }
+
+        var runner = new BenchmarkRunner(2, 5);
+        BenchmarkRunner.printHeader();
+        var hotBoardsCount = Math.max(1, boardsCount / 10);
+        var accesses = createAccessPattern(boardsCount, hotBoardsCount);
+        for (var budgetBoards : new int[]{boardsCount, hotBoardsCount * 2, hotBoardsCount / 2}) {
+            try (var registry = TaskManagerRegistry.open(directory, StorageMode.SNAPSHOT, budgetBoards * boardBytes,
+                    Duration.ofHours(1))) {
+                runner.run("getTask 90/10 hot boards, budget=" + budgetBoards + " boards", boardsCount,
+                        READS_PER_ITERATION, () -> registry, (state, i) -> state.withBoard("board-" + accesses[i],
+                                manager -> manager.getTask(1 + i % tasksPerBoard).getName().length()));
+                System.out.printf(Locale.ROOT, "    loadedBoards=%d estimatedMB=%.1f%n",
+                        registry.getLoadedBoardsCount(), registry.getEstimatedBytes() / 1048576.0);
+            }
+        }
+
+        System.out.println("blackhole=" + runner.getBlackhole());
+        try (var files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static int[] createAccessPattern(int boardsCount, int hotBoardsCount) {
+        var random = new Random(42);
+        var accesses = new int[READS_PER_ITERATION];
+        for (int i = 0; i < accesses.length; i++) {
+            accesses[i] = random.nextInt(100) < HOT_READS_SHARE ? random.nextInt(hotBoardsCount)
+                    : random.nextInt(boardsCount);
+        }
+
+        return accesses;
+    }
+}
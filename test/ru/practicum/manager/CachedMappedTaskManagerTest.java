@@ -0,0 +1,102 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class CachedMappedTaskManagerTest extends TaskManagerTest<MappedTaskManager> {
+    private static final int CACHE_CAPACITY = 4;
+
+    private File file;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        file = File.createTempFile("test", "CachedMappedTaskManager");
+        taskManager = new MappedTaskManager(file, Managers.getDefaultHistory(), MappedTaskStore.MIN_SEGMENT_SHIFT,
+                CACHE_CAPACITY);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        if (taskManager != null) {
+            taskManager.close();
+        }
+    }
+
+    @Test
+    void when_hotTaskIsReadRepeatedly_should_serveItFromCache() {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, null));
+
+        // do
+        for (int i = 0; i < 10; i++) {
+            taskManager.getTask(taskId);
+        }
+
+        // expect
+        var stats = taskManager.getCacheStats();
+        Assertions.assertEquals(1, stats.misses());
+        Assertions.assertEquals(9, stats.hits());
+        Assertions.assertEquals(0.9, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void when_moreTasksThanCapacityAreRead_should_evictColdEntries() {
+        // given
+        var taskIds = new int[CACHE_CAPACITY + 2];
+        for (int i = 0; i < taskIds.length; i++) {
+            taskIds[i] = taskManager.createTask(new Task("task " + i, "description", 0, TaskStatus.NEW, null,
+                    null));
+        }
+
+        // do
+        for (var taskId : taskIds) {
+            taskManager.getTask(taskId);
+        }
+
+        taskManager.getTask(taskIds[taskIds.length - 1]);
+        taskManager.getTask(taskIds[0]);
+
+        // expect
+        var stats = taskManager.getCacheStats();
+        Assertions.assertEquals(CACHE_CAPACITY, stats.size(), "Кэш не должен превышать заданный размер");
+        Assertions.assertEquals(taskIds.length + 1, stats.misses());
+        Assertions.assertEquals(1, stats.hits());
+        Assertions.assertEquals(3, stats.evictions());
+        Assertions.assertEquals("task 0", taskManager.getTask(taskIds[0]).getName());
+    }
+
+    @Test
+    void when_returnedTaskIsMutatedOrUpdated_should_notServeStaleCopy() {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+        var subtaskId = taskManager.createSubtask(new Subtask("subtask", "description", 0, TaskStatus.NEW, epicId,
+                LocalDateTime.of(2025, 6, 10, 10, 0), Duration.ofHours(1)));
+        var subtask = taskManager.getSubtask(subtaskId);
+
+        // do
+        subtask.setName("mutated without update");
+        var cachedSubtask = taskManager.getSubtask(subtaskId);
+        taskManager.updateSubtask(new Subtask("updated", "description", subtaskId, TaskStatus.DONE, epicId,
+                LocalDateTime.of(2025, 6, 10, 12, 0), Duration.ofHours(1)));
+
+        // expect
+        Assertions.assertEquals("subtask", cachedSubtask.getName());
+        var updatedSubtask = taskManager.getSubtask(subtaskId);
+        Assertions.assertEquals("updated", updatedSubtask.getName());
+        Assertions.assertEquals(LocalDateTime.of(2025, 6, 10, 12, 0), updatedSubtask.getStartTime());
+        Assertions.assertEquals(TaskStatus.DONE, taskManager.getEpic(epicId).getStatus());
+        Assertions.assertEquals(1, taskManager.getEpic(epicId).getSubtasksCount(),
+                "Эпик из кэша не должен накапливать подзадачи между чтениями");
+    }
+}
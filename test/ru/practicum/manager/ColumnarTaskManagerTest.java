@@ -0,0 +1,89 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class ColumnarTaskManagerTest extends TaskManagerTest<ColumnarTaskManager> {
+    @BeforeEach
+    public void beforeEach() {
+        taskManager = new ColumnarTaskManager();
+    }
+
+    @Test
+    void when_boardGrows_should_keepColumnsConsistent() {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+        var start = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // do
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 2 == 0) {
+                taskManager.createTask(new Task("task " + i, "description " + i, 0, TaskStatus.NEW,
+                        start.plusHours(i).plusNanos(i), Duration.ofMinutes(30).plusNanos(999_999_999)));
+            } else {
+                taskManager.createSubtask(new Subtask("subtask " + i, "description " + i, 0, TaskStatus.DONE,
+                        epicId, start.plusHours(i), Duration.ofMinutes(30)));
+            }
+        }
+
+        // expect
+        Assertions.assertEquals(500, taskManager.getTasksCount(TaskType.TASK));
+        Assertions.assertEquals(500, taskManager.getSubtasksByEpic(epicId).size());
+        Assertions.assertEquals(TaskStatus.DONE, taskManager.getEpic(epicId).getStatus());
+        var task = taskManager.getTask(2);
+        Assertions.assertEquals("task 0", task.getName());
+        Assertions.assertEquals(Duration.ofMinutes(30).plusNanos(999_999_999), task.getDuration());
+        Assertions.assertEquals(-1, taskManager.createTask(new Task("overlap", "description", 0, TaskStatus.NEW,
+                start.plusMinutes(30), Duration.ofMinutes(1))), "Конец задачи должен учитывать наносекунды");
+    }
+
+    @Test
+    void when_textsAreRewrittenManyTimes_should_keepLatestValues() {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, null));
+        var otherTaskId = taskManager.createTask(new Task("other", null, 0, TaskStatus.NEW, null, null));
+        var longText = "x".repeat(64 * 1024);
+
+        // do
+        for (int i = 0; i < 200; i++) {
+            taskManager.updateTask(new Task("task " + i, longText + i, taskId, TaskStatus.IN_PROGRESS, null,
+                    null));
+        }
+
+        // expect
+        var task = taskManager.getTask(taskId);
+        Assertions.assertEquals("task 199", task.getName());
+        Assertions.assertEquals(longText + 199, task.getDescription());
+        Assertions.assertEquals("other", taskManager.getTask(otherTaskId).getName());
+        Assertions.assertNull(taskManager.getTask(otherTaskId).getDescription());
+    }
+
+    @Test
+    void when_durationDoesNotFitIntoNanos_should_keepIt() {
+        // given
+        var duration = Duration.ofDays(365L * 1_000).plusNanos(1);
+        var start = LocalDateTime.of(2025, 1, 1, 0, 0, 0, 999_999_999);
+
+        // do
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, duration));
+        var timedTaskId = taskManager.createTask(new Task("timed", "description", 0, TaskStatus.NEW, start,
+                duration));
+
+        // expect
+        Assertions.assertEquals(duration, taskManager.getTask(taskId).getDuration());
+        Assertions.assertEquals(duration, taskManager.getTask(timedTaskId).getDuration());
+        Assertions.assertEquals(-1, taskManager.createTask(new Task("overlap", "description", 0, TaskStatus.NEW,
+                start.plusDays(365L * 999), Duration.ofHours(1))), "Конец задачи должен учитываться без переполнения");
+        Assertions.assertTrue(taskManager.createTask(new Task("after", "description", 0, TaskStatus.NEW,
+                start.plus(duration), Duration.ofHours(1))) > 0);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+    private static final int THREADS_COUNT = 8;
+    private static final int OPERATIONS_PER_THREAD = 2000;
+    private static final LocalDateTime BOARD_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @BeforeEach
+    public void beforeEach() {
+        taskManager = new ConcurrentTaskManager();
+    }
+
+    @Test
+    void when_manyThreadsMutateBoard_should_keepEpicStatusesAndTimeSlotsConsistent() throws Exception {
+        // given
+        var epicIds = new ArrayList<Integer>();
+        for (int i = 0; i < THREADS_COUNT * 2; i++) {
+            epicIds.add(taskManager.createEpic(new Epic("epic #" + i, "description", 0, TaskStatus.NEW,
+                    null, Duration.ZERO)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<?>>();
+
+        // do
+        for (int i = 0; i < THREADS_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                mutateBoardRandomly(epicIds);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (var future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        executor.shutdown();
+
+        // expect
+        assertTimeSlotsDoNotIntersect();
+        assertEpicsAreConsistent();
+    }
+
+    private void mutateBoardRandomly(ArrayList<Integer> epicIds) {
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            var epicId = epicIds.get(random.nextInt(epicIds.size()));
+            var startTime = BOARD_START.plusMinutes(random.nextInt(50_000));
+            var duration = Duration.ofMinutes(1 + random.nextInt(30));
+            var status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+            switch (random.nextInt(6)) {
+                case 0 -> taskManager.createTask(new Task("task", "description", 0, status, startTime, duration));
+                case 1, 2 -> taskManager.createSubtask(new Subtask("subtask", "description", 0, status, epicId,
+                        startTime, duration));
+                case 3 -> {
+                    var epicSubtasks = taskManager.getSubtasksByEpic(epicId);
+                    if (!epicSubtasks.isEmpty()) {
+                        var subtask = epicSubtasks.get(random.nextInt(epicSubtasks.size()));
+                        taskManager.updateSubtask(new Subtask(subtask.getName(), subtask.getDescription(),
+                                subtask.getId(), status, epicId, startTime, duration));
+                    }
+                }
+                case 4 -> {
+                    var epicSubtasks = taskManager.getSubtasksByEpic(epicId);
+                    if (!epicSubtasks.isEmpty()) {
+                        taskManager.deleteSubtask(epicSubtasks.get(random.nextInt(epicSubtasks.size())).getId());
+                    }
+                }
+                default -> {
+                    taskManager.getAllTasks();
+                    taskManager.getPrioritizedTasks();
+                    taskManager.getEpic(epicId);
+                }
+            }
+        }
+    }
+
+    private void assertTimeSlotsDoNotIntersect() {
+        var prioritizedTasks = taskManager.getPrioritizedTasks();
+        var timedTasksCount = taskManager.getAllTasks().stream().filter(t -> t.getStartTime() != null).count()
+                + taskManager.getAllSubtasks().stream().filter(s -> s.getStartTime() != null).count();
+        Assertions.assertEquals(timedTasksCount, prioritizedTasks.size());
+        for (int i = 1; i < prioritizedTasks.size(); i++) {
+            var previousTask = prioritizedTasks.get(i - 1);
+            var currentTask = prioritizedTasks.get(i);
+            Assertions.assertFalse(previousTask.getEndTime().isAfter(currentTask.getStartTime()),
+                    "Задачи " + previousTask.getId() + " и " + currentTask.getId() + " пересекаются по времени");
+        }
+    }
+
+    private void assertEpicsAreConsistent() {
+        var subtasksCount = 0;
+        for (var epic : taskManager.getAllEpics()) {
+            var epicSubtasks = taskManager.getSubtasksByEpic(epic.getId());
+            subtasksCount += epicSubtasks.size();
+            epicSubtasks.forEach(subtask -> Assertions.assertEquals(epic.getId(), subtask.getEpicId()));
+
+            var expectedStatus = TaskStatus.IN_PROGRESS;
+            if (epicSubtasks.stream().allMatch(subtask -> subtask.getStatus() == TaskStatus.NEW)) {
+                expectedStatus = TaskStatus.NEW;
+            } else if (epicSubtasks.stream().allMatch(subtask -> subtask.getStatus() == TaskStatus.DONE)) {
+                expectedStatus = TaskStatus.DONE;
+            }
+
+            Assertions.assertEquals(expectedStatus, epic.getStatus(), "Статус эпика " + epic.getId());
+        }
+
+        Assertions.assertEquals(taskManager.getAllSubtasks().size(), subtasksCount);
+    }
+}
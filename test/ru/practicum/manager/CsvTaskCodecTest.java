@@ -0,0 +1,101 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class CsvTaskCodecTest {
+    private CsvTaskCodec codec;
+
+    @BeforeEach
+    public void beforeEach() {
+        codec = new CsvTaskCodec();
+    }
+
+    @Test
+    void when_taskIsEncoded_should_matchPreviousFormat() {
+        // given
+        var startTime = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 600_000_000);
+        var duration = Duration.ofHours(26).plusMinutes(7).plusNanos(8_000);
+        var task = new Task("name", "description", 1, TaskStatus.IN_PROGRESS, startTime, duration);
+        var subtask = new Subtask("name", "description", 2, TaskStatus.DONE, 3,
+                LocalDateTime.of(2025, 1, 2, 3, 4), Duration.ofMinutes(30));
+
+        // do
+        var encodedTask = codec.encode(task);
+        var encodedSubtask = codec.encode(subtask);
+
+        // expect
+        Assertions.assertEquals(String.format("%s,%s,%s,%s,%s,%s,%s,", 1, "TASK", "name", "IN_PROGRESS",
+                "description", startTime, duration), encodedTask);
+        Assertions.assertEquals("2,SUBTASK,name,DONE,description,2025-01-02T03:04,PT30M,3", encodedSubtask);
+    }
+
+    @Test
+    void when_textHasSeparatorsAndLineBreaks_should_escapeAndRestoreIt() {
+        // given
+        var task = new Task("Купить, сдать", "строка 1\nстрока 2\r\nпуть C:\\temp", 7, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 1, 10, 0), Duration.ofMinutes(45));
+
+        // do
+        var encoded = codec.encode(task);
+        var decoded = CsvTaskCodec.decode(encoded);
+
+        // expect
+        Assertions.assertEquals(TaskStatus.NEW, decoded.getStatus(), "Поля не должны разъезжаться");
+        Assertions.assertFalse(encoded.contains("\n") || encoded.contains("\r"));
+        Assertions.assertEquals(task.getName(), decoded.getName());
+        Assertions.assertEquals(task.getDescription(), decoded.getDescription());
+        Assertions.assertEquals(task.getStartTime(), decoded.getStartTime());
+        Assertions.assertEquals(task.getDuration(), decoded.getDuration());
+    }
+
+    @Test
+    void when_valuesAreMissingOrUnusual_should_roundTrip() throws Exception {
+        // given
+        var tasks = new Task[]{
+                new Task("", "", 1, TaskStatus.NEW, null, null),
+                new Epic("epic", "description", 2, TaskStatus.NEW, null, null),
+                new Task("task", "description", 3, TaskStatus.NEW, LocalDateTime.of(2025, 1, 1, 0, 0, 0, 123),
+                        Duration.ofSeconds(59, 1)),
+                new Task("task", "description", 4, TaskStatus.NEW, LocalDateTime.of(12025, 1, 1, 0, 0),
+                        Duration.ofMinutes(-5)),
+                new Task("task", "description", 5, TaskStatus.NEW, LocalDateTime.of(2025, 1, 1, 0, 0, 1),
+                        Duration.ZERO)
+        };
+        var out = new StringWriter();
+
+        for (var task : tasks) {
+            // do
+            out.getBuffer().setLength(0);
+            codec.write(task, out);
+            var decoded = CsvTaskCodec.decode(out.toString());
+
+            // expect
+            Assertions.assertEquals(task.getClass(), decoded.getClass());
+            Assertions.assertEquals(task.getId(), decoded.getId());
+            Assertions.assertEquals(task.getName(), decoded.getName());
+            Assertions.assertEquals(task.getStartTime(), decoded.getStartTime());
+            Assertions.assertEquals(task.getDuration(), decoded.getDuration());
+        }
+    }
+
+    @Test
+    void when_lineHasLegacyNullValues_should_decodeThemAsNull() {
+        // do
+        var task = CsvTaskCodec.decode("5,TASK,name,NEW,description,null,null,");
+
+        // expect
+        Assertions.assertEquals(5, task.getId());
+        Assertions.assertNull(task.getStartTime());
+        Assertions.assertNull(task.getDuration());
+    }
+}
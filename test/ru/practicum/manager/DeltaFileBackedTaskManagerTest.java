@@ -0,0 +1,120 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class DeltaFileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
+    private File file;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        file = File.createTempFile("test", "DeltaFileBackedTaskManager");
+        taskManager = new FileBackedTaskManager(file, StorageMode.DELTA);
+    }
+
+    @Test
+    void when_taskIsChanged_should_writeOnlyItsDelta() throws IOException {
+        // given
+        for (int i = 1; i <= 10; i++) {
+            taskManager.createTask(new Task("task #" + i, "description", 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, i, 0, 0), Duration.ofHours(3)));
+        }
+
+        var snapshotBefore = Files.readAllBytes(file.toPath());
+
+        // do
+        taskManager.updateTask(new Task("task #1", "description", 1, TaskStatus.DONE,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+
+        // expect
+        Assertions.assertArrayEquals(snapshotBefore, Files.readAllBytes(file.toPath()));
+        var delta = Files.readAllLines(new File(file.getPath() + ".delta.11").toPath());
+        Assertions.assertEquals(2, delta.size(), "Дельта должна содержать только изменённую задачу");
+        Assertions.assertTrue(delta.getFirst().startsWith("E,1,TASK,task #1,DONE"));
+    }
+
+    @Test
+    void when_batchChangesTaskSeveralTimes_should_writeItOnce() throws IOException {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+        var batch = new TaskBatch()
+                .updateTask(new Task("task", "description", taskId, TaskStatus.IN_PROGRESS,
+                        LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)))
+                .updateTask(new Task("task", "description", taskId, TaskStatus.DONE,
+                        LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+
+        // do
+        taskManager.applyBatch(batch);
+
+        // expect
+        var delta = Files.readAllLines(new File(file.getPath() + ".delta.2").toPath());
+        Assertions.assertEquals(2, delta.size());
+        Assertions.assertEquals(TaskStatus.DONE, FileBackedTaskManager.loadFromFile(file).getTask(taskId).getStatus());
+    }
+
+    @Test
+    void when_managerLoadsFromBaseAndDeltas_should_restoreAllChanges() {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "epic description", 0, TaskStatus.NEW, null, null));
+        var subtaskId = taskManager.createSubtask(new Subtask("subtask", "subtask description", 0, TaskStatus.NEW,
+                epicId, LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+        var deletedTaskId = taskManager.createTask(new Task("deleted", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 2, 0, 0), Duration.ofHours(3)));
+        taskManager.compact();
+        taskManager.updateSubtask(new Subtask("subtask", "subtask description", subtaskId, TaskStatus.DONE,
+                epicId, LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+        taskManager.deleteTask(deletedTaskId);
+        taskManager.deleteAllTasks();
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 3, 0, 0), Duration.ofHours(3)));
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        Assertions.assertNull(managerFromFile.getTask(deletedTaskId));
+        Assertions.assertNotNull(managerFromFile.getTask(taskId));
+        Assertions.assertEquals(TaskStatus.DONE, managerFromFile.getSubtask(subtaskId).getStatus());
+        Assertions.assertEquals(TaskStatus.DONE, managerFromFile.getEpic(epicId).getStatus());
+    }
+
+    @Test
+    void when_deltasExceedThreshold_should_mergeThemIntoBase() throws IOException {
+        // given
+        var manager = new FileBackedTaskManager(file, StorageMode.DELTA, 3);
+
+        // do
+        for (int i = 1; i <= 4; i++) {
+            manager.createTask(new Task("task #" + i, "description #" + i, 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, i, 0, 0), Duration.ofHours(3)));
+        }
+
+        // expect
+        Assertions.assertEquals(5, Files.readAllLines(file.toPath()).size());
+        Assertions.assertFalse(new File(file.getPath() + ".delta.2").exists());
+        Assertions.assertTrue(new File(file.getPath() + ".delta.3").exists());
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+        Assertions.assertEquals(4, managerFromFile.getAllTasks().size());
+        managerFromFile.deleteTask(1);
+        Assertions.assertTrue(new File(file.getPath() + ".delta.5").exists(), "Режим дельт должен сохраниться");
+    }
+
+    @Test
+    void when_groupCommitIsRequested_should_throwException() {
+        // expect
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FileBackedTaskManager(file,
+                StorageMode.DELTA, FsyncPolicy.always()));
+    }
+}
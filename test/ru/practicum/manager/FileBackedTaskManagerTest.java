@@ -9,11 +9,14 @@ import ru.practicum.model.Epic;
 import ru.practicum.model.Subtask;
 import ru.practicum.model.Task;
 import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
@@ -83,8 +86,66 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         Assertions.assertEquals(originalManager.uniqueTaskId, managerFromFile.uniqueTaskId);
     }
 
+    @Test
+    void when_managerSavesBinarySnapshotAndOtherManagerLoadsIt_should_beEqual() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+
+        // do
+        var originalManager = getFileBackedTaskManager(new FileBackedTaskManager(file, SnapshotFormat.BINARY));
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        Assertions.assertEquals(SnapshotFormat.BINARY, managerFromFile.getSnapshotFormat());
+        assertManagersAreEqual(originalManager, managerFromFile);
+    }
+
+    @Test
+    void when_csvSnapshotIsConvertedToBinary_should_loadSameBoard() throws IOException {
+        // given
+        var csvFile = File.createTempFile("test", "FileBackedTaskManager");
+        var binaryFile = File.createTempFile("test", "FileBackedTaskManager");
+        var originalManager = getFileBackedTaskManager(csvFile);
+
+        // do
+        FileBackedTaskManager.convertSnapshot(csvFile, binaryFile, SnapshotFormat.BINARY);
+        var managerFromFile = FileBackedTaskManager.loadFromFile(binaryFile);
+
+        // expect
+        Assertions.assertEquals(SnapshotFormat.BINARY, managerFromFile.getSnapshotFormat());
+        assertManagersAreEqual(originalManager, managerFromFile);
+    }
+
+    private void assertManagersAreEqual(FileBackedTaskManager originalManager,
+                                        FileBackedTaskManager managerFromFile) {
+        for (var originalTask : originalManager.tasks.values()) {
+            assertTasksAreEqual(originalTask, managerFromFile.getTask(originalTask.getId()));
+        }
+
+        for (var originalEpic : originalManager.epics.values()) {
+            assertEpicsAreEqual(originalEpic, managerFromFile.getEpic(originalEpic.getId()));
+        }
+
+        for (var originalSubtask : originalManager.subtasks.values()) {
+            assertSubtasksAreEqual(originalSubtask, managerFromFile.getSubtask(originalSubtask.getId()));
+        }
+
+        Assertions.assertEquals(originalManager.getPrioritizedTasks().size(),
+                managerFromFile.getPrioritizedTasks().size());
+        Assertions.assertEquals(originalManager.uniqueTaskId, managerFromFile.uniqueTaskId);
+        for (var taskType : TaskType.values()) {
+            for (var status : TaskStatus.values()) {
+                Assertions.assertEquals(originalManager.getTasksCount(taskType, status),
+                        managerFromFile.getTasksCount(taskType, status));
+            }
+        }
+    }
+
     private FileBackedTaskManager getFileBackedTaskManager(File file) {
-        var originalManager = new FileBackedTaskManager(file);
+        return getFileBackedTaskManager(new FileBackedTaskManager(file));
+    }
+
+    private FileBackedTaskManager getFileBackedTaskManager(FileBackedTaskManager originalManager) {
         var task1 = new Task("Задача 1", "Описание задачи 1", 0, TaskStatus.NEW,
                 LocalDateTime.now(), Duration.ofHours(3));
         var task2 = new Task("Задача 2", "Описание задачи 2", 0, TaskStatus.NEW,
@@ -114,6 +175,159 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         return originalManager;
     }
 
+    @Test
+    void when_batchIsApplied_should_persistAllMutationsAtOnce() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+        var manager = new FileBackedTaskManager(file);
+        var batch = new TaskBatch();
+        for (int i = 1; i <= 5; i++) {
+            batch.createTask(new Task("task #" + i, "description #" + i, 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, i, 0, 0), Duration.ofHours(3)));
+        }
+
+        // do
+        manager.applyBatch(batch);
+
+        // expect
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+        Assertions.assertEquals(5, managerFromFile.getAllTasks().size());
+    }
+
+    @Test
+    void when_batchIsRejected_should_notPersistAnyMutation() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+        var manager = new FileBackedTaskManager(file, StorageMode.JOURNAL);
+        var batch = new TaskBatch()
+                .createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)))
+                .createSubtask(new Subtask("subtask", "description", 0, TaskStatus.NEW, 12345,
+                        LocalDateTime.of(2025, 1, 2, 0, 0), Duration.ofHours(3)));
+
+        // do
+        var isApplied = manager.applyBatch(batch);
+
+        // expect
+        Assertions.assertFalse(isApplied);
+        Assertions.assertEquals(0, FileBackedTaskManager.loadFromFile(file).getAllTasks().size());
+    }
+
+    @Test
+    void when_snapshotSpansManyChunks_should_loadWholeBoard() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+        var manager = new FileBackedTaskManager(file);
+        var epicId = manager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+        var batch = new TaskBatch();
+        var start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 10 == 0) {
+                batch.createSubtask(new Subtask("subtask " + i, "description", 0, TaskStatus.DONE, epicId,
+                        start.plusHours(i), Duration.ofMinutes(30)));
+            } else {
+                batch.createTask(new Task("task " + i, "description", 0, TaskStatus.NEW, start.plusHours(i),
+                        Duration.ofMinutes(30)));
+            }
+        }
+
+        manager.applyBatch(batch);
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        assertManagersAreEqual(manager, managerFromFile);
+        Assertions.assertIterableEquals(manager.getPrioritizedTasks(), managerFromFile.getPrioritizedTasks());
+        Assertions.assertEquals(1_000, managerFromFile.getSubtasksByEpic(epicId).size());
+        Assertions.assertEquals(TaskStatus.DONE, managerFromFile.getEpic(epicId).getStatus());
+        var nextId = managerFromFile.createTask(new Task("next", "description", 0, TaskStatus.NEW, null, null));
+        Assertions.assertEquals(10_002, nextId);
+    }
+
+    @Test
+    void when_textContainsSeparators_should_loadItUnchanged() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+        var manager = new FileBackedTaskManager(file);
+        var taskId = manager.createTask(new Task("Купить, сдать", "первая строка\nвторая, строка", 0,
+                TaskStatus.NEW, null, null));
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        assertTasksAreEqual(manager.getTask(taskId), managerFromFile.getTask(taskId));
+    }
+
+    @Test
+    void when_snapshotIsCorrupted_should_throwManagerLoadException() throws IOException {
+        // given
+        for (var format : SnapshotFormat.values()) {
+            var file = File.createTempFile("test", "FileBackedTaskManager");
+            var manager = new FileBackedTaskManager(file, format);
+            manager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+
+            // do
+            var bytes = Files.readAllBytes(file.toPath());
+            bytes[bytes.length / 2] ^= 1;
+            Files.write(file.toPath(), bytes);
+
+            // expect
+            Assertions.assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(file),
+                    "Повреждённый снимок не должен загружаться: " + format);
+        }
+    }
+
+    @Test
+    void when_snapshotWriteWasInterrupted_should_loadPreviousSnapshot() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+        var manager = new FileBackedTaskManager(file);
+        var taskId = manager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+
+        // do
+        Files.writeString(Path.of(file.getPath() + SnapshotFile.TEMP_SUFFIX), FileBackedTaskManager.FILE_HEADER
+                + System.lineSeparator() + "2,TASK,half");
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        Assertions.assertEquals(1, managerFromFile.getAllTasks().size());
+        Assertions.assertNotNull(managerFromFile.getTask(taskId));
+    }
+
+    @Test
+    void when_snapshotHasNoChecksum_should_beLoaded() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+        Files.writeString(file.toPath(), FileBackedTaskManager.FILE_HEADER + System.lineSeparator()
+                + "1,TASK,task,NEW,description,2025-01-01T00:00,PT3H," + System.lineSeparator());
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        Assertions.assertEquals("task", managerFromFile.getTask(1).getName());
+    }
+
+    @Test
+    void when_legacySnapshotHasBackslashes_should_keepThemAsIs() throws IOException {
+        // given
+        var file = File.createTempFile("test", "FileBackedTaskManager");
+        Files.writeString(file.toPath(), FileBackedTaskManager.LEGACY_FILE_HEADER + System.lineSeparator()
+                + "1,TASK,C:\\new,NEW,path C:\\temp\\new\\,2025-01-01T00:00,PT3H," + System.lineSeparator());
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        var task = managerFromFile.getTask(1);
+        Assertions.assertEquals("C:\\new", task.getName(), "Старый снимок не должен раскрывать экранирование");
+        Assertions.assertEquals("path C:\\temp\\new\\", task.getDescription());
+    }
+
     @Test
     public void shouldThrowManagerSaveException() {
         var file = new File("abracadabra/dull");
@@ -0,0 +1,143 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+class GroupCommitFileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
+    private File file;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        file = File.createTempFile("test", "GroupCommitFileBackedTaskManager");
+        taskManager = new FileBackedTaskManager(file, StorageMode.JOURNAL, FsyncPolicy.always());
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskManager.close();
+    }
+
+    @Test
+    void when_changeIsDurable_should_loadItFromFile() {
+        // given
+        var taskId = taskManager.createTask(new Task("name", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+
+        // do
+        taskManager.whenDurable().join();
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        Assertions.assertEquals(taskManager.getTask(taskId), managerFromFile.getTask(taskId));
+    }
+
+    @Test
+    void when_snapshotModeWritesAreCoalesced_should_keepLatestState() throws IOException {
+        // given
+        var snapshotFile = File.createTempFile("test", "GroupCommitSnapshot");
+        try (var manager = new FileBackedTaskManager(snapshotFile, StorageMode.SNAPSHOT, FsyncPolicy.never())) {
+            manager.whenDurable().join();
+            var snapshotSize = Files.size(snapshotFile.toPath());
+
+            // do
+            for (int i = 0; i < 100; i++) {
+                manager.createTask(new Task("task " + i, "description", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i), Duration.ofMinutes(30)));
+            }
+
+            manager.whenDurable().join();
+
+            // expect
+            Assertions.assertEquals(snapshotSize, Files.size(snapshotFile.toPath()),
+                    "Изменения должны дописываться в журнал, а не переписывать снимок");
+            Assertions.assertEquals(100, FileBackedTaskManager.loadFromFile(snapshotFile).getTasksView().size());
+        }
+    }
+
+    @Test
+    void when_fsyncIsPeriodic_should_completeFutureAfterInterval() throws Exception {
+        // given
+        var intervalFile = File.createTempFile("test", "GroupCommitInterval");
+        try (var manager = new FileBackedTaskManager(intervalFile, StorageMode.JOURNAL, SnapshotFormat.CSV,
+                FileBackedTaskManager.DEFAULT_COMPACTION_THRESHOLD, FsyncPolicy.everyMillis(20), 1)) {
+            // do
+            var taskId = manager.createTask(new Task("name", "description", 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(1)));
+            manager.whenDurable().get(5, TimeUnit.SECONDS);
+
+            // expect
+            Assertions.assertNotNull(FileBackedTaskManager.loadFromFile(intervalFile).getTask(taskId));
+        }
+    }
+
+    @Test
+    void when_journalIsCompacted_should_keepAllChanges() {
+        // given
+        var taskId = taskManager.createTask(new Task("name", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(1)));
+        taskManager.compact();
+
+        // do
+        taskManager.updateTask(new Task("name", "description", taskId, TaskStatus.DONE,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(1)));
+        taskManager.close();
+
+        // expect
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+        Assertions.assertEquals(TaskStatus.DONE, managerFromFile.getTask(taskId).getStatus());
+    }
+
+    @Test
+    void when_earlierCommitFailed_should_failWhenDurableAfterLaterCommitSucceeds() throws IOException {
+        // given
+        var directory = Files.createTempDirectory("GroupCommitFailure");
+        var boardFile = directory.resolve("board.csv").toFile();
+        try (var manager = new FileBackedTaskManager(boardFile, StorageMode.JOURNAL, FsyncPolicy.always())) {
+            manager.whenDurable().join();
+            replaceWithFile(directory);
+            manager.createTask(new Task("lost", "description", 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(1)));
+            Assertions.assertThrows(CompletionException.class, () -> manager.whenDurable().join());
+
+            // do
+            Files.delete(directory);
+            Files.createDirectory(directory);
+            manager.createTask(new Task("kept", "description", 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 2, 0), Duration.ofHours(1)));
+
+            // expect
+            Assertions.assertThrows(CompletionException.class, () -> manager.whenDurable().join(),
+                    "Успешная фиксация не должна скрывать более раннюю ошибку");
+        }
+    }
+
+    @Test
+    void when_intervalIsNotPositive_should_throwException() {
+        // expect
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FsyncPolicy.everyMillis(0));
+    }
+
+    private static void replaceWithFile(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var path : files.toList()) {
+                Files.delete(path);
+            }
+        }
+
+        Files.delete(directory);
+        Files.createFile(directory);
+    }
+}
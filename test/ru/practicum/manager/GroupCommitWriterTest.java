@@ -0,0 +1,81 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.exception.ManagerSaveException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class GroupCommitWriterTest {
+    private static final long COMMIT_WINDOW_MILLIS = 200;
+
+    private File file;
+    private GroupCommitWriter writer;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        file = File.createTempFile("test", "GroupCommitWriter");
+    }
+
+    @AfterEach
+    public void afterEach() {
+        writer.close();
+    }
+
+    @Test
+    void when_writeFailsInsideBatch_should_failEveryCommitOfBatchAndKeepWriting() throws Exception {
+        // given
+        writer = new GroupCommitWriter(file, new FailingRotationJournal(file), FsyncPolicy.always(),
+                COMMIT_WINDOW_MILLIS);
+
+        // do
+        var beforeFailure = writer.appendRecords(List.of("U,1"));
+        var failed = writer.compact(new byte[0]);
+        var afterFailure = writer.appendRecords(List.of("U,2"));
+
+        // expect
+        for (var future : List.of(beforeFailure, failed, afterFailure)) {
+            var exception = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS),
+                    "Каждая фиксация пакета должна завершиться ошибкой");
+            Assertions.assertTrue(exception.getCause() instanceof ManagerSaveException);
+        }
+
+        writer.appendRecords(List.of("U,3")).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void when_batchIsCompacted_should_notRepeatRecordsInNewJournal() throws Exception {
+        // given
+        writer = new GroupCommitWriter(file, new TaskJournal(file), FsyncPolicy.always(), COMMIT_WINDOW_MILLIS);
+
+        // do
+        var beforeCompaction = writer.appendRecords(List.of("U,1"));
+        writer.compact(new byte[0]);
+        var afterCompaction = writer.appendRecords(List.of("U,2"));
+        CompletableFuture.allOf(beforeCompaction, afterCompaction).get(5, TimeUnit.SECONDS);
+
+        // expect
+        var records = new ArrayList<String>();
+        new TaskJournal(file).replay(record -> records.add(String.join(",", record)));
+        Assertions.assertEquals(List.of("U,2"), records, "Записи до сжатия не должны повторяться в новом журнале");
+    }
+
+    private static class FailingRotationJournal extends TaskJournal {
+        private FailingRotationJournal(File snapshotFile) {
+            super(snapshotFile);
+        }
+
+        @Override
+        void rotate() {
+            throw new IllegalStateException("Rotation failed");
+        }
+    }
+}
@@ -63,6 +63,57 @@ public class InMemoryHistoryManagerTest {
         }
     }
 
+    @Test
+    public void shouldMoveTaskToTheEndInsteadOfDuplicating_whenTaskIsViewedAgain() {
+        var tasks = IntStream.rangeClosed(1, 3).mapToObj(i -> new Task("task #" + i, "description #" + i,
+                i, TaskStatus.NEW, LocalDateTime.of(2025, 1, i, 0, 0), Duration.ofHours(3))).toList();
+
+        // do
+        tasks.forEach(historyManager::add);
+        historyManager.add(tasks.get(0));
+        var actualHistory = historyManager.getHistory();
+
+        // expect
+        Assertions.assertEquals(3, actualHistory.size());
+        Assertions.assertEquals(2, actualHistory.get(0).getId());
+        Assertions.assertEquals(3, actualHistory.get(1).getId());
+        Assertions.assertEquals(1, actualHistory.get(2).getId());
+    }
+
+    @Test
+    public void shouldRemoveTasksFromAnyPosition() {
+        var tasks = IntStream.rangeClosed(1, 5).mapToObj(i -> new Task("task #" + i, "description #" + i,
+                i, TaskStatus.NEW, LocalDateTime.of(2025, 1, i, 0, 0), Duration.ofHours(3))).toList();
+        tasks.forEach(historyManager::add);
+
+        // do
+        historyManager.remove(tasks.get(0));
+        historyManager.remove(tasks.get(2));
+        historyManager.remove(tasks.get(4));
+        var actualHistory = historyManager.getHistory();
+
+        // expect
+        Assertions.assertEquals(2, actualHistory.size());
+        Assertions.assertEquals(2, actualHistory.get(0).getId());
+        Assertions.assertEquals(4, actualHistory.get(1).getId());
+    }
+
+    @Test
+    public void shouldKeepConfiguredCapacity() {
+        var capacity = 1000;
+        var largeHistoryManager = Managers.getDefaultHistory(capacity);
+        IntStream.rangeClosed(1, 1500).mapToObj(i -> new Task("task #" + i, "description #" + i, i,
+                TaskStatus.NEW, null, Duration.ZERO)).forEachOrdered(largeHistoryManager::add);
+
+        // do
+        var actualHistory = largeHistoryManager.getHistory();
+
+        // expect
+        Assertions.assertEquals(capacity, actualHistory.size());
+        Assertions.assertEquals(501, actualHistory.getFirst().getId());
+        Assertions.assertEquals(1500, actualHistory.getLast().getId());
+    }
+
     private void assertEquals(Task left, Task right) {
         Assertions.assertEquals(left.getId(), right.getId());
         Assertions.assertEquals(left.getName(), right.getName());
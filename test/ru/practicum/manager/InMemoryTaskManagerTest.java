@@ -1,6 +1,17 @@
 package ru.practicum.manager;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 
 class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
 
@@ -8,4 +19,102 @@ class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
     public void beforeEach() {
         taskManager = new InMemoryTaskManager();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void should_keepStatusIndexesInSync_whenTasksAreChanged() {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, null));
+        taskManager.createTask(new Task("other task", "description", 0, TaskStatus.DONE, null, null));
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+        var subtaskId = taskManager.createSubtask(new Subtask("subtask", "description", 0, TaskStatus.NEW, epicId,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+
+        // do
+        taskManager.updateTask(new Task("task", "description", taskId, TaskStatus.IN_PROGRESS, null, null));
+        taskManager.updateSubtask(new Subtask("subtask", "description", subtaskId, TaskStatus.DONE, epicId,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+
+        // expect
+        Assertions.assertEquals(2, taskManager.getTasksCount(TaskType.TASK));
+        Assertions.assertEquals(0, taskManager.getTasksCount(TaskType.TASK, TaskStatus.NEW));
+        Assertions.assertEquals(1, taskManager.getTasksCount(TaskType.TASK, TaskStatus.IN_PROGRESS));
+        var inProgressTask = taskManager.getTasksByStatus(TaskStatus.IN_PROGRESS).iterator().next();
+        Assertions.assertEquals(taskId, inProgressTask.getId());
+        Assertions.assertEquals(1, taskManager.getTasksCount(TaskType.SUBTASK, TaskStatus.DONE));
+        Assertions.assertEquals(epicId, taskManager.getEpicsByStatus(TaskStatus.DONE).iterator().next().getId());
+        Assertions.assertTrue(taskManager.getEpicsByStatus(TaskStatus.NEW).isEmpty(),
+                "Статус эпика должен смениться");
+
+        taskManager.deleteSubtask(subtaskId);
+        taskManager.deleteTask(taskId);
+
+        Assertions.assertTrue(taskManager.getSubtasksByStatus(TaskStatus.DONE).isEmpty());
+        Assertions.assertEquals(1, taskManager.getTasksCount(TaskType.EPIC, TaskStatus.NEW));
+        Assertions.assertEquals(0, taskManager.getTasksCount(TaskType.TASK, TaskStatus.IN_PROGRESS));
+        Assertions.assertEquals(1, taskManager.getTasksCount(TaskType.TASK, TaskStatus.DONE));
+    }
+
+    @Test
+    public void should_restoreStatusIndexes_whenBatchIsRolledBack() {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+        var batch = new TaskBatch()
+                .updateTask(new Task("task", "description", taskId, TaskStatus.DONE,
+                        LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)))
+                .createTask(new Task("overlapping", "description", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 6, 10, 0, 30), Duration.ofHours(1)));
+
+        // do
+        var isApplied = taskManager.applyBatch(batch);
+
+        // expect
+        Assertions.assertFalse(isApplied);
+        Assertions.assertEquals(1, taskManager.getTasksCount(TaskType.TASK, TaskStatus.NEW));
+        Assertions.assertEquals(0, taskManager.getTasksCount(TaskType.TASK, TaskStatus.DONE));
+    }
+
+    @Test
+    public void should_findTasksByWordsAndPrefixes_rankedByRelevance() {
+        // given
+        var nameMatchId = taskManager.createTask(new Task("Починить сборку", "CI падает", 0, TaskStatus.NEW,
+                null, null));
+        var descriptionMatchId = taskManager.createTask(new Task("Релиз", "Сначала починить сборку", 0,
+                TaskStatus.NEW, null, null));
+        var epicId = taskManager.createEpic(new Epic("Сборка проекта", "Gradle", 0, TaskStatus.NEW, null, null));
+        taskManager.createTask(new Task("Другое", "Не относится", 0, TaskStatus.NEW, null, null));
+
+        // do
+        var exactResult = taskManager.search("СБОРКУ", 10);
+        var prefixResult = taskManager.search("сбор", 10);
+        var multiTermResult = taskManager.search("почин сборку", 10);
+
+        // expect
+        Assertions.assertEquals(List.of(nameMatchId, descriptionMatchId), exactResult);
+        Assertions.assertEquals(List.of(nameMatchId, epicId, descriptionMatchId), prefixResult);
+        Assertions.assertEquals(List.of(nameMatchId, descriptionMatchId), multiTermResult);
+        Assertions.assertEquals(List.of(nameMatchId), taskManager.search("сбор", 1));
+        Assertions.assertTrue(taskManager.search("деплой", 10).isEmpty());
+    }
+
+    @Test
+    public void should_updateSearchIndex_whenTasksAreChanged() {
+        // given
+        var taskId = taskManager.createTask(new Task("Старое имя", "описание", 0, TaskStatus.NEW, null, null));
+        var epicId = taskManager.createEpic(new Epic("Эпик", "описание", 0, TaskStatus.NEW, null, null));
+
+        // do
+        taskManager.updateTask(new Task("Новое имя", "описание", taskId, TaskStatus.NEW, null, null));
+        taskManager.updateEpic(new Epic("Переименованный эпик", "описание", epicId, TaskStatus.NEW, null, null));
+
+        // expect
+        Assertions.assertTrue(taskManager.search("старое", 10).isEmpty());
+        Assertions.assertEquals(List.of(taskId), taskManager.search("новое", 10));
+        Assertions.assertEquals(List.of(epicId), taskManager.search("переименованный", 10));
+
+        taskManager.deleteTask(taskId);
+        taskManager.deleteAllEpics();
+
+        Assertions.assertTrue(taskManager.search("описание", 10).isEmpty());
+    }
+}
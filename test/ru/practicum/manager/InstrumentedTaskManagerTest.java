@@ -0,0 +1,83 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.metrics.TaskMetrics;
+import ru.practicum.metrics.TaskOperation;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class InstrumentedTaskManagerTest extends TaskManagerTest<InstrumentedTaskManager> {
+    private TaskMetrics metrics;
+
+    @BeforeEach
+    public void beforeEach() {
+        metrics = new TaskMetrics();
+        taskManager = new InstrumentedTaskManager(new InMemoryTaskManager(), metrics);
+    }
+
+    @Test
+    void when_operationsAreCalled_should_countThemAndTheirOverlapChecks() {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+
+        // do
+        taskManager.createSubtask(new Subtask("subtask", "description", 0, TaskStatus.NEW, epicId,
+                LocalDateTime.of(2025, 6, 10, 10, 0), Duration.ofHours(1)));
+        taskManager.createSubtask(new Subtask("overlap", "description", 0, TaskStatus.NEW, epicId,
+                LocalDateTime.of(2025, 6, 10, 10, 30), Duration.ofHours(1)));
+        taskManager.getEpic(epicId);
+
+        // expect
+        Assertions.assertEquals(2, metrics.getLatency(TaskOperation.CREATE_SUBTASK).count());
+        Assertions.assertEquals(2, metrics.getLatency(TaskOperation.OVERLAP_CHECK).count());
+        Assertions.assertEquals(1, metrics.getLatency(TaskOperation.GET_EPIC).count());
+        Assertions.assertEquals(0, metrics.getLatency(TaskOperation.SAVE).count(),
+                "Менеджер в памяти не должен сообщать о сохранениях");
+        var gauges = metrics.getGauges();
+        Assertions.assertEquals(1, (long) gauges.get("subtasks"));
+        Assertions.assertEquals(1, (long) gauges.get("history_size"));
+        Assertions.assertEquals(1, (long) gauges.get("prioritized_index_size"));
+    }
+
+    @Test
+    void when_fileBackedManagerSaves_should_recordSaveLatencyAndWrittenBytes() throws IOException {
+        // given
+        var file = File.createTempFile("test", "InstrumentedTaskManager");
+        var fileMetrics = new TaskMetrics();
+        var manager = new InstrumentedTaskManager(new FileBackedTaskManager(file), fileMetrics);
+
+        // do
+        manager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, null));
+        manager.createTask(new Task("second task", "description", 0, TaskStatus.NEW, null, null));
+
+        // expect
+        var savedBytes = fileMetrics.getSavedBytes();
+        Assertions.assertEquals(2, fileMetrics.getLatency(TaskOperation.SAVE).count());
+        Assertions.assertEquals(2, savedBytes.count());
+        Assertions.assertEquals(file.length(), savedBytes.max(), "Последнее сохранение должно быть самым большим");
+    }
+
+    @Test
+    void when_journaledManagerAppends_should_recordAppendedBytes() throws IOException {
+        // given
+        var file = File.createTempFile("test", "InstrumentedTaskManager");
+        var fileMetrics = new TaskMetrics();
+        var manager = new InstrumentedTaskManager(new FileBackedTaskManager(file, StorageMode.JOURNAL), fileMetrics);
+
+        // do
+        manager.createTask(new Task("задача", "description", 0, TaskStatus.NEW, null, null));
+
+        // expect
+        var journal = new File(file.getPath() + ".journal");
+        Assertions.assertEquals(journal.length(), fileMetrics.getSavedBytes().sum());
+    }
+}
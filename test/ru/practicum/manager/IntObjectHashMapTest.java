@@ -0,0 +1,92 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+public class IntObjectHashMapTest {
+    private IntObjectHashMap<String> map;
+
+    @BeforeEach
+    public void beforeEach() {
+        map = new IntObjectHashMap<>();
+    }
+
+    @Test
+    public void shouldPutGetAndRemoveValues() {
+        Assertions.assertNull(map.put(1, "one"));
+        Assertions.assertEquals("one", map.put(1, "uno"));
+        map.put(-7, "minus seven");
+
+        Assertions.assertEquals(2, map.size());
+        Assertions.assertEquals("uno", map.get(1));
+        Assertions.assertTrue(map.containsKey(-7));
+        Assertions.assertNull(map.get(2));
+
+        Assertions.assertEquals("minus seven", map.remove(-7));
+        Assertions.assertNull(map.remove(-7));
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertFalse(map.containsKey(-7));
+    }
+
+    @Test
+    public void shouldKeepCollidingKeysReachableAfterRemoval() {
+        // given
+        var capacity = 16;
+        for (int i = 0; i < 10; i++) {
+            map.put(i * capacity, "value " + i);
+        }
+
+        // do
+        map.remove(0);
+        map.remove(5 * capacity);
+
+        // expect
+        Assertions.assertEquals(8, map.size());
+        for (int i = 0; i < 10; i++) {
+            var expected = i == 0 || i == 5 ? null : "value " + i;
+            Assertions.assertEquals(expected, map.get(i * capacity), "Ключ " + i * capacity);
+        }
+    }
+
+    @Test
+    public void shouldBehaveLikeHashMap() {
+        // given
+        var random = new Random(42);
+        var expected = new HashMap<Integer, String>();
+
+        // do
+        for (int i = 0; i < 100_000; i++) {
+            var key = random.nextInt(5_000) * (random.nextBoolean() ? 1 : 1 << 16);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                var value = "value " + i;
+                Assertions.assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        // expect
+        Assertions.assertEquals(expected.size(), map.size());
+        Assertions.assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        for (var entry : expected.entrySet()) {
+            Assertions.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void shouldClearAllValues() {
+        map.put(1, "one");
+        map.put(2, "two");
+
+        map.clear();
+
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertNull(map.get(1));
+        Assertions.assertTrue(map.values().isEmpty());
+    }
+}
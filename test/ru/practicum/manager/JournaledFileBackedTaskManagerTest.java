@@ -0,0 +1,172 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.exception.ManagerLoadException;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class JournaledFileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
+    private File file;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        file = File.createTempFile("test", "JournaledFileBackedTaskManager");
+        taskManager = new FileBackedTaskManager(file, StorageMode.JOURNAL);
+    }
+
+    @Test
+    void when_mutationsAreJournaled_should_notRewriteSnapshot() throws IOException {
+        // given
+        var snapshotBefore = Files.readAllLines(file.toPath());
+
+        // do
+        taskManager.createTask(new Task("name", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+
+        // expect
+        Assertions.assertEquals(snapshotBefore, Files.readAllLines(file.toPath()));
+        Assertions.assertEquals(1, Files.readAllLines(new File(file.getPath() + ".journal").toPath()).size());
+    }
+
+    @Test
+    void when_compactedFileIsLoadedInJournalMode_should_keepJournaling() throws IOException {
+        // given
+        taskManager.createTask(new Task("name", "description", 0, TaskStatus.NEW, null, null));
+        taskManager.compact();
+        var journal = new File(file.getPath() + ".journal");
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file, StorageMode.JOURNAL);
+        managerFromFile.createTask(new Task("second", "description", 0, TaskStatus.NEW, null, null));
+
+        // expect
+        Assertions.assertEquals(1, Files.readAllLines(journal.toPath()).size(),
+                "Изменение должно попасть в журнал, а не в снимок");
+        Assertions.assertEquals(2, FileBackedTaskManager.loadFromFile(file).getAllTasks().size());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> FileBackedTaskManager.loadFromFile(file, StorageMode.SNAPSHOT));
+    }
+
+    @Test
+    void when_managerLoadsFromSnapshotAndJournal_should_restoreAllChanges() {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "epic description", 0, TaskStatus.NEW,
+                LocalDateTime.now(), Duration.ZERO));
+        var subtaskId = taskManager.createSubtask(new Subtask("subtask", "subtask description", 0, TaskStatus.NEW,
+                epicId, LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+        var deletedTaskId = taskManager.createTask(new Task("deleted", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 2, 0, 0), Duration.ofHours(3)));
+        taskManager.compact();
+        taskManager.updateSubtask(new Subtask("subtask", "subtask description", subtaskId, TaskStatus.DONE,
+                epicId, LocalDateTime.of(2025, 1, 1, 0, 0), Duration.ofHours(3)));
+        taskManager.deleteTask(deletedTaskId);
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        Assertions.assertNull(managerFromFile.getTask(deletedTaskId));
+        Assertions.assertEquals(TaskStatus.DONE, managerFromFile.getSubtask(subtaskId).getStatus());
+        Assertions.assertEquals(TaskStatus.DONE, managerFromFile.getEpic(epicId).getStatus());
+        Assertions.assertEquals(1, managerFromFile.getSubtasksByEpic(epicId).size());
+    }
+
+    @Test
+    void when_journalExceedsCompactionThreshold_should_foldJournalIntoSnapshot() throws IOException {
+        // given
+        var manager = new FileBackedTaskManager(file, StorageMode.JOURNAL, 3);
+
+        // do
+        for (int i = 1; i <= 4; i++) {
+            manager.createTask(new Task("task #" + i, "description #" + i, 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, i, 0, 0), Duration.ofHours(3)));
+        }
+        manager.compact();
+
+        // expect
+        Assertions.assertEquals(6, Files.readAllLines(file.toPath()).size());
+        Assertions.assertEquals(4, FileBackedTaskManager.loadFromFile(file).getAllTasks().size());
+    }
+
+    @Test
+    void when_managerIsClosedDuringCompaction_should_finishCompactionFirst() throws IOException {
+        // given
+        var manager = new FileBackedTaskManager(file, StorageMode.JOURNAL, 3);
+        for (int i = 1; i <= 3; i++) {
+            manager.createTask(new Task("task #" + i, "description #" + i, 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, i, 0, 0), Duration.ofHours(3)));
+        }
+
+        // do
+        manager.close();
+
+        // expect
+        Assertions.assertFalse(new File(file.getPath() + ".journal.compacting").exists(),
+                "Закрытие менеджера должно дождаться фонового сжатия журнала");
+        Assertions.assertEquals(5, Files.readAllLines(file.toPath()).size());
+    }
+
+    @Test
+    void when_legacyJournalRecordHasBackslashes_should_keepThemAsIs() throws IOException {
+        // given
+        Files.writeString(Path.of(file.getPath() + ".journal"),
+                "U,1,TASK,C:\\new,NEW,path C:\\temp\\,2025-01-01T00:00,PT3H," + System.lineSeparator());
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+
+        // expect
+        var task = managerFromFile.getTask(1);
+        Assertions.assertEquals("C:\\new", task.getName(), "Старый журнал не должен раскрывать экранирование");
+        Assertions.assertEquals("path C:\\temp\\", task.getDescription());
+    }
+
+    @Test
+    void when_journalIsCutOffMidRecord_should_dropTornRecordAndKeepAppending() throws IOException {
+        // given
+        var firstId = taskManager.createTask(new Task("first", "description", 0, TaskStatus.NEW, null, null));
+        taskManager.createTask(new Task("second", "description", 0, TaskStatus.NEW, null, null));
+        var journal = new File(file.getPath() + ".journal").toPath();
+        var bytes = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(bytes, bytes.length - 10));
+
+        // do
+        var managerFromFile = FileBackedTaskManager.loadFromFile(file);
+        var thirdId = managerFromFile.createTask(new Task("third", "description", 0, TaskStatus.NEW, null, null));
+
+        // expect
+        Assertions.assertEquals(List.of(firstId, thirdId),
+                managerFromFile.getAllTasks().stream().map(Task::getId).toList(),
+                "Оборванная последняя запись должна отбрасываться");
+        Assertions.assertEquals(2, FileBackedTaskManager.loadFromFile(file).getAllTasks().size(),
+                "Новые записи должны дописываться после усечённого хвоста");
+    }
+
+    @Test
+    void when_journalRecordInTheMiddleIsCorrupted_should_failToLoad() throws IOException {
+        // given
+        taskManager.createTask(new Task("first", "description", 0, TaskStatus.NEW, null, null));
+        taskManager.createTask(new Task("second", "description", 0, TaskStatus.NEW, null, null));
+        var journal = new File(file.getPath() + ".journal").toPath();
+        var lines = new ArrayList<>(Files.readAllLines(journal));
+        lines.set(0, lines.getFirst().replace("first", "fir5t"));
+        Files.write(journal, lines);
+
+        // expect
+        Assertions.assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(file));
+    }
+}
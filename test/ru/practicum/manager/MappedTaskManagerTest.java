@@ -0,0 +1,161 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.exception.ManagerLoadException;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class MappedTaskManagerTest extends TaskManagerTest<MappedTaskManager> {
+    private static final int SEGMENT_SHIFT = MappedTaskStore.MIN_SEGMENT_SHIFT;
+
+    private File file;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        file = File.createTempFile("test", "MappedTaskManager");
+        taskManager = new MappedTaskManager(file, Managers.getDefaultHistory(), SEGMENT_SHIFT);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        if (taskManager != null) {
+            taskManager.close();
+        }
+    }
+
+    @Test
+    void when_managerIsReopened_should_restoreBoardAndOrder() {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+        var subtaskId = taskManager.createSubtask(new Subtask("subtask", "description", 0, TaskStatus.DONE, epicId,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+        var taskId = taskManager.createTask(new Task("task", null, 0, TaskStatus.IN_PROGRESS,
+                LocalDateTime.of(2025, 6, 9, 0, 0, 0, 500), Duration.ofMinutes(30)));
+        var taskWithoutTimeId = taskManager.createTask(new Task("no time", "description", 0, TaskStatus.NEW,
+                null, null));
+        taskManager.close();
+
+        // do
+        taskManager = new MappedTaskManager(file, Managers.getDefaultHistory(), SEGMENT_SHIFT);
+
+        // expect
+        Assertions.assertEquals(List.of(taskId, subtaskId),
+                taskManager.getPrioritizedTasks().stream().map(Task::getId).toList());
+        Assertions.assertEquals(2, taskManager.getTasksCount(TaskType.TASK));
+        var task = taskManager.getTask(taskId);
+        Assertions.assertEquals("task", task.getName());
+        Assertions.assertNull(task.getDescription());
+        Assertions.assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        Assertions.assertEquals(LocalDateTime.of(2025, 6, 9, 0, 0, 0, 500), task.getStartTime());
+        Assertions.assertNull(taskManager.getTask(taskWithoutTimeId).getStartTime());
+        var epic = taskManager.getEpic(epicId);
+        Assertions.assertEquals(TaskStatus.DONE, epic.getStatus());
+        Assertions.assertEquals(1, epic.getSubtasksCount());
+        Assertions.assertTrue(taskManager.createTask(new Task("next", "description", 0, TaskStatus.NEW, null,
+                null)) > taskWithoutTimeId, "Идентификаторы не должны повторяться после перезапуска");
+    }
+
+    @Test
+    void when_managerWasNotClosed_should_recoverIndexesFromSlots() {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+        for (int i = 0; i < 50; i++) {
+            taskManager.createSubtask(new Subtask("subtask " + i, "description", 0, TaskStatus.NEW, epicId,
+                    LocalDateTime.of(2025, 6, 10, 0, 0).minusHours(i), Duration.ofMinutes(30)));
+        }
+
+        taskManager.deleteSubtask(epicId + 10);
+
+        // do
+        var recoveredManager = new MappedTaskManager(file, Managers.getDefaultHistory(), SEGMENT_SHIFT);
+
+        // expect
+        Assertions.assertEquals(49, recoveredManager.getSubtasksByEpic(epicId).size());
+        Assertions.assertEquals(49, recoveredManager.getTasksCount(TaskType.SUBTASK));
+        var prioritizedTasks = recoveredManager.getPrioritizedTasks();
+        Assertions.assertEquals(49, prioritizedTasks.size());
+        for (int i = 1; i < prioritizedTasks.size(); i++) {
+            Assertions.assertTrue(prioritizedTasks.get(i - 1).getStartTime()
+                    .isBefore(prioritizedTasks.get(i).getStartTime()));
+        }
+
+        Assertions.assertEquals(-1, recoveredManager.createTask(new Task("overlap", "description", 0,
+                TaskStatus.NEW, LocalDateTime.of(2025, 6, 10, 0, 15), Duration.ofMinutes(30))));
+        recoveredManager.close();
+    }
+
+    @Test
+    void when_boardSpansSeveralSegments_should_keepTextsAndSlotsIntact() {
+        // given
+        var longDescription = "описание ".repeat(200);
+        var taskIds = new int[500];
+
+        // do
+        for (int i = 0; i < taskIds.length; i++) {
+            taskIds[i] = taskManager.createTask(new Task("task " + i, longDescription + i, 0, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i), Duration.ofMinutes(30)));
+        }
+
+        taskManager.updateTask(new Task("renamed", "short", taskIds[7], TaskStatus.DONE,
+                LocalDateTime.of(2025, 1, 1, 7, 0), Duration.ofMinutes(30)));
+
+        // expect
+        for (int i = 0; i < taskIds.length; i++) {
+            var task = taskManager.getTask(taskIds[i]);
+            Assertions.assertEquals(i == 7 ? "renamed" : "task " + i, task.getName());
+            Assertions.assertEquals(i == 7 ? "short" : longDescription + i, task.getDescription());
+        }
+
+        Assertions.assertEquals(taskIds.length, taskManager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    void when_textsAreRewrittenAndDeleted_should_reuseFreedSpaceInStrings() {
+        // given
+        var stringsFile = new File(file.getPath() + MappedTaskStore.STRINGS_SUFFIX);
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, null));
+
+        // do
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 1000; i++) {
+                taskManager.updateTask(new Task("task", "описание ".repeat(10 + i % 50), taskId, TaskStatus.NEW,
+                        null, null));
+                var temporaryId = taskManager.createTask(new Task("temporary " + i, "описание ".repeat(i % 30), 0,
+                        TaskStatus.NEW, null, null));
+                taskManager.deleteTask(temporaryId);
+            }
+
+            taskManager.close();
+            taskManager = new MappedTaskManager(file, Managers.getDefaultHistory(), SEGMENT_SHIFT);
+        }
+
+        // expect
+        Assertions.assertEquals("описание ".repeat(10 + 999 % 50), taskManager.getTask(taskId).getDescription());
+        Assertions.assertTrue(stringsFile.length() <= 4L << SEGMENT_SHIFT,
+                "Освобождённое место в файле строк должно переиспользоваться: " + stringsFile.length());
+    }
+
+    @Test
+    void when_fileIsNotTaskStore_should_throwLoadException() throws IOException {
+        // given
+        var foreignFile = File.createTempFile("test", "MappedTaskManager");
+        Files.writeString(foreignFile.toPath(), "id,type,name,status,description,start,duration,epic\n");
+
+        // expect
+        Assertions.assertThrows(ManagerLoadException.class,
+                () -> new MappedTaskManager(foreignFile, Managers.getDefaultHistory(), SEGMENT_SHIFT));
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class TaskManagerRegistryTest {
+    private static final long BOARD_BYTES = TaskManagerRegistry.BOARD_OVERHEAD_BYTES
+            + TaskManagerRegistry.ESTIMATED_BYTES_PER_TASK;
+
+    private File directory;
+    private TaskManagerRegistry registry;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        directory = Files.createTempDirectory("TaskManagerRegistry").toFile();
+        registry = TaskManagerRegistry.open(directory);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        registry.close();
+    }
+
+    @Test
+    void when_boardsAreUsed_should_loadLazilyAndKeepThemIsolated() {
+        // given
+        var firstTaskId = registry.withBoard("first", manager -> manager.createTask(newTask("first task")));
+
+        // do
+        registry.withBoard("second", manager -> manager.createTask(newTask("second task")));
+
+        // expect
+        Assertions.assertFalse(registry.isLoaded("third"), "Доска не должна загружаться до первого обращения");
+        Assertions.assertEquals(2, registry.getLoadedBoardsCount());
+        Assertions.assertEquals(2 * BOARD_BYTES, registry.getEstimatedBytes());
+        Assertions.assertEquals("first task", registry.withBoard("first", manager -> manager.getTask(firstTaskId))
+                .getName());
+        Assertions.assertEquals(1, (int) registry.withBoard("second", manager -> manager.getAllTasks().size()));
+    }
+
+    @Test
+    void when_boardIsEvicted_should_reloadItFromDisk() {
+        // given
+        var taskId = registry.withBoard("board", manager -> manager.createTask(newTask("task")));
+
+        // do
+        var isEvicted = registry.evict("board");
+
+        // expect
+        Assertions.assertTrue(isEvicted);
+        Assertions.assertFalse(registry.isLoaded("board"));
+        Assertions.assertEquals(0, registry.getEstimatedBytes());
+        Assertions.assertTrue(new File(directory, "board/tasks.csv").exists());
+        Assertions.assertEquals("task", registry.withBoard("board", manager -> manager.getTask(taskId)).getName());
+    }
+
+    @Test
+    void when_memoryBudgetIsExceeded_should_evictLeastRecentlyUsedBoards() throws InterruptedException {
+        // given
+        registry.close();
+        registry = TaskManagerRegistry.open(directory, StorageMode.SNAPSHOT, 2 * BOARD_BYTES, Duration.ofHours(1));
+        registry.withBoard("oldest", manager -> manager.createTask(newTask("task")));
+        registry.withBoard("recent", manager -> manager.createTask(newTask("task")));
+
+        // do
+        registry.withBoard("newest", manager -> manager.createTask(newTask("task")));
+        awaitUnloaded("oldest");
+
+        // expect
+        Assertions.assertFalse(registry.isLoaded("oldest"), "Первой должна выгружаться самая давняя доска");
+        Assertions.assertTrue(registry.isLoaded("newest"));
+        Assertions.assertTrue(registry.getEstimatedBytes() <= 2 * BOARD_BYTES);
+        Assertions.assertEquals(1, (int) registry.withBoard("oldest", manager -> manager.getAllTasks().size()));
+    }
+
+    @Test
+    void when_boardIsIdle_should_evictItToDisk() throws InterruptedException {
+        // given
+        registry.close();
+        registry = TaskManagerRegistry.open(directory, StorageMode.JOURNAL,
+                TaskManagerRegistry.DEFAULT_MEMORY_BUDGET_BYTES, Duration.ofMillis(20));
+        var taskId = registry.withBoard("idle", manager -> manager.createTask(newTask("task")));
+
+        // do
+        Thread.sleep(50);
+        registry.evictIdle();
+
+        // expect
+        Assertions.assertFalse(registry.isLoaded("idle"));
+        Assertions.assertEquals("task", registry.withBoard("idle", manager -> manager.getTask(taskId)).getName());
+        Assertions.assertTrue(new File(directory, "idle/tasks.csv.journal").exists(),
+                "Перезагруженная доска должна сохранить режим журнала");
+    }
+
+    @Test
+    void when_boardIsBusy_should_notBlockOtherBoards() throws Exception {
+        // given
+        var isSlowBoardEntered = new CountDownLatch(1);
+        var isSlowBoardReleased = new CountDownLatch(1);
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var slowBoard = executor.submit(() -> registry.withBoard("slow", manager -> {
+                isSlowBoardEntered.countDown();
+                try {
+                    return isSlowBoardReleased.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            Assertions.assertTrue(isSlowBoardEntered.await(10, TimeUnit.SECONDS));
+
+            // do
+            var taskId = registry.withBoard("fast", manager -> manager.createTask(newTask("task")));
+
+            // expect
+            Assertions.assertTrue(taskId > 0);
+            Assertions.assertFalse(slowBoard.isDone(), "Медленная доска всё ещё должна удерживать свою блокировку");
+            isSlowBoardReleased.countDown();
+            Assertions.assertTrue(slowBoard.get());
+        }
+    }
+
+    @Test
+    void when_boardIdIsInvalidOrRegistryIsClosed_should_reject() {
+        // expect
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.withBoard("../escape", manager -> 0));
+        registry.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> registry.withBoard("board", manager -> 0));
+    }
+
+    private void awaitUnloaded(String boardId) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.isLoaded(boardId) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Task newTask(String name) {
+        return new Task(name, "description", 0, TaskStatus.NEW, null, null);
+    }
+}
@@ -6,6 +6,7 @@ import ru.practicum.model.Epic;
 import ru.practicum.model.Subtask;
 import ru.practicum.model.Task;
 import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -384,6 +385,248 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Assertions.assertEquals(existingTaskId, allTasks.stream().findFirst().get().getId());
     }
 
+    @Test
+    public void should_checkIntersectionsOnlyWithNeighbours_whenManyTasksExist() {
+        var dayStart = LocalDateTime.of(2025, 6, 10, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            taskManager.createTask(new Task("task #" + i, "description #" + i, 0, TaskStatus.NEW,
+                    dayStart.plusHours(2L * i), Duration.ofHours(1)));
+        }
+
+        var taskInGap = new Task("gap", "description", 0, TaskStatus.NEW, dayStart.plusHours(5),
+                Duration.ofHours(1));
+        var taskOverlapsNextTask = new Task("overlaps next", "description", 0, TaskStatus.NEW,
+                dayStart.plusHours(7).plusMinutes(30), Duration.ofHours(1));
+        var taskOverlapsPreviousTask = new Task("overlaps previous", "description", 0, TaskStatus.NEW,
+                dayStart.plusHours(8).plusMinutes(30), Duration.ofMinutes(10));
+        var taskCoversSeveralTasks = new Task("covers several", "description", 0, TaskStatus.NEW,
+                dayStart.plusHours(13), Duration.ofHours(4));
+
+        Assertions.assertNotEquals(-1, taskManager.createTask(taskInGap));
+        Assertions.assertEquals(-1, taskManager.createTask(taskOverlapsNextTask));
+        Assertions.assertEquals(-1, taskManager.createTask(taskOverlapsPreviousTask));
+        Assertions.assertEquals(-1, taskManager.createTask(taskCoversSeveralTasks));
+        Assertions.assertEquals(11, taskManager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    public void should_moveTaskInPrioritizedTasks_whenStartTimeIsUpdated() {
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+        var otherTaskId = taskManager.createTask(new Task("other task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 2, 0), Duration.ofHours(1)));
+
+        taskManager.updateTask(new Task("task", "description", taskId, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 4, 0), Duration.ofHours(1)));
+        var taskInFreedSlotId = taskManager.createTask(new Task("task in freed slot", "description", 0,
+                TaskStatus.NEW, LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+
+        var prioritizedTasks = taskManager.getPrioritizedTasks();
+        Assertions.assertEquals(3, prioritizedTasks.size());
+        Assertions.assertEquals(taskInFreedSlotId, prioritizedTasks.get(0).getId());
+        Assertions.assertEquals(otherTaskId, prioritizedTasks.get(1).getId());
+        Assertions.assertEquals(taskId, prioritizedTasks.get(2).getId());
+    }
+
+    @Test
+    public void should_applyAllMutations_whenBatchIsValid() {
+        var existingTaskId = taskManager.createTask(new Task("existing", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+        var epic = new Epic("epic", "description", 0, TaskStatus.NEW, null, Duration.ZERO);
+        var task = new Task("task", "description", 0, TaskStatus.NEW, LocalDateTime.of(2025, 6, 10, 1, 0),
+                Duration.ofHours(1));
+        var batch = new TaskBatch()
+                .createEpic(epic)
+                .createTask(task)
+                .deleteTask(existingTaskId);
+
+        var isApplied = taskManager.applyBatch(batch);
+
+        Assertions.assertTrue(isApplied);
+        Assertions.assertEquals(1, taskManager.getAllEpics().size());
+        Assertions.assertEquals(1, taskManager.getAllTasks().size());
+        Assertions.assertEquals(task.getId(), taskManager.getAllTasks().getFirst().getId());
+        Assertions.assertNull(taskManager.getTask(existingTaskId));
+    }
+
+    @Test
+    public void should_rollbackAllMutations_whenAnyMutationOfBatchIsRejected() {
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null,
+                Duration.ZERO));
+        var subtaskId = taskManager.createSubtask(new Subtask("subtask", "description", 0, TaskStatus.NEW, epicId,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 11, 0, 0), Duration.ofHours(1)));
+        taskManager.getTask(taskId);
+        var batch = new TaskBatch()
+                .updateSubtask(new Subtask("subtask", "description", subtaskId, TaskStatus.DONE, epicId,
+                        LocalDateTime.of(2025, 6, 12, 0, 0), Duration.ofHours(1)))
+                .deleteTask(taskId)
+                .createTask(new Task("new task", "description", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 6, 13, 0, 0), Duration.ofHours(1)))
+                .createTask(new Task("overlaps new task", "description", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 6, 13, 0, 30), Duration.ofHours(1)));
+
+        var isApplied = taskManager.applyBatch(batch);
+
+        Assertions.assertFalse(isApplied);
+        Assertions.assertEquals(1, taskManager.getAllTasks().size());
+        Assertions.assertEquals(taskId, taskManager.getAllTasks().getFirst().getId());
+        Assertions.assertEquals(1, taskManager.getHistory().size());
+        var actualSubtask = taskManager.getSubtasksByEpic(epicId).getFirst();
+        Assertions.assertEquals(TaskStatus.NEW, actualSubtask.getStatus());
+        Assertions.assertEquals(LocalDateTime.of(2025, 6, 10, 0, 0), actualSubtask.getStartTime());
+        Assertions.assertEquals(TaskStatus.NEW, taskManager.getEpic(epicId).getStatus());
+        var prioritizedTasks = taskManager.getPrioritizedTasks();
+        Assertions.assertEquals(2, prioritizedTasks.size());
+        Assertions.assertEquals(subtaskId, prioritizedTasks.get(0).getId());
+        Assertions.assertEquals(taskId, prioritizedTasks.get(1).getId());
+    }
+
+    @Test
+    public void should_rollbackAppliedMutations_whenMutationOfBatchThrows() {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 11, 0, 0), Duration.ofHours(1)));
+        var batch = new TaskBatch()
+                .updateTask(new Task("task", "description", taskId, TaskStatus.DONE, null, null))
+                .createTask(new Task("new task", "description", 0, TaskStatus.NEW, null, null))
+                .createTask(null);
+
+        // do
+        Assertions.assertThrows(NullPointerException.class, () -> taskManager.applyBatch(batch));
+
+        // expect
+        Assertions.assertEquals(1, taskManager.getAllTasks().size(), "Пакет должен откатиться целиком");
+        Assertions.assertEquals(TaskStatus.NEW, taskManager.getTask(taskId).getStatus());
+        Assertions.assertEquals(1, taskManager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    public void should_rejectBatch_whenUpdateOfBatchOverlapsAnotherTask() {
+        // given
+        var firstId = taskManager.createTask(new Task("first", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 11, 0, 0), Duration.ofHours(1)));
+        var secondId = taskManager.createTask(new Task("second", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 11, 2, 0), Duration.ofHours(1)));
+        var batch = new TaskBatch()
+                .updateTask(new Task("first", "description", firstId, TaskStatus.DONE,
+                        LocalDateTime.of(2025, 6, 11, 0, 0), Duration.ofHours(1)))
+                .updateTask(new Task("second", "description", secondId, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 6, 11, 0, 30), Duration.ofHours(1)));
+
+        // do
+        var isApplied = taskManager.applyBatch(batch);
+
+        // expect
+        Assertions.assertFalse(isApplied);
+        Assertions.assertEquals(TaskStatus.NEW, taskManager.getTask(firstId).getStatus());
+        Assertions.assertEquals(LocalDateTime.of(2025, 6, 11, 2, 0), taskManager.getTask(secondId).getStartTime());
+    }
+
+    @Test
+    public void should_reflectChangesInReadViews_withoutCopying() {
+        // given
+        var tasksView = taskManager.getTasksView();
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+
+        // do
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 0, 0), Duration.ofHours(1)));
+        taskManager.createSubtask(new Subtask("subtask", "description", 0, TaskStatus.NEW, epicId,
+                LocalDateTime.of(2025, 6, 11, 0, 0), Duration.ofHours(1)));
+
+        // expect
+        Assertions.assertSame(tasksView, taskManager.getTasksView());
+        Assertions.assertEquals(1, tasksView.size());
+        Assertions.assertEquals(taskId, tasksView.iterator().next().getId());
+        Assertions.assertEquals(1, taskManager.getEpicsView().size());
+        Assertions.assertEquals(1, taskManager.getSubtasksView().size());
+        Assertions.assertEquals(1, taskManager.getSubtasksByEpicView(epicId).size());
+        Assertions.assertTrue(taskManager.getSubtasksByEpicView(-1).isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> tasksView.clear());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> taskManager.getSubtasksByEpicView(epicId).clear());
+    }
+
+    @Test
+    public void should_reuseHistoryView_untilHistoryChanges() {
+        // given
+        var firstTaskId = taskManager.createTask(new Task("first", "description", 0, TaskStatus.NEW, null, null));
+        var secondTaskId = taskManager.createTask(new Task("second", "description", 0, TaskStatus.NEW, null, null));
+        taskManager.getTask(firstTaskId);
+
+        // do
+        var historyView = taskManager.getHistoryView();
+        taskManager.getTask(secondTaskId);
+        var updatedHistoryView = taskManager.getHistoryView();
+
+        // expect
+        Assertions.assertEquals(1, historyView.size());
+        Assertions.assertEquals(2, updatedHistoryView.size());
+        Assertions.assertSame(updatedHistoryView, taskManager.getHistoryView());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> updatedHistoryView.remove(0));
+    }
+
+    @Test
+    public void should_returnTasksStartingInRange() {
+        // given
+        var start = LocalDateTime.of(2025, 6, 10, 0, 0);
+        var taskIds = IntStream.range(0, 10)
+                .map(i -> taskManager.createTask(new Task("task " + i, "description", 0, TaskStatus.NEW,
+                        start.plusHours(i), Duration.ofMinutes(30))))
+                .boxed().toList();
+
+        // do
+        var tasksInRange = taskManager.getPrioritizedTasks(start.plusHours(2), start.plusHours(5));
+
+        // expect
+        Assertions.assertEquals(taskIds.subList(2, 5), tasksInRange.stream().map(Task::getId).toList());
+        Assertions.assertTrue(taskManager.getPrioritizedTasks(start.plusHours(5), start.plusHours(5)).isEmpty());
+    }
+
+    @Test
+    public void should_pageThroughPrioritizedTasks_withCursor() {
+        // given
+        var start = LocalDateTime.of(2025, 6, 10, 0, 0);
+        var taskIds = IntStream.range(0, 7)
+                .map(i -> taskManager.createTask(new Task("task " + i, "description", 0, TaskStatus.NEW,
+                        start.plusHours(i), Duration.ofMinutes(30))))
+                .boxed().toList();
+
+        // do
+        var pagedIds = new ArrayList<Integer>();
+        Task cursor = null;
+        while (true) {
+            var page = taskManager.getPrioritizedTasksAfter(cursor, 3);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            Assertions.assertTrue(page.size() <= 3, "Размер страницы не должен превышать лимит");
+            page.forEach(task -> pagedIds.add(task.getId()));
+            cursor = page.getLast();
+        }
+
+        // expect
+        Assertions.assertEquals(taskIds, pagedIds);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> taskManager.getPrioritizedTasksAfter(null, 0));
+    }
+
+    @Test
+    public void should_checkTaskPresenceByType_withoutTouchingHistory() {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, null));
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+
+        // expect
+        Assertions.assertTrue(taskManager.containsTask(TaskType.TASK, taskId));
+        Assertions.assertTrue(taskManager.containsTask(TaskType.EPIC, epicId));
+        Assertions.assertFalse(taskManager.containsTask(TaskType.EPIC, taskId), "Тип задачи должен учитываться");
+        Assertions.assertFalse(taskManager.containsTask(TaskType.SUBTASK, epicId + 1));
+        Assertions.assertTrue(taskManager.getHistory().isEmpty(), "Проверка наличия не должна попадать в историю");
+    }
+
     protected void assertTasksAreEqual(Task left, Task right) {
         Assertions.assertEquals(left.getId(), right.getId());
         Assertions.assertEquals(left.getName(), right.getName());
@@ -0,0 +1,56 @@
+package ru.practicum.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+    @Test
+    void when_valuesAreRecorded_should_reportQuantilesWithinBucketPrecision() {
+        // given
+        var histogram = new Histogram();
+
+        // do
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // expect
+        var snapshot = histogram.getSnapshot();
+        Assertions.assertEquals(100_000, snapshot.count());
+        Assertions.assertEquals(100_000_000L, snapshot.max());
+        Assertions.assertEquals(50_000_500.0, snapshot.mean(), 1e-6);
+        assertWithinPrecision(50_000_000, snapshot.p50());
+        assertWithinPrecision(90_000_000, snapshot.p90());
+        assertWithinPrecision(99_000_000, snapshot.p99());
+        assertWithinPrecision(99_900_000, snapshot.p999());
+    }
+
+    @Test
+    void when_bucketIndexIsComputed_should_coverWholeRangeWithoutGaps() {
+        // expect
+        var previousIndex = -1;
+        for (long value = 0; value < 1 << 20; value++) {
+            var index = Histogram.bucketIndex(value);
+            Assertions.assertTrue(index == previousIndex || index == previousIndex + 1, "Пропуск корзины: " + value);
+            Assertions.assertTrue(value <= Histogram.highestValueIn(index));
+            previousIndex = index;
+        }
+
+        Assertions.assertEquals(Long.MAX_VALUE, Histogram.highestValueIn(Histogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void when_histogramIsEmptyOrValueIsNegative_should_reportZerosOrReject() {
+        // given
+        var histogram = new Histogram();
+
+        // expect
+        Assertions.assertEquals(new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0), histogram.getSnapshot());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        Assertions.assertTrue(Math.abs(actual - expected) <= expected / 32,
+                "Ожидалось около " + expected + ", получено " + actual);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+class TaskMetricsTest {
+    @Test
+    void when_operationsAndGaugesAreRecorded_should_renderPrometheusText() {
+        // given
+        var metrics = new TaskMetrics();
+        metrics.registerGauge("history_size", () -> 7);
+
+        // do
+        metrics.record(TaskOperation.CREATE_SUBTASK, System.nanoTime());
+        metrics.recordSave(System.nanoTime(), 4096);
+        var text = metrics.toText();
+
+        // expect
+        Assertions.assertTrue(text.contains("# TYPE kanban_operation_seconds summary\n"));
+        Assertions.assertTrue(text.contains("kanban_operation_seconds_count{operation=\"createSubtask\"} 1\n"));
+        Assertions.assertTrue(text.contains("kanban_operation_seconds_count{operation=\"getTask\"} 0\n"));
+        Assertions.assertTrue(text.contains("kanban_operation_seconds_count{operation=\"save\"} 1\n"));
+        Assertions.assertTrue(text.contains("kanban_save_bytes{quantile=\"0.5\"} 4096.0\n"));
+        Assertions.assertTrue(text.contains("kanban_save_bytes_sum 4096.0\n"));
+        Assertions.assertTrue(text.contains("kanban_history_size 7\n"));
+    }
+
+    @Test
+    void when_gaugeNameIsInvalid_should_throwIllegalArgumentException() {
+        // given
+        var metrics = new TaskMetrics();
+
+        // expect
+        Assertions.assertThrows(IllegalArgumentException.class, () -> metrics.registerGauge("History size", () -> 0));
+    }
+
+    @Test
+    void when_mbeansAreRegistered_should_exposeHistogramsAndGaugesOverJmx() throws Exception {
+        // given
+        var metrics = new TaskMetrics();
+        metrics.registerGauge("tasks", () -> 3);
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var latency = new ObjectName(TaskMetrics.JMX_DOMAIN + ":type=Latency,scope=\"test\",name=getTask");
+
+        // do
+        metrics.registerMBeans("test");
+        try {
+            metrics.record(TaskOperation.GET_TASK, System.nanoTime());
+            metrics.record(TaskOperation.GET_TASK, System.nanoTime());
+
+            // expect
+            Assertions.assertEquals(2L, server.getAttribute(latency, "Count"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new TaskMetrics().registerMBeans("test"),
+                    "Одна и та же область не может быть зарегистрирована дважды");
+            var text = (String) server.getAttribute(
+                    new ObjectName(TaskMetrics.JMX_DOMAIN + ":type=TaskManager,scope=\"test\""), "Text");
+            Assertions.assertTrue(text.contains("kanban_tasks 3\n"));
+        } finally {
+            metrics.unregisterMBeans();
+        }
+
+        Assertions.assertFalse(server.isRegistered(latency));
+    }
+}
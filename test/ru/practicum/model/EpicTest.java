@@ -57,4 +57,50 @@ class EpicTest {
         Assertions.assertEquals(1, remainingEpicTasks.size(), "Количество подзадач не совпадает с ожидаемым");
         Assertions.assertEquals(subtask2, remainingEpicTasks.stream().findFirst().get(), "Оставшаяся подзадача не совпадает с ожидаемой");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldRecalculateTimeAndDurationWhenSubtasksChange() {
+        var subtask1 = new Subtask("Subtask name 1", "Subtask description 1", 192, TaskStatus.NEW,
+                epicForTests.getId(), LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofHours(2));
+        var subtask2 = new Subtask("Subtask name 2", "Subtask description 2", 348, TaskStatus.NEW,
+                epicForTests.getId(), LocalDateTime.of(2025, 1, 3, 10, 0), Duration.ofHours(1));
+        epicForTests.addSubtask(subtask1);
+        epicForTests.addSubtask(subtask2);
+
+        Assertions.assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), epicForTests.getStartTime());
+        Assertions.assertEquals(LocalDateTime.of(2025, 1, 3, 11, 0), epicForTests.getEndTime());
+        Assertions.assertEquals(Duration.ofHours(3), epicForTests.getDuration());
+
+        epicForTests.updateSubtask(new Subtask("Subtask name 2", "Subtask description 2", 348, TaskStatus.NEW,
+                epicForTests.getId(), LocalDateTime.of(2024, 12, 31, 10, 0), Duration.ofHours(4)));
+        Assertions.assertEquals(LocalDateTime.of(2024, 12, 31, 10, 0), epicForTests.getStartTime());
+        Assertions.assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), epicForTests.getEndTime());
+        Assertions.assertEquals(Duration.ofHours(6), epicForTests.getDuration());
+
+        epicForTests.removeSubtask(subtask1);
+        Assertions.assertEquals(LocalDateTime.of(2024, 12, 31, 14, 0), epicForTests.getEndTime());
+        Assertions.assertEquals(Duration.ofHours(4), epicForTests.getDuration());
+    }
+
+    @Test
+    public void shouldRecalculateStatusWhenSubtaskChangedInPlaceIsUpdated() {
+        var subtask1 = new Subtask("Subtask name 1", "Subtask description 1", 192, TaskStatus.NEW,
+                epicForTests.getId(), LocalDateTime.of(2025, 1, 1, 10, 0), Duration.ofHours(2));
+        var subtask2 = new Subtask("Subtask name 2", "Subtask description 2", 348, TaskStatus.DONE,
+                epicForTests.getId(), LocalDateTime.of(2025, 1, 3, 10, 0), Duration.ofHours(1));
+        epicForTests.addSubtask(subtask1);
+        epicForTests.addSubtask(subtask2);
+        Assertions.assertEquals(TaskStatus.IN_PROGRESS, epicForTests.getStatus());
+
+        subtask1.setStatus(TaskStatus.DONE);
+        epicForTests.updateSubtask(subtask1);
+
+        Assertions.assertEquals(TaskStatus.DONE, epicForTests.getStatus());
+        Assertions.assertEquals(2, epicForTests.getSubtasksCount(TaskStatus.DONE));
+        Assertions.assertEquals(0, epicForTests.getSubtasksCount(TaskStatus.NEW));
+
+        epicForTests.removeAllSubtasks();
+        Assertions.assertEquals(TaskStatus.NEW, epicForTests.getStatus());
+        Assertions.assertEquals(Duration.ZERO, epicForTests.getDuration());
+    }
+}
@@ -0,0 +1,250 @@
+package ru.practicum.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.manager.InMemoryTaskManager;
+import ru.practicum.manager.InstrumentedTaskManager;
+import ru.practicum.manager.TaskManager;
+import ru.practicum.metrics.TaskMetrics;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class HttpTaskServerTest {
+    private TaskManager taskManager;
+    private HttpTaskServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskManager = new InMemoryTaskManager();
+        server = new HttpTaskServer(taskManager, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void when_taskIsPosted_should_createTaskAndReturnItById() throws Exception {
+        // given
+        var body = "{\"name\":\"task \\\"1\\\"\",\"description\":\"описание\",\"status\":\"IN_PROGRESS\","
+                + "\"startTime\":\"2025-06-10T10:00:00\",\"duration\":\"PT30M\"}";
+
+        // do
+        var created = send("POST", "/tasks", body);
+        var id = readId(created.body());
+        var fetched = send("GET", "/tasks/" + id, null);
+
+        // expect
+        Assertions.assertEquals(201, created.statusCode());
+        var task = taskManager.getTask(id);
+        Assertions.assertEquals("task \"1\"", task.getName());
+        Assertions.assertEquals("описание", task.getDescription());
+        Assertions.assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        Assertions.assertEquals(LocalDateTime.of(2025, 6, 10, 10, 0), task.getStartTime());
+        Assertions.assertEquals(200, fetched.statusCode());
+        Assertions.assertEquals(task, readTasks("[" + fetched.body() + "]").getFirst());
+        Assertions.assertTrue(fetched.body().contains("\"startTime\":1749549600,\"duration\":1800,"),
+                "Время и длительность должны кодироваться в секундах");
+    }
+
+    @Test
+    void when_taskOverlapsOrIsMissing_should_returnNotAcceptableOrNotFound() throws Exception {
+        // given
+        taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 10, 0), Duration.ofHours(1)));
+        var laterTaskId = taskManager.createTask(new Task("later", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 12, 0), Duration.ofHours(1)));
+        var overlapping = "{\"name\":\"overlap\",\"startTime\":\"2025-06-10T10:30:00\",\"duration\":\"PT1H\"}";
+
+        // expect
+        Assertions.assertEquals(406, send("POST", "/tasks", overlapping).statusCode());
+        var overlappingUpdate = overlapping.replace("{", "{\"id\":" + laterTaskId + ",");
+        Assertions.assertEquals(406, send("POST", "/tasks", overlappingUpdate).statusCode(),
+                "Обновление с пересечением должно отклоняться");
+        Assertions.assertEquals("later", taskManager.getTask(laterTaskId).getName());
+        Assertions.assertEquals(404, send("POST", "/tasks", "{\"id\":999,\"name\":\"missing\"}").statusCode());
+        Assertions.assertEquals(404, send("GET", "/tasks/999", null).statusCode());
+        Assertions.assertEquals(404, send("POST", "/subtasks", "{\"name\":\"orphan\",\"epicId\":999}")
+                .statusCode());
+        Assertions.assertEquals(400, send("POST", "/tasks", "{\"name\":").statusCode());
+        Assertions.assertEquals(400, send("GET", "/tasks/abc", null).statusCode());
+        Assertions.assertEquals(405, send("PUT", "/tasks", "{}").statusCode());
+        Assertions.assertEquals(404, send("GET", "/tasksfoo", null).statusCode());
+    }
+
+    @Test
+    void when_taskIsUpdated_should_replaceTaskInManager() throws Exception {
+        // given
+        var taskId = taskManager.createTask(new Task("task", "description", 0, TaskStatus.NEW, null, null));
+
+        // do
+        var response = send("POST", "/tasks", "{\"id\":" + taskId + ",\"name\":\"renamed\",\"status\":\"DONE\"}");
+
+        // expect
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("renamed", taskManager.getTask(taskId).getName());
+        Assertions.assertEquals(TaskStatus.DONE, taskManager.getTask(taskId).getStatus());
+    }
+
+    @Test
+    void when_epicHasSubtasks_should_exposeSubtasksAndDeleteThemWithEpic() throws Exception {
+        // given
+        var epicId = taskManager.createEpic(new Epic("epic", "description", 0, TaskStatus.NEW, null, null));
+        var subtaskId = taskManager.createSubtask(new Subtask("subtask", "description", 0, TaskStatus.DONE, epicId,
+                null, null));
+
+        // do
+        var subtasks = send("GET", "/epics/" + epicId + "/subtasks", null);
+        var epic = send("GET", "/epics/" + epicId, null);
+        var deleted = send("DELETE", "/epics/" + epicId, null);
+
+        // expect
+        Assertions.assertEquals(200, subtasks.statusCode());
+        var subtask = (Subtask) readTasks(subtasks.body()).getFirst();
+        Assertions.assertEquals(subtaskId, subtask.getId());
+        Assertions.assertEquals(epicId, subtask.getEpicId());
+        Assertions.assertEquals(TaskStatus.DONE, readTasks("[" + epic.body() + "]").getFirst().getStatus());
+        Assertions.assertEquals(204, deleted.statusCode());
+        Assertions.assertTrue(taskManager.getAllSubtasks().isEmpty());
+        Assertions.assertEquals(404, send("GET", "/epics/" + epicId + "/subtasks", null).statusCode());
+    }
+
+    @Test
+    void when_tasksAreViewed_should_returnHistoryAndPrioritizedPages() throws Exception {
+        // given
+        var firstId = taskManager.createTask(new Task("first", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 10, 10, 0), Duration.ofHours(1)));
+        var secondId = taskManager.createTask(new Task("second", "description", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 6, 9, 10, 0), Duration.ofHours(1)));
+        send("GET", "/tasks/" + firstId, null);
+
+        // do
+        var history = readTasks(send("GET", "/history", null).body());
+        var prioritized = readTasks(send("GET", "/prioritized", null).body());
+        var page = readTasks(send("GET",
+                "/prioritized?limit=5&afterId=" + secondId + "&afterStart=2025-06-09T10:00", null).body());
+        var range = readTasks(send("GET",
+                "/prioritized?from=2025-06-10T00:00&to=2025-06-11T00:00", null).body());
+
+        // expect
+        Assertions.assertEquals(1, history.size());
+        Assertions.assertEquals(firstId, history.getFirst().getId());
+        Assertions.assertEquals(List.of(secondId, firstId), prioritized.stream().map(Task::getId).toList());
+        Assertions.assertEquals(1, page.size());
+        Assertions.assertEquals(firstId, page.getFirst().getId());
+        Assertions.assertEquals(1, range.size());
+    }
+
+    @Test
+    void when_batchOperationFails_should_rollBackWholeBatch() throws Exception {
+        // given
+        var batch = "[{\"op\":\"create\",\"type\":\"TASK\",\"task\":{\"name\":\"first\","
+                + "\"startTime\":\"2025-06-10T10:00:00\",\"duration\":\"PT1H\"}},"
+                + "{\"op\":\"create\",\"type\":\"TASK\",\"task\":{\"name\":\"overlap\","
+                + "\"startTime\":\"2025-06-10T10:30:00\",\"duration\":\"PT1H\"}}]";
+
+        // do
+        var rejected = send("POST", "/batch", batch);
+        var applied = send("POST", "/batch", batch.replace("10:30:00", "12:30:00"));
+
+        // expect
+        Assertions.assertEquals(409, rejected.statusCode());
+        Assertions.assertEquals(200, applied.statusCode());
+        Assertions.assertEquals(2, taskManager.getAllTasks().size());
+    }
+
+    @Test
+    void when_batchOperationTypeFollowsTask_should_resolveTaskType() throws Exception {
+        // given
+        var batch = "[{\"op\":\"create\",\"task\":{\"name\":\"epic\"},\"type\":\"EPIC\"}]";
+        var mismatched = "[{\"op\":\"create\",\"task\":{\"type\":\"TASK\",\"name\":\"x\"},"
+                + "\"type\":\"EPIC\"}]";
+
+        // do
+        var applied = send("POST", "/batch", batch);
+        var rejected = send("POST", "/batch", mismatched);
+
+        // expect
+        Assertions.assertEquals(200, applied.statusCode(), "Порядок полей операции не должен иметь значения");
+        Assertions.assertEquals(1, taskManager.getAllEpics().size());
+        Assertions.assertEquals(400, rejected.statusCode());
+    }
+
+    private static int readId(String body) {
+        var reader = new TaskJsonReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        reader.beginObject();
+        Assertions.assertTrue(reader.hasNextField());
+        Assertions.assertEquals("id", reader.nextName());
+        return reader.readInt();
+    }
+
+    private static List<Task> readTasks(String body) {
+        var reader = new TaskJsonReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        var tasks = new ArrayList<Task>();
+        reader.beginArray();
+        while (reader.hasNextElement()) {
+            tasks.add(reader.readTask(null));
+        }
+
+        reader.endOfInput();
+        return tasks;
+    }
+
+    @Test
+    void when_managerIsInstrumented_should_exposeMetricsAsText() throws Exception {
+        // given
+        var metrics = new TaskMetrics();
+        var instrumentedServer = new HttpTaskServer(new InstrumentedTaskManager(new InMemoryTaskManager(), metrics), 0);
+        instrumentedServer.start();
+        var uri = "http://localhost:" + instrumentedServer.getPort();
+
+        try {
+            // do
+            client.send(HttpRequest.newBuilder(URI.create(uri + "/tasks")).POST(HttpRequest.BodyPublishers
+                    .ofString("{\"name\":\"task\"}")).build(), HttpResponse.BodyHandlers.ofString());
+            var scraped = client.send(HttpRequest.newBuilder(URI.create(uri + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            // expect
+            Assertions.assertEquals(200, scraped.statusCode());
+            Assertions.assertTrue(scraped.headers().firstValue("Content-Type").orElseThrow().startsWith("text/plain"));
+            Assertions.assertTrue(scraped.body()
+                    .contains("kanban_operation_seconds_count{operation=\"createTask\"} 1\n"));
+            Assertions.assertTrue(scraped.body().contains("kanban_tasks 1\n"));
+            Assertions.assertEquals(404, send("GET", "/metrics", null).statusCode(),
+                    "Без инструментирования метрики не публикуются");
+        } finally {
+            instrumentedServer.stop();
+        }
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        var publisher = body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body);
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, publisher)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
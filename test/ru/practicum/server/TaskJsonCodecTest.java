@@ -0,0 +1,118 @@
+package ru.practicum.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Epic;
+import ru.practicum.model.Subtask;
+import ru.practicum.model.Task;
+import ru.practicum.model.TaskStatus;
+import ru.practicum.model.TaskType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class TaskJsonCodecTest {
+    @Test
+    void when_tasksAreWrittenAndRead_should_keepAllFields() throws IOException {
+        // given
+        var tasks = List.of(
+                new Task("задача \"1\"\n\t\\ 🚀", null, 1, TaskStatus.IN_PROGRESS,
+                        LocalDateTime.of(2025, 6, 9, 0, 0, 0, 500), Duration.ofSeconds(90, 250_000_000)),
+                new Task("old", "description", 2, TaskStatus.DONE,
+                        LocalDateTime.of(1960, 1, 1, 0, 0, 0, 750_000_000), Duration.ofMillis(-1500)),
+                new Epic("epic", "описание", 3, TaskStatus.NEW, null, null),
+                new Subtask("subtask", "\u0001", 4, TaskStatus.DONE, 3, null, null));
+
+        // do
+        var output = new ByteArrayOutputStream();
+        var writer = new TaskJsonWriter(output);
+        writer.writeTasks(tasks);
+        writer.flush();
+        var actualTasks = readTasks(output.toByteArray());
+
+        // expect
+        Assertions.assertEquals(tasks.size(), actualTasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            var expected = tasks.get(i);
+            var actual = actualTasks.get(i);
+            Assertions.assertEquals(expected.getTaskType(), actual.getTaskType());
+            Assertions.assertEquals(expected.getId(), actual.getId());
+            Assertions.assertEquals(expected.getName(), actual.getName());
+            Assertions.assertEquals(expected.getDescription(), actual.getDescription());
+            Assertions.assertEquals(expected.getStatus(), actual.getStatus());
+            if (expected.getTaskType() != TaskType.EPIC) {
+                Assertions.assertEquals(expected.getStartTime(), actual.getStartTime());
+                Assertions.assertEquals(expected.getDuration(), actual.getDuration());
+            }
+        }
+
+        Assertions.assertEquals(3, ((Subtask) actualTasks.get(3)).getEpicId());
+    }
+
+    @Test
+    void when_timesAreIsoStrings_should_acceptThemAsWellAsSeconds() {
+        // given
+        var json = "{\"name\":\"task\",\"startTime\":\"2025-06-10T10:00\",\"duration\":\"PT30M\",\"extra\":"
+                + "[{\"nested\":[1,-2.5e3,true,null]}]}";
+
+        // do
+        var task = new TaskJsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                .readTask(TaskType.TASK);
+
+        // expect
+        Assertions.assertEquals(LocalDateTime.of(2025, 6, 10, 10, 0), task.getStartTime());
+        Assertions.assertEquals(Duration.ofMinutes(30), task.getDuration());
+        Assertions.assertEquals(TaskStatus.NEW, task.getStatus(), "Статус по умолчанию должен быть NEW");
+    }
+
+    @Test
+    void when_jsonIsMalformed_should_throwIllegalArgumentException() {
+        // expect
+        for (var json : List.of("{\"name\":", "{\"name\" \"task\"}", "{\"id\":1.5}", "{\"name\":\"a\",}",
+                "{\"startTime\":1.0000000001,\"duration\":1}", "{\"type\":\"EPIC\"}", "{\"status\":\"LATE\"}")) {
+            var reader = new TaskJsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> reader.readTask(TaskType.TASK),
+                    "Должно быть отклонено: " + json);
+        }
+    }
+
+    @Test
+    void when_payloadExceedsBuffer_should_streamWholeArray() throws IOException {
+        // given
+        var tasks = new ArrayList<Task>();
+        for (int i = 1; i <= 5_000; i++) {
+            tasks.add(new Task("task " + i, "описание ".repeat(i % 7), i, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i), Duration.ofMinutes(1)));
+        }
+
+        // do
+        var output = new ByteArrayOutputStream();
+        var writer = new TaskJsonWriter(output);
+        writer.writeTasks(tasks);
+        writer.flush();
+        var actualTasks = readTasks(output.toByteArray());
+
+        // expect
+        Assertions.assertEquals(tasks.size(), actualTasks.size());
+        Assertions.assertEquals("описание ".repeat(5_000 % 7), actualTasks.getLast().getDescription());
+        Assertions.assertEquals(tasks.getLast().getStartTime(), actualTasks.getLast().getStartTime());
+    }
+
+    private static List<Task> readTasks(byte[] json) {
+        var reader = new TaskJsonReader(new ByteArrayInputStream(json));
+        var tasks = new ArrayList<Task>();
+        reader.beginArray();
+        while (reader.hasNextElement()) {
+            tasks.add(reader.readTask(null));
+        }
+
+        reader.endOfInput();
+        return tasks;
+    }
+}